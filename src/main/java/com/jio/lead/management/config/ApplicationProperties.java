@@ -1,5 +1,11 @@
 package com.jio.lead.management.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.ehcache.spi.serialization.Serializer;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +19,78 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Bulk bulk = new Bulk();
+
+    private final Capture capture = new Capture();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final LeadImport leadImport = new LeadImport();
+
+    private final InterestArchive interestArchive = new InterestArchive();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final MutationStream mutationStream = new MutationStream();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Cache cache = new Cache();
+
+    private final CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Capture getCapture() {
+        return capture;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public LeadImport getLeadImport() {
+        return leadImport;
+    }
+
+    public InterestArchive getInterestArchive() {
+        return interestArchive;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public MutationStream getMutationStream() {
+        return mutationStream;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public CacheInvalidation getCacheInvalidation() {
+        return cacheInvalidation;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +105,500 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Bulk {
+
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Capture {
+
+        private boolean enabled = false;
+
+        private int bufferSize = 8192;
+
+        private int batchSize = 500;
+
+        private Duration linger = Duration.ofMillis(50);
+
+        private final Journal journal = new Journal();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+
+        public Journal getJournal() {
+            return journal;
+        }
+
+        public static class Journal {
+
+            private String directory = "capture-journal";
+
+            private int segmentSize = 64 * 1024 * 1024;
+
+            private Duration maxRetryBackoff = Duration.ofSeconds(30);
+
+            public String getDirectory() {
+                return directory;
+            }
+
+            public void setDirectory(String directory) {
+                this.directory = directory;
+            }
+
+            public int getSegmentSize() {
+                return segmentSize;
+            }
+
+            public void setSegmentSize(int segmentSize) {
+                this.segmentSize = segmentSize;
+            }
+
+            public Duration getMaxRetryBackoff() {
+                return maxRetryBackoff;
+            }
+
+            public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+                this.maxRetryBackoff = maxRetryBackoff;
+            }
+        }
+    }
+
+    public static class Idempotency {
+
+        private Duration timeToLive = Duration.ofHours(24);
+
+        private long maxEntries = 10000;
+
+        private Duration waitTimeout = Duration.ofSeconds(10);
+
+        private boolean database = false;
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+
+        public boolean isDatabase() {
+            return database;
+        }
+
+        public void setDatabase(boolean database) {
+            this.database = database;
+        }
+    }
+
+    public static class LeadImport {
+
+        private int chunkSize = 10000;
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class InterestArchive {
+
+        private boolean enabled = false;
+
+        private Duration retention = Duration.ofDays(365);
+
+        private String directory = "interest-archive";
+
+        private int chunkSize = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class ChangeFeed {
+
+        private Duration lag = Duration.ofSeconds(5);
+
+        private Duration tombstoneRetention = Duration.ofDays(30);
+
+        public Duration getLag() {
+            return lag;
+        }
+
+        public void setLag(Duration lag) {
+            this.lag = lag;
+        }
+
+        public Duration getTombstoneRetention() {
+            return tombstoneRetention;
+        }
+
+        public void setTombstoneRetention(Duration tombstoneRetention) {
+            this.tombstoneRetention = tombstoneRetention;
+        }
+    }
+
+    public static class MutationStream {
+
+        private int bufferSize = 256;
+
+        private int senderThreads = 4;
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Outbox {
+
+        private boolean enabled = false;
+
+        private int batchSize = 500;
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        private String file;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+    }
+
+    public static class Cache {
+
+        private String directory = "cache-store";
+
+        private double hotKeySamplingRate = 0.01;
+
+        private int hotKeyCapacity = 100;
+
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public double getHotKeySamplingRate() {
+            return hotKeySamplingRate;
+        }
+
+        public void setHotKeySamplingRate(double hotKeySamplingRate) {
+            this.hotKeySamplingRate = hotKeySamplingRate;
+        }
+
+        public int getHotKeyCapacity() {
+            return hotKeyCapacity;
+        }
+
+        public void setHotKeyCapacity(int hotKeyCapacity) {
+            this.hotKeyCapacity = hotKeyCapacity;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Long heapEntries;
+
+            private long offHeapMb = 0;
+
+            private long diskMb = 0;
+
+            private boolean persistent = false;
+
+            private Duration timeToLive;
+
+            private Duration timeToIdle;
+
+            private Class<? extends Serializer<?>> valueSerializer;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public boolean isPersistent() {
+                return persistent;
+            }
+
+            public void setPersistent(boolean persistent) {
+                this.persistent = persistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+
+            public Class<? extends Serializer<?>> getValueSerializer() {
+                return valueSerializer;
+            }
+
+            public void setValueSerializer(Class<? extends Serializer<?>> valueSerializer) {
+                this.valueSerializer = valueSerializer;
+            }
+        }
+    }
+
+    public static class CacheInvalidation {
+
+        public enum Transport {
+            POSTGRES,
+            UDP,
+        }
+
+        private boolean enabled = false;
+
+        private Transport transport = Transport.POSTGRES;
+
+        private String channel = "cache_invalidation";
+
+        private final Udp udp = new Udp();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public void setTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Udp getUdp() {
+            return udp;
+        }
+
+        public static class Udp {
+
+            private int port = 4446;
+
+            private List<String> peers = new ArrayList<>();
+
+            public int getPort() {
+                return port;
+            }
+
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            public List<String> getPeers() {
+                return peers;
+            }
+
+            public void setPeers(List<String> peers) {
+                this.peers = peers;
+            }
+        }
+    }
+
+    public static class SingleFlight {
+
+        private Duration timeout = Duration.ofSeconds(5);
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,9 +1,29 @@
 package com.jio.lead.management.config;
 
+import com.jio.lead.management.service.invalidation.CacheInvalidationBus;
+import java.io.File;
+import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -19,12 +39,20 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> idempotentResponsesConfiguration;
+    private final Set<String> configuredRegions = new HashSet<>();
+    private final EhcacheStatistics ehcacheStatistics = new EhcacheStatistics();
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        ehcache = jHipsterProperties.getCache().getEhcache();
+        cacheProperties = applicationProperties.getCache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
             CacheConfigurationBuilder.newCacheConfigurationBuilder(
@@ -35,35 +63,142 @@ public class CacheConfiguration {
                 .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                 .build()
         );
+
+        ApplicationProperties.Idempotency idempotency = applicationProperties.getIdempotency();
+        idempotentResponsesConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.heap(idempotency.getMaxEntries())
+            )
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(idempotency.getTimeToLive()))
+                .build()
+        );
+    }
+
+    /**
+     * The JCache manager, built here rather than by Spring Boot so that disk tiers get a persistence directory and the
+     * statistics of the tiers are available. Each application context gets its own manager.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        List<ServiceCreationConfiguration<?, ?>> services = new ArrayList<>();
+        services.add(ehcacheStatistics.configuration());
+        if (cacheProperties.getRegions().values().stream().anyMatch(region -> region.getDiskMb() > 0)) {
+            services.add(new CacheManagerPersistenceConfiguration(new File(cacheProperties.getDirectory())));
+        }
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+            URI.create("urn:ehcache:" + UUID.randomUUID()),
+            new DefaultConfiguration(provider.getDefaultClassLoader(), services.toArray(ServiceCreationConfiguration<?, ?>[]::new))
+        );
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    @Bean
+    public EhcacheStatistics ehcacheStatistics() {
+        return ehcacheStatistics;
     }
 
     @Bean
-    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    public CacheHotKeys cacheHotKeys() {
+        return new CacheHotKeys(cacheProperties.getHotKeySamplingRate(), cacheProperties.getHotKeyCapacity());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(
+        javax.cache.CacheManager cacheManager,
+        CacheHotKeys cacheHotKeys,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new TrackingRegionFactory(cacheHotKeys, cacheInvalidationBus));
+        };
     }
 
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.jio.lead.management.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.jio.lead.management.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.jio.lead.management.domain.User.class.getName());
-            createCache(cm, com.jio.lead.management.domain.Authority.class.getName());
-            createCache(cm, com.jio.lead.management.domain.User.class.getName() + ".authorities");
-            createCache(cm, com.jio.lead.management.domain.Lead.class.getName());
-            createCache(cm, com.jio.lead.management.domain.Lead.class.getName() + ".interests");
-            createCache(cm, com.jio.lead.management.domain.Interest.class.getName());
+            createCache(cm, com.jio.lead.management.repository.UserRepository.USERS_BY_LOGIN_CACHE, "users-by-login");
+            createCache(cm, com.jio.lead.management.repository.UserRepository.USERS_BY_EMAIL_CACHE, "users-by-email");
+            createCache(cm, com.jio.lead.management.domain.User.class.getName(), "user");
+            createCache(cm, com.jio.lead.management.domain.Authority.class.getName(), "authority");
+            createCache(cm, com.jio.lead.management.domain.User.class.getName() + ".authorities", "user-authorities");
+            createCache(cm, com.jio.lead.management.domain.Lead.class.getName(), "lead");
+            createCache(cm, com.jio.lead.management.domain.Lead.class.getName() + ".interests", "lead-interests");
+            createCache(cm, com.jio.lead.management.domain.Lead.class.getName() + "##NaturalId", "lead-natural-id");
+            createCache(cm, com.jio.lead.management.domain.Interest.class.getName(), "interest");
+            createCache(cm, com.jio.lead.management.web.rest.IdempotentRequestHandler.RESPONSES_CACHE, idempotentResponsesConfiguration);
+            createCache(cm, com.jio.lead.management.service.SerializedDtoCache.CACHE, "serialized-dtos");
             // jhipster-needle-ehcache-add-entry
+            cacheProperties
+                .getRegions()
+                .keySet()
+                .stream()
+                .filter(region -> !configuredRegions.contains(region))
+                .forEach(region -> log.warn("Cache region {} is configured but there is no such region", region));
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    /**
+     * Create a cache with the settings of its region in {@code application.cache.regions}, or the default settings.
+     */
+    private void createCache(javax.cache.CacheManager cm, String cacheName, String region) {
+        ApplicationProperties.Cache.Region properties = cacheProperties.getRegions().get(region);
+        if (properties == null) {
+            createCache(cm, cacheName);
+            return;
+        }
+        configuredRegions.add(region);
+        createCache(cm, cacheName, regionConfiguration(properties));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(ApplicationProperties.Cache.Region region) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() > 0) {
+            resourcePools = resourcePools.disk(region.getDiskMb(), MemoryUnit.MB, region.isPersistent());
+        }
+        ExpiryPolicy<Object, Object> expiry = region.getTimeToIdle() != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle())
+            : ExpiryPolicyBuilder.timeToLiveExpiration(
+                region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds())
+            );
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(expiry);
+        if (region.getValueSerializer() != null) {
+            configuration = configuration.withValueSerializer((Class<? extends Serializer<Object>>) (Class) region.getValueSerializer());
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
+        // Published as the cache.gets, cache.puts, cache.evictions and cache.removals metrics
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
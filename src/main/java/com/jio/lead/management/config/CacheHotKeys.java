@@ -0,0 +1,154 @@
+package com.jio.lead.management.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Approximate tracking of the most read keys of each cache region.
+ * <p>
+ * A sample of the reads, with probability {@code samplingRate}, is counted with the Space-Saving algorithm: each region
+ * counts at most {@code capacity} keys, and a new key replaces the least read one, inheriting its count as an error
+ * bound. The hottest keys are therefore always counted, with an estimate which never under-counts their reads.
+ */
+public class CacheHotKeys {
+
+    private final double samplingRate;
+
+    private final int capacity;
+
+    private final Map<String, TopKeys> regions = new ConcurrentHashMap<>();
+
+    public CacheHotKeys(double samplingRate, int capacity) {
+        if (samplingRate <= 0 || samplingRate > 1) {
+            throw new IllegalArgumentException("The sampling rate must be in ]0, 1]: " + samplingRate);
+        }
+        this.samplingRate = samplingRate;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Count a read of a key, if it is sampled.
+     *
+     * @param region the name of the region.
+     * @param key the key.
+     */
+    public void record(String region, Object key) {
+        if (samplingRate < 1 && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return;
+        }
+        regions.computeIfAbsent(region, name -> new TopKeys(capacity)).add(String.valueOf(key));
+    }
+
+    /**
+     * Get the most read keys of a region.
+     *
+     * @param region the name of the region.
+     * @param limit the maximum number of keys.
+     * @return the keys, the most read first.
+     */
+    public List<HotKey> top(String region, int limit) {
+        TopKeys topKeys = regions.get(region);
+        if (topKeys == null) {
+            return List.of();
+        }
+        return topKeys
+            .snapshot()
+            .stream()
+            .sorted(Comparator.comparingLong(HotKey::getReads).reversed())
+            .limit(limit)
+            .map(hotKey -> new HotKey(hotKey.key, Math.round(hotKey.reads / samplingRate), Math.round(hotKey.error / samplingRate)))
+            .toList();
+    }
+
+    /**
+     * Forget the keys counted for a region.
+     *
+     * @param region the name of the region.
+     */
+    public void clear(String region) {
+        regions.remove(region);
+    }
+
+    /**
+     * Forget the keys counted for all regions.
+     */
+    public void clear() {
+        regions.clear();
+    }
+
+    public static final class HotKey {
+
+        private final String key;
+
+        private final long reads;
+
+        private final long error;
+
+        HotKey(String key, long reads, long error) {
+            this.key = key;
+            this.reads = reads;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the estimated number of reads of the key, never lower than the actual number, sampling aside.
+         */
+        public long getReads() {
+            return reads;
+        }
+
+        /**
+         * @return the maximum over-estimation of the number of reads.
+         */
+        public long getError() {
+            return error;
+        }
+    }
+
+    private static final class TopKeys {
+
+        private final int capacity;
+
+        private final Map<String, long[]> counters = new HashMap<>();
+
+        TopKeys(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void add(String key) {
+            long[] counter = counters.get(key);
+            if (counter != null) {
+                counter[0]++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(key, new long[] { 1, 0 });
+                return;
+            }
+            Map.Entry<String, long[]> least = null;
+            for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+                if (least == null || entry.getValue()[0] < least.getValue()[0]) {
+                    least = entry;
+                }
+            }
+            long count = least.getValue()[0];
+            counters.remove(least.getKey());
+            counters.put(key, new long[] { count + 1, count });
+        }
+
+        synchronized List<HotKey> snapshot() {
+            List<HotKey> hotKeys = new ArrayList<>(counters.size());
+            counters.forEach((key, counter) -> hotKeys.add(new HotKey(key, counter[0], counter[1])));
+            return hotKeys;
+        }
+    }
+}
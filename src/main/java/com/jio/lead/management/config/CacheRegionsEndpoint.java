@@ -0,0 +1,195 @@
+package com.jio.lead.management.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jio.lead.management.service.invalidation.CacheInvalidationBus;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint inspecting and evicting the cache regions at runtime, at {@code /management/cacheregions}.
+ * <p>
+ * It lists the regions with their statistics, shows the statistics and the most read keys of a region, and evicts all
+ * regions, a region, or an entity, or the collection of an owning entity, by its id from the region of its class or role,
+ * or an entry of the other caches by its key. Evictions are broadcast to the other nodes by the {@link CacheInvalidationBus}.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private static final int HOT_KEYS_LIMIT = 20;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final EhcacheStatistics ehcacheStatistics;
+
+    private final CacheHotKeys cacheHotKeys;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public CacheRegionsEndpoint(
+        javax.cache.CacheManager cacheManager,
+        EhcacheStatistics ehcacheStatistics,
+        CacheHotKeys cacheHotKeys,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
+        this.cacheManager = cacheManager;
+        this.ehcacheStatistics = ehcacheStatistics;
+        this.cacheHotKeys = cacheHotKeys;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @ReadOperation
+    public Map<String, RegionDescriptor> regions() {
+        Map<String, RegionDescriptor> regions = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            ehcacheStatistics.getCacheStatistics(name).ifPresent(statistics -> regions.put(name, new RegionDescriptor(statistics, null)));
+        }
+        return regions;
+    }
+
+    /**
+     * @param name the name of the region.
+     * @return the statistics and the most read keys of the region, or {@code null}, answered with a 404, if there is no
+     * such region.
+     */
+    @ReadOperation
+    public RegionDescriptor region(@Selector String name) {
+        return ehcacheStatistics
+            .getCacheStatistics(name)
+            .map(statistics -> new RegionDescriptor(statistics, cacheHotKeys.top(name, HOT_KEYS_LIMIT)))
+            .orElse(null);
+    }
+
+    @DeleteOperation
+    public void evictAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            cacheInvalidationBus.evict(name, null);
+        }
+    }
+
+    /**
+     * Evict a region, or a single entry of it.
+     *
+     * @param name the name of the region.
+     * @param id the id of the entity, of the owner of the collection, or the key to evict; the whole region is evicted if
+     * it is not set.
+     */
+    @DeleteOperation
+    public void evict(@Selector String name, @Nullable String id) {
+        try {
+            cacheInvalidationBus.evict(name, id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Invalid cache region or id");
+        }
+    }
+
+    public static final class RegionDescriptor {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long puts;
+
+        private final long removals;
+
+        private final long evictions;
+
+        private final long expirations;
+
+        private final Map<String, TierDescriptor> tiers = new LinkedHashMap<>();
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private final List<CacheHotKeys.HotKey> hotKeys;
+
+        RegionDescriptor(CacheStatistics statistics, List<CacheHotKeys.HotKey> hotKeys) {
+            this.hits = statistics.getCacheHits();
+            this.misses = statistics.getCacheMisses();
+            this.puts = statistics.getCachePuts();
+            this.removals = statistics.getCacheRemovals();
+            this.evictions = statistics.getCacheEvictions();
+            this.expirations = statistics.getCacheExpirations();
+            statistics.getTierStatistics().forEach((tier, tierStatistics) -> tiers.put(tier, new TierDescriptor(tierStatistics)));
+            this.hotKeys = hotKeys;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getRemovals() {
+            return removals;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public Map<String, TierDescriptor> getTiers() {
+            return tiers;
+        }
+
+        /**
+         * @return the most read keys, only when a single region is inspected.
+         */
+        public List<CacheHotKeys.HotKey> getHotKeys() {
+            return hotKeys;
+        }
+    }
+
+    public static final class TierDescriptor {
+
+        private final long entries;
+
+        private final long occupiedBytes;
+
+        private final long allocatedBytes;
+
+        TierDescriptor(TierStatistics statistics) {
+            this.entries = statistics.getMappings();
+            this.occupiedBytes = statistics.getOccupiedByteSize();
+            this.allocatedBytes = statistics.getAllocatedByteSize();
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        /**
+         * @return the size of the entries in bytes, or -1 if it is unknown.
+         */
+        public long getOccupiedBytes() {
+            return occupiedBytes;
+        }
+
+        /**
+         * @return the size reserved by the tier in bytes, or -1 if it is unknown.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
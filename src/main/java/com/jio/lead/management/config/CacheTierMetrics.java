@@ -0,0 +1,69 @@
+package com.jio.lead.management.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToLongFunction;
+import org.ehcache.core.statistics.TierStatistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the number of entries and the size in bytes of each tier of each cache, as the {@code cache.tier.entries} and
+ * {@code cache.tier.bytes} metrics tagged with the cache and the tier.
+ * <p>
+ * The hits, misses, puts, evictions and removals of the caches are published by Spring Boot, as the {@code cache.gets},
+ * {@code cache.puts}, {@code cache.evictions} and {@code cache.removals} metrics. The size of the heap tiers sized in
+ * entries is unknown, and not published.
+ */
+@Component
+public class CacheTierMetrics implements MeterBinder {
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final EhcacheStatistics ehcacheStatistics;
+
+    public CacheTierMetrics(javax.cache.CacheManager cacheManager, EhcacheStatistics ehcacheStatistics) {
+        this.cacheManager = cacheManager;
+        this.ehcacheStatistics = ehcacheStatistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            ehcacheStatistics
+                .getCacheStatistics(cacheName)
+                .ifPresent(statistics ->
+                    statistics
+                        .getTierStatistics()
+                        .forEach((tier, tierStatistics) -> {
+                            gauge(registry, "cache.tier.entries", cacheName, tier, TierStatistics::getMappings, "entries");
+                            if (tierStatistics.getOccupiedByteSize() >= 0) {
+                                gauge(registry, "cache.tier.bytes", cacheName, tier, TierStatistics::getOccupiedByteSize, "bytes");
+                            }
+                        })
+                );
+        }
+    }
+
+    private void gauge(
+        MeterRegistry registry,
+        String name,
+        String cacheName,
+        String tier,
+        ToLongFunction<TierStatistics> value,
+        String baseUnit
+    ) {
+        Gauge.builder(name, ehcacheStatistics, statistics ->
+            statistics
+                .getCacheStatistics(cacheName)
+                .map(cacheStatistics -> cacheStatistics.getTierStatistics().get(tier))
+                .map(value::applyAsLong)
+                .orElse(0L)
+        )
+            .description("The " + baseUnit + " of a tier of a cache")
+            .tag("cache", cacheName)
+            .tag("tier", tier)
+            .baseUnit(baseUnit)
+            .register(registry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jio.lead.management.config;
+
+import java.util.Optional;
+import org.ehcache.core.spi.service.ServiceFactory;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
+import org.ehcache.spi.service.ServiceDependencies;
+import org.ehcache.spi.service.ServiceProvider;
+
+/**
+ * Ehcache service giving access to the statistics of the caches of its cache manager, per tier, which the JCache API does
+ * not expose: entry counts and sizes in bytes.
+ * <p>
+ * The service is handed to Ehcache with its {@link #configuration()} when the cache manager is built, and started by it.
+ */
+@ServiceDependencies(StatisticsService.class)
+public class EhcacheStatistics implements Service {
+
+    private volatile StatisticsService statisticsService;
+
+    @Override
+    public void start(ServiceProvider<Service> serviceProvider) {
+        statisticsService = serviceProvider.getService(StatisticsService.class);
+    }
+
+    @Override
+    public void stop() {
+        statisticsService = null;
+    }
+
+    /**
+     * Get the statistics of a cache.
+     *
+     * @param cacheName the name of the cache.
+     * @return the statistics, or empty if the cache manager is not started or has no such cache.
+     */
+    public Optional<CacheStatistics> getCacheStatistics(String cacheName) {
+        StatisticsService statistics = statisticsService;
+        if (statistics == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(statistics.getCacheStatistics(cacheName));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the configuration registering this service with an Ehcache cache manager.
+     */
+    public ServiceCreationConfiguration<EhcacheStatistics, Void> configuration() {
+        return new Configuration(this);
+    }
+
+    private static final class Configuration implements ServiceCreationConfiguration<EhcacheStatistics, Void> {
+
+        private final EhcacheStatistics service;
+
+        private Configuration(EhcacheStatistics service) {
+            this.service = service;
+        }
+
+        @Override
+        public Class<EhcacheStatistics> getServiceType() {
+            return EhcacheStatistics.class;
+        }
+    }
+
+    /**
+     * Factory found by Ehcache through {@code META-INF/services}, which provides the configured service.
+     */
+    @ServiceFactory.RequiresConfiguration
+    public static final class Factory implements ServiceFactory<EhcacheStatistics> {
+
+        @Override
+        public EhcacheStatistics create(ServiceCreationConfiguration<EhcacheStatistics, ?> configuration) {
+            return ((Configuration) configuration).service;
+        }
+
+        @Override
+        public Class<EhcacheStatistics> getServiceType() {
+            return EhcacheStatistics.class;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.jio.lead.management.config;
+
+import com.jio.lead.management.service.invalidation.CacheInvalidationBus;
+import java.util.function.UnaryOperator;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * JCache region factory tracking the accesses to the entity, collection and natural id regions: the reads are counted in
+ * {@link CacheHotKeys}, and the invalidations are published to the {@link CacheInvalidationBus}.
+ * <p>
+ * An entry is invalidated when Hibernate locks it before updating or deleting its entity or collection, removes it or
+ * evicts it; the entries of the natural id regions invalidate their whole region.
+ */
+class TrackingRegionFactory extends JCacheRegionFactory {
+
+    private final CacheHotKeys hotKeys;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    TrackingRegionFactory(CacheHotKeys hotKeys, CacheInvalidationBus invalidationBus) {
+        this.hotKeys = hotKeys;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+        DomainDataRegionConfig regionConfig,
+        DomainDataRegionBuildingContext buildingContext
+    ) {
+        String regionName = regionConfig.getRegionName();
+        UnaryOperator<Object> idOfKey = !regionConfig.getEntityCaching().isEmpty()
+            ? DefaultCacheKeysFactory::staticGetEntityId
+            : !regionConfig.getCollectionCaching().isEmpty() ? DefaultCacheKeysFactory::staticGetCollectionId : key -> null;
+        return new JCacheAccessImpl(getOrCreateCache(regionName, buildingContext.getSessionFactory())) {
+            @Override
+            public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+                hotKeys.record(regionName, key);
+                return super.getFromCache(key, session);
+            }
+
+            @Override
+            public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+                if (value instanceof SoftLock) {
+                    invalidationBus.publish(regionName, idOfKey.apply(key));
+                }
+                super.putIntoCache(key, value, session);
+            }
+
+            @Override
+            public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+                invalidationBus.publish(regionName, idOfKey.apply(key));
+                super.removeFromCache(key, session);
+            }
+
+            @Override
+            public void evictData(Object key) {
+                invalidationBus.publish(regionName, idOfKey.apply(key));
+                super.evictData(key);
+            }
+
+            @Override
+            public void evictData() {
+                invalidationBus.publish(regionName, null);
+                super.evictData();
+            }
+
+            @Override
+            public void clearCache(SharedSessionContractImplementor session) {
+                invalidationBus.publish(regionName, null);
+                super.clearCache(session);
+            }
+        };
+    }
+}
@@ -53,6 +53,10 @@ public class Interest implements Serializable {
     @Column(name = "updated_by")
     private String updatedBy;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "interests" }, allowSetters = true)
     private Lead lead;
@@ -189,6 +193,19 @@ public class Interest implements Serializable {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Interest version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Lead getLead() {
         return this.lead;
     }
@@ -235,6 +252,7 @@ public class Interest implements Serializable {
             ", createdBy='" + getCreatedBy() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", updatedBy='" + getUpdatedBy() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * A Lead.
@@ -16,6 +18,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "lead")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Lead implements Serializable {
 
@@ -34,7 +37,8 @@ public class Lead implements Serializable {
     @NotNull
     @Min(value = 1000000000L)
     @Max(value = 9999999999L)
-    @Column(name = "phone", nullable = false)
+    @NaturalId(mutable = true)
+    @Column(name = "phone", nullable = false, unique = true)
     private Long phone;
 
     @Column(name = "created_at")
@@ -49,6 +53,10 @@ public class Lead implements Serializable {
     @Column(name = "updated_by")
     private String updatedBy;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "lead")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "lead" }, allowSetters = true)
@@ -147,6 +155,19 @@ public class Lead implements Serializable {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Lead version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Interest> getInterests() {
         return this.interests;
     }
@@ -208,6 +229,7 @@ public class Lead implements Serializable {
             ", createdBy='" + getCreatedBy() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", updatedBy='" + getUpdatedBy() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
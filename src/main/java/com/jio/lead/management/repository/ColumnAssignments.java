@@ -0,0 +1,59 @@
+package com.jio.lead.management.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.BasicTypeReference;
+
+/**
+ * The {@code set} clause of a native {@code update}, with its parameters.
+ * <p>
+ * A partial update only assigns the columns whose values are not {@code null}, so that the statement writes the
+ * columns of a patch and nothing else. Each parameter is named after its column.
+ */
+final class ColumnAssignments {
+
+    private final boolean partial;
+
+    private final List<Assignment<?>> assignments = new ArrayList<>();
+
+    /**
+     * @param partial whether to skip the columns whose values are {@code null}, rather than set them to {@code null}.
+     */
+    ColumnAssignments(boolean partial) {
+        this.partial = partial;
+    }
+
+    <T> ColumnAssignments set(String column, T value, BasicTypeReference<T> type) {
+        if (value != null || !partial) {
+            assignments.add(new Assignment<>(column, value, type));
+        }
+        return this;
+    }
+
+    boolean assigns(String column) {
+        return assignments.stream().anyMatch(assignment -> assignment.column().equals(column));
+    }
+
+    /**
+     * @return the assignments, each followed by a comma, to be followed by at least one other assignment.
+     */
+    String toSql() {
+        StringBuilder sql = new StringBuilder();
+        for (Assignment<?> assignment : assignments) {
+            sql.append(assignment.column()).append(" = :").append(assignment.column()).append(", ");
+        }
+        return sql.toString();
+    }
+
+    <R> NativeQuery<R> bind(NativeQuery<R> query) {
+        assignments.forEach(assignment -> assignment.bind(query));
+        return query;
+    }
+
+    private record Assignment<T>(String column, T value, BasicTypeReference<T> type) {
+        void bind(NativeQuery<?> query) {
+            query.setParameter(column, value, type);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.domain.Lead;
+import java.time.Instant;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Mapping of the rows returned by the native statements which write entities without going through Hibernate.
+ * <p>
+ * Entities are built from the returned rows rather than read again. Once written, they are evicted from the
+ * second-level cache, and an instance already managed by the persistence context is refreshed so that it does not
+ * hide the new state from the rest of the transaction.
+ */
+final class EntityRows {
+
+    static final String LEAD_COLUMNS = "id, name, phone, created_at, created_by, updated_at, updated_by, version";
+
+    static final String INTEREST_COLUMNS =
+        "id, category, brand, article_id, order_id, is_purchased, created_at, created_by, updated_at, updated_by, lead_id, version";
+
+    private static final String LEAD_INTERESTS_ROLE = Lead.class.getName() + ".interests";
+
+    private EntityRows() {}
+
+    static NativeQuery<Object[]> addLeadScalars(NativeQuery<Object[]> query) {
+        return query
+            .addScalar("id", StandardBasicTypes.LONG)
+            .addScalar("name", StandardBasicTypes.STRING)
+            .addScalar("phone", StandardBasicTypes.LONG)
+            .addScalar("created_at", StandardBasicTypes.INSTANT)
+            .addScalar("created_by", StandardBasicTypes.STRING)
+            .addScalar("updated_at", StandardBasicTypes.INSTANT)
+            .addScalar("updated_by", StandardBasicTypes.STRING)
+            .addScalar("version", StandardBasicTypes.LONG);
+    }
+
+    static Lead toLead(Object[] row) {
+        return new Lead()
+            .id((Long) row[0])
+            .name((String) row[1])
+            .phone((Long) row[2])
+            .createdAt((Instant) row[3])
+            .createdBy((String) row[4])
+            .updatedAt((Instant) row[5])
+            .updatedBy((String) row[6])
+            .version((Long) row[7]);
+    }
+
+    static NativeQuery<Object[]> addInterestScalars(NativeQuery<Object[]> query) {
+        return query
+            .addScalar("id", StandardBasicTypes.LONG)
+            .addScalar("category", StandardBasicTypes.STRING)
+            .addScalar("brand", StandardBasicTypes.STRING)
+            .addScalar("article_id", StandardBasicTypes.STRING)
+            .addScalar("order_id", StandardBasicTypes.STRING)
+            .addScalar("is_purchased", StandardBasicTypes.BOOLEAN)
+            .addScalar("created_at", StandardBasicTypes.INSTANT)
+            .addScalar("created_by", StandardBasicTypes.STRING)
+            .addScalar("updated_at", StandardBasicTypes.INSTANT)
+            .addScalar("updated_by", StandardBasicTypes.STRING)
+            .addScalar("lead_id", StandardBasicTypes.LONG)
+            .addScalar("version", StandardBasicTypes.LONG);
+    }
+
+    /**
+     * Build an interest from a row, with a reference to its lead holding only the lead id.
+     */
+    static Interest toInterest(Object[] row) {
+        return new Interest()
+            .id((Long) row[0])
+            .category((String) row[1])
+            .brand((String) row[2])
+            .articleId((String) row[3])
+            .orderId((String) row[4])
+            .isPurchased((Boolean) row[5])
+            .createdAt((Instant) row[6])
+            .createdBy((String) row[7])
+            .updatedAt((Instant) row[8])
+            .updatedBy((String) row[9])
+            .lead(row[10] != null ? new Lead().id((Long) row[10]) : null)
+            .version((Long) row[11]);
+    }
+
+    /**
+     * @param previousPhone the phone of the lead before it was written, if it may have changed.
+     */
+    static Lead written(Session session, Lead lead, Long previousPhone) {
+        session.getSessionFactory().getCache().evictEntityData(Lead.class, lead.getId());
+        if (previousPhone != null && !previousPhone.equals(lead.getPhone())) {
+            // The natural id region would still resolve the previous phone to the lead
+            SharedSessionContractImplementor implementor = session.unwrap(SharedSessionContractImplementor.class);
+            EntityPersister persister = implementor.getFactory().getMappingMetamodel().getEntityDescriptor(Lead.class);
+            NaturalIdDataAccess naturalIdCache = persister.getNaturalIdCacheAccessStrategy();
+            if (naturalIdCache != null) {
+                naturalIdCache.evict(naturalIdCache.generateCacheKey(previousPhone, persister, implementor));
+            }
+        }
+        refreshManaged(session, Lead.class, lead.getId());
+        return lead;
+    }
+
+    /**
+     * @param previousLeadId the id of the lead of the interest before it was written, if it may have changed.
+     */
+    static Interest written(Session session, Interest interest, Long previousLeadId) {
+        session.getSessionFactory().getCache().evictEntityData(Interest.class, interest.getId());
+        if (interest.getLead() != null) {
+            session.getSessionFactory().getCache().evictCollectionData(LEAD_INTERESTS_ROLE, interest.getLead().getId());
+        }
+        if (previousLeadId != null) {
+            session.getSessionFactory().getCache().evictCollectionData(LEAD_INTERESTS_ROLE, previousLeadId);
+        }
+        refreshManaged(session, Interest.class, interest.getId());
+        return interest;
+    }
+
+    private static void refreshManaged(Session session, Class<?> entityClass, Long id) {
+        SharedSessionContractImplementor implementor = session.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = implementor.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        Object managed = implementor.getPersistenceContextInternal().getEntity(implementor.generateEntityKey(id, persister));
+        if (managed != null) {
+            session.refresh(managed);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.jio.lead.management.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the {@code idempotent_request} table, which shares the responses of idempotent requests between nodes.
+ * <p>
+ * The table is not mapped to an entity: its rows are claimed with {@code insert ... on conflict do nothing}. The
+ * connections are not in auto-commit mode, so each write runs in its own transaction, committed as soon as it is made
+ * for the other nodes to see it, unless the caller already runs one.
+ */
+@Repository
+public class IdempotentRequestRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotentRequestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claim an idempotency key for a request in flight.
+     *
+     * @param scope the scope of the key, usually the entity name.
+     * @param key the idempotency key.
+     * @param fingerprint the fingerprint of the request.
+     * @return {@code true} if the key was claimed, {@code false} if another request claimed it first.
+     */
+    @Transactional
+    public boolean claim(String scope, String key, String fingerprint) {
+        return (
+            jdbcTemplate.update(
+                "insert into idempotent_request (scope, idempotency_key, fingerprint, created_at) values (?, ?, ?, ?) " +
+                "on conflict (scope, idempotency_key) do nothing",
+                scope,
+                key,
+                fingerprint,
+                Timestamp.from(Instant.now())
+            ) ==
+            1
+        );
+    }
+
+    /**
+     * Get a claimed idempotency key.
+     *
+     * @param scope the scope of the key.
+     * @param key the idempotency key.
+     * @return the request, with a {@code null} status while it is in flight.
+     */
+    @Transactional(readOnly = true)
+    public Optional<IdempotentRequest> findOne(String scope, String key) {
+        return jdbcTemplate
+            .query(
+                "select fingerprint, status, headers, body from idempotent_request where scope = ? and idempotency_key = ?",
+                (rs, rowNum) ->
+                    new IdempotentRequest(rs.getString("fingerprint"), rs.getObject("status", Integer.class), rs.getString("headers"), rs.getString("body")),
+                scope,
+                key
+            )
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Store the response of a claimed request.
+     *
+     * @param scope the scope of the key.
+     * @param key the idempotency key.
+     * @param status the HTTP status of the response.
+     * @param headers the headers of the response, as JSON.
+     * @param body the body of the response, as JSON.
+     */
+    @Transactional
+    public void complete(String scope, String key, int status, String headers, String body) {
+        jdbcTemplate.update(
+            "update idempotent_request set status = ?, headers = ?, body = ? where scope = ? and idempotency_key = ?",
+            status,
+            headers,
+            body,
+            scope,
+            key
+        );
+    }
+
+    /**
+     * Release the claim of a request which failed, so that it can be retried.
+     *
+     * @param scope the scope of the key.
+     * @param key the idempotency key.
+     */
+    @Transactional
+    public void release(String scope, String key) {
+        jdbcTemplate.update("delete from idempotent_request where scope = ? and idempotency_key = ? and status is null", scope, key);
+    }
+
+    /**
+     * Delete the requests claimed before the given instant.
+     *
+     * @param instant the instant.
+     * @return the number of deleted requests.
+     */
+    @Transactional
+    public int deleteByCreatedAtBefore(Instant instant) {
+        return jdbcTemplate.update("delete from idempotent_request where created_at < ?", Timestamp.from(instant));
+    }
+
+    /**
+     * A row of the {@code idempotent_request} table.
+     */
+    public static final class IdempotentRequest {
+
+        private final String fingerprint;
+
+        private final Integer status;
+
+        private final String headers;
+
+        private final String body;
+
+        IdempotentRequest(String fingerprint, Integer status, String headers, String body) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public Integer getStatus() {
+            return status;
+        }
+
+        public String getHeaders() {
+            return headers;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jio.lead.management.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the purchase confirmations of interests.
+ * <p>
+ * A chunk of confirmations is applied with a single {@code update ... from unnest(...)} statement, joining the order and
+ * article ids bound as two arrays to {@code interest} through its {@code (order_id, article_id)} index. The statement text
+ * does not depend on the size of the chunk, so it is prepared once per connection.
+ */
+@Repository
+public class InterestPurchaseRepository {
+
+    // Confirmations which match no interest are counted from the same snapshot as the update
+    private static final String CONFIRM_PURCHASES =
+        "with confirmed as (select order_id, article_id from unnest(?, ?) as confirmed (order_id, article_id)), " +
+        "purchased as (" +
+        "update interest i set is_purchased = true, updated_at = ?, updated_by = ?, version = i.version + 1 " +
+        "from confirmed where i.order_id = confirmed.order_id and i.article_id = confirmed.article_id " +
+        "and i.is_purchased is not true " +
+        "returning i.id) " +
+        "select (select count(*) from confirmed where exists (" +
+        "select 1 from interest i where i.order_id = confirmed.order_id and i.article_id = confirmed.article_id)), " +
+        "(select coalesce(array_agg(id), '{}') from purchased)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestPurchaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Mark as purchased the interests with the order id and article id of a confirmation, unless they already are.
+     * <p>
+     * The statement bypasses Hibernate: the caller must evict the purchased interests from the second-level cache.
+     *
+     * @param orderIds the order ids of the confirmations.
+     * @param articleIds the article ids of the confirmations, in the same order.
+     * @param user the login recorded as updater of the purchased interests.
+     * @return the number of confirmations which match at least one interest, and the ids of the purchased interests.
+     */
+    public PurchaseResult confirmPurchases(List<String> orderIds, List<String> articleIds, String user) {
+        return jdbcTemplate.execute(
+            (ConnectionCallback<PurchaseResult>) connection -> {
+                Timestamp now = Timestamp.from(Instant.now());
+                try (PreparedStatement statement = connection.prepareStatement(CONFIRM_PURCHASES)) {
+                    statement.setArray(1, connection.createArrayOf("varchar", orderIds.toArray()));
+                    statement.setArray(2, connection.createArrayOf("varchar", articleIds.toArray()));
+                    statement.setTimestamp(3, now);
+                    statement.setString(4, user);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        Array purchased = resultSet.getArray(2);
+                        try {
+                            return new PurchaseResult(resultSet.getLong(1), List.of((Long[]) purchased.getArray()));
+                        } finally {
+                            purchased.free();
+                        }
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * The outcome of a chunk of confirmations.
+     */
+    public static final class PurchaseResult {
+
+        private final long matched;
+
+        private final List<Long> purchasedIds;
+
+        PurchaseResult(long matched, List<Long> purchasedIds) {
+            this.matched = matched;
+            this.purchasedIds = purchasedIds;
+        }
+
+        public long getMatched() {
+            return matched;
+        }
+
+        public List<Long> getPurchasedIds() {
+            return purchasedIds;
+        }
+    }
+}
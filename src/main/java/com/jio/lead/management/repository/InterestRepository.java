@@ -1,7 +1,17 @@
 package com.jio.lead.management.repository;
 
 import com.jio.lead.management.domain.Interest;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +19,68 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface InterestRepository extends JpaRepository<Interest, Long> {}
+public interface InterestRepository
+    extends
+        InterestRepositoryWithUpsert,
+        InterestRepositoryWithVersionedUpdate,
+        JpaRepository<Interest, Long>,
+        JpaSpecificationExecutor<Interest> {
+    String EXPORT_FETCH_SIZE = "1000";
+
+    Page<Interest> findAllByLeadId(Long leadId, Pageable pageable);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        }
+    )
+    @Query("select interest from Interest interest order by interest.id")
+    Stream<Interest> streamAllByOrderById();
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        }
+    )
+    List<Interest> findAllByCreatedAtBeforeOrderById(Instant createdBefore, Limit limit);
+
+    /**
+     * Get the interests updated before an instant, in {@code (updatedAt, id)} order, for the change feed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select interest from Interest interest where interest.updatedAt < :before order by interest.updatedAt, interest.id")
+    List<Interest> findAllByUpdatedAtBefore(@Param("before") Instant before, Limit limit);
+
+    /**
+     * Get the interests updated after a cursor and before an instant, in {@code (updatedAt, id)} order, for the change feed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(
+        "select interest from Interest interest where (interest.updatedAt, interest.id) > (:updatedAt, :id) and interest.updatedAt < :before " +
+        "order by interest.updatedAt, interest.id"
+    )
+    List<Interest> findAllByUpdatedAtAfter(
+        @Param("updatedAt") Instant updatedAt,
+        @Param("id") Long id,
+        @Param("before") Instant before,
+        Limit limit
+    );
+
+    @Query(value = "select greatest(cast(reltuples as bigint), 0) from pg_class where oid = to_regclass('interest')", nativeQuery = true)
+    long estimateCount();
+
+    boolean existsByIdAndIsPurchasedTrue(Long id);
+
+    boolean existsByLeadIdAndArticleIdAndIsPurchasedTrue(Long leadId, String articleId);
+
+    /**
+     * Delete the interests of leads with one bulk statement, which invalidates the {@code Interest} and {@code Lead.interests}
+     * cache regions as a whole once the transaction completes.
+     */
+    @Modifying
+    @Query("delete from Interest interest where interest.lead.id in :leadIds")
+    int deleteAllByLeadIdIn(@Param("leadIds") Collection<Long> leadIds);
+}
@@ -0,0 +1,10 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Interest;
+
+/**
+ * Upserts of {@link Interest} keyed on its lead and article id.
+ */
+public interface InterestRepositoryWithUpsert {
+    Interest upsertByLeadAndArticleId(Interest interest);
+}
@@ -0,0 +1,53 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Interest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Utility repository to insert an {@link Interest}, or update the interest of the same lead with the same article id, in
+ * a single {@code insert ... on conflict do update} statement, without reading the interest first. An interest without
+ * lead or article id has no natural key, and is always inserted.
+ * <p>
+ * The statement bypasses Hibernate: the interest is built from the returned row, see {@link EntityRows}.
+ */
+public class InterestRepositoryWithUpsertImpl implements InterestRepositoryWithUpsert {
+
+    private static final String UPSERT_BY_LEAD_AND_ARTICLE_ID =
+        "insert into interest (id, category, brand, article_id, order_id, is_purchased, created_at, created_by, updated_at, updated_by, lead_id) " +
+        "values (nextval('sequence_generator'), :category, :brand, :articleId, :orderId, :isPurchased, :createdAt, :createdBy, :updatedAt, " +
+        ":updatedBy, :leadId) " +
+        "on conflict (lead_id, article_id) do update set category = excluded.category, brand = excluded.brand, order_id = excluded.order_id, " +
+        "is_purchased = excluded.is_purchased, updated_at = excluded.updated_at, updated_by = excluded.updated_by, " +
+        "version = interest.version + 1 " +
+        "returning " +
+        EntityRows.INTEREST_COLUMNS;
+
+    private final EntityManager entityManager;
+
+    public InterestRepositoryWithUpsertImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Interest upsertByLeadAndArticleId(Interest interest) {
+        Session session = entityManager.unwrap(Session.class);
+        Object[] row = EntityRows.addInterestScalars(
+            session
+                .createNativeQuery(UPSERT_BY_LEAD_AND_ARTICLE_ID, Object[].class)
+                .setParameter("category", interest.getCategory(), StandardBasicTypes.STRING)
+                .setParameter("brand", interest.getBrand(), StandardBasicTypes.STRING)
+                .setParameter("articleId", interest.getArticleId(), StandardBasicTypes.STRING)
+                .setParameter("orderId", interest.getOrderId(), StandardBasicTypes.STRING)
+                .setParameter("isPurchased", interest.getIsPurchased(), StandardBasicTypes.BOOLEAN)
+                .setParameter("createdAt", interest.getCreatedAt(), StandardBasicTypes.INSTANT)
+                .setParameter("createdBy", interest.getCreatedBy(), StandardBasicTypes.STRING)
+                .setParameter("updatedAt", interest.getUpdatedAt(), StandardBasicTypes.INSTANT)
+                .setParameter("updatedBy", interest.getUpdatedBy(), StandardBasicTypes.STRING)
+                .setParameter("leadId", interest.getLead() != null ? interest.getLead().getId() : null, StandardBasicTypes.LONG)
+        ).getSingleResult();
+        // The conflict target includes the lead, which is therefore unchanged
+        return EntityRows.written(session, EntityRows.toInterest(row), null);
+    }
+}
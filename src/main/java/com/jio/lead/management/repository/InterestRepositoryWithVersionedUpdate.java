@@ -0,0 +1,26 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Interest;
+import java.util.Optional;
+
+/**
+ * Updates of {@link Interest} in a single statement, guarded by its version.
+ */
+public interface InterestRepositoryWithVersionedUpdate {
+    /**
+     * Update all the fields of an interest. When the interest has a version, it is only updated if it still has this
+     * version.
+     *
+     * @param interest the interest, with its id.
+     * @return the updated interest with its new version, or empty if no interest has this id and version.
+     */
+    Optional<Interest> updateVersioned(Interest interest);
+
+    /**
+     * Update the fields of an interest which are not {@code null}, as {@link #updateVersioned(Interest)} does.
+     *
+     * @param interest the interest, with its id.
+     * @return the updated interest with its new version, or empty if no interest has this id and version.
+     */
+    Optional<Interest> partialUpdateVersioned(Interest interest);
+}
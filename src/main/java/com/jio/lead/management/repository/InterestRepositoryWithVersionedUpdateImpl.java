@@ -0,0 +1,84 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Interest;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Utility repository to update an {@link Interest} with one {@code update ... where id = ? and version = ?} statement,
+ * instead of reading the interest to merge it and flushing it with another statement.
+ * <p>
+ * A partial update only sets the columns of the fields which are not {@code null}. When the lead of the interest is set,
+ * the statement also returns its previous lead, whose cached interests are evicted with those of its new lead. The
+ * statement bypasses Hibernate: the interest is built from the returned row, see {@link EntityRows}.
+ */
+public class InterestRepositoryWithVersionedUpdateImpl implements InterestRepositoryWithVersionedUpdate {
+
+    private static final String RETURNING =
+        "returning i.id, i.category, i.brand, i.article_id, i.order_id, i.is_purchased, i.created_at, i.created_by, i.updated_at, " +
+        "i.updated_by, i.lead_id, i.version, ";
+
+    private static final String WHERE_VERSION = "(cast(:version as bigint) is null or i.version = :version) ";
+
+    private static final String FROM_PREVIOUS =
+        "from (select id, lead_id from interest where id = :id for update) previous where i.id = previous.id and " +
+        WHERE_VERSION +
+        RETURNING +
+        "previous.lead_id as previous_lead_id";
+
+    private static final String WHERE_ID = "where i.id = :id and " + WHERE_VERSION + RETURNING + "i.lead_id as previous_lead_id";
+
+    private final EntityManager entityManager;
+
+    public InterestRepositoryWithVersionedUpdateImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Interest> updateVersioned(Interest interest) {
+        return update(assignments(interest, false), interest);
+    }
+
+    @Override
+    public Optional<Interest> partialUpdateVersioned(Interest interest) {
+        return update(assignments(interest, true), interest);
+    }
+
+    private static ColumnAssignments assignments(Interest interest, boolean partial) {
+        return new ColumnAssignments(partial)
+            .set("category", interest.getCategory(), StandardBasicTypes.STRING)
+            .set("brand", interest.getBrand(), StandardBasicTypes.STRING)
+            .set("article_id", interest.getArticleId(), StandardBasicTypes.STRING)
+            .set("order_id", interest.getOrderId(), StandardBasicTypes.STRING)
+            .set("is_purchased", interest.getIsPurchased(), StandardBasicTypes.BOOLEAN)
+            .set("created_at", interest.getCreatedAt(), StandardBasicTypes.INSTANT)
+            .set("created_by", interest.getCreatedBy(), StandardBasicTypes.STRING)
+            .set("updated_at", interest.getUpdatedAt(), StandardBasicTypes.INSTANT)
+            .set("updated_by", interest.getUpdatedBy(), StandardBasicTypes.STRING)
+            .set("lead_id", interest.getLead() != null ? interest.getLead().getId() : null, StandardBasicTypes.LONG);
+    }
+
+    private Optional<Interest> update(ColumnAssignments assignments, Interest interest) {
+        Session session = entityManager.unwrap(Session.class);
+        // The previous lead is only read, and the row locked to read it, when the lead may change
+        String statement =
+            "update interest i set " +
+            assignments.toSql() +
+            "version = i.version + 1 " +
+            (assignments.assigns("lead_id") ? FROM_PREVIOUS : WHERE_ID);
+        return EntityRows.addInterestScalars(
+            assignments.bind(
+                session
+                    .createNativeQuery(statement, Object[].class)
+                    .setParameter("id", interest.getId(), StandardBasicTypes.LONG)
+                    .setParameter("version", interest.getVersion(), StandardBasicTypes.LONG)
+            )
+        )
+            .addScalar("previous_lead_id", StandardBasicTypes.LONG)
+            .getResultStream()
+            .findFirst()
+            .map(row -> EntityRows.written(session, EntityRows.toInterest(row), (Long) row[row.length - 1]));
+    }
+}
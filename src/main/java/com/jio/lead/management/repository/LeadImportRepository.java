@@ -0,0 +1,130 @@
+package com.jio.lead.management.repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the bulk import of leads.
+ * <p>
+ * Rows are streamed with the PostgreSQL {@code COPY} protocol into a temporary staging table, then merged into
+ * {@code lead} with a single {@code insert ... on conflict (phone) do update}. The staging table is dropped at the end
+ * of the transaction and is not logged, so imports running concurrently do not see each other.
+ */
+@Repository
+public class LeadImportRepository {
+
+    private static final String CREATE_STAGING_TABLE =
+        "create temporary table lead_import (line bigint not null, name varchar(255) not null, phone bigint not null) " +
+        "on commit drop";
+
+    private static final String COPY_TO_STAGING_TABLE = "copy lead_import (line, name, phone) from stdin with (format csv)";
+
+    // When a phone appears on several lines, the last one wins
+    private static final String MERGE_STAGING_TABLE =
+        "with merged as (" +
+        "insert into lead (id, name, phone, created_at, created_by, updated_at, updated_by) " +
+        "select nextval('sequence_generator'), name, phone, ?, ?, ?, ? " +
+        "from (select distinct on (phone) name, phone from lead_import order by phone, line desc) staged " +
+        "on conflict (phone) do update set name = excluded.name, updated_at = excluded.updated_at, updated_by = excluded.updated_by, " +
+        "version = lead.version + 1 " +
+        "returning (xmax = 0) as inserted) " +
+        "select count(*) filter (where inserted), count(*) filter (where not inserted) from merged";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeadImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Copy rows to the staging table, then merge them into {@code lead}.
+     *
+     * @param rows writes the rows in {@code COPY} CSV format: line number, name, phone.
+     * @param user the login recorded as creator or updater of the merged leads.
+     * @return the number of inserted and updated leads.
+     */
+    @Transactional
+    public MergeResult copyAndMerge(CopyRowsWriter rows, String user) {
+        return jdbcTemplate.execute(
+            (ConnectionCallback<MergeResult>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_TABLE);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (
+                    Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(
+                            new PGCopyOutputStream(pgConnection, COPY_TO_STAGING_TABLE, COPY_BUFFER_SIZE),
+                            StandardCharsets.UTF_8
+                        ),
+                        COPY_BUFFER_SIZE
+                    )
+                ) {
+                    rows.write(writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                Timestamp now = Timestamp.from(Instant.now());
+                try (PreparedStatement statement = connection.prepareStatement(MERGE_STAGING_TABLE)) {
+                    statement.setTimestamp(1, now);
+                    statement.setString(2, user);
+                    statement.setTimestamp(3, now);
+                    statement.setString(4, user);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        return new MergeResult(resultSet.getLong(1), resultSet.getLong(2));
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Writes the rows to copy to the staging table.
+     */
+    @FunctionalInterface
+    public interface CopyRowsWriter {
+        void write(Writer copy) throws IOException;
+    }
+
+    /**
+     * The outcome of a merge.
+     */
+    public static final class MergeResult {
+
+        private final long inserted;
+
+        private final long updated;
+
+        MergeResult(long inserted, long updated) {
+            this.inserted = inserted;
+            this.updated = updated;
+        }
+
+        public long getInserted() {
+            return inserted;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+    }
+}
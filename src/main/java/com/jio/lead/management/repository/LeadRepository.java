@@ -1,7 +1,16 @@
 package com.jio.lead.management.repository;
 
 import com.jio.lead.management.domain.Lead;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,69 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LeadRepository extends JpaRepository<Lead, Long> {}
+public interface LeadRepository
+    extends
+        LeadRepositoryWithBagRelationships,
+        LeadRepositoryWithNaturalId,
+        LeadRepositoryWithUpsert,
+        LeadRepositoryWithVersionedUpdate,
+        JpaRepository<Lead, Long>,
+        JpaSpecificationExecutor<Lead> {
+    default Optional<Lead> findOneWithEagerRelationships(Long id) {
+        return this.fetchBagRelationships(this.findById(id));
+    }
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        }
+    )
+    @Query("select lead from Lead lead order by lead.id")
+    Stream<Lead> streamAllByOrderById();
+
+    /**
+     * Get the leads updated before an instant, in {@code (updatedAt, id)} order, for the change feed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select lead from Lead lead where lead.updatedAt < :before order by lead.updatedAt, lead.id")
+    List<Lead> findAllByUpdatedAtBefore(@Param("before") Instant before, Limit limit);
+
+    /**
+     * Get the leads updated after a cursor and before an instant, in {@code (updatedAt, id)} order, for the change feed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(
+        "select lead from Lead lead where (lead.updatedAt, lead.id) > (:updatedAt, :id) and lead.updatedAt < :before " +
+        "order by lead.updatedAt, lead.id"
+    )
+    List<Lead> findAllByUpdatedAtAfter(
+        @Param("updatedAt") Instant updatedAt,
+        @Param("id") Long id,
+        @Param("before") Instant before,
+        Limit limit
+    );
+
+    @Query(value = "select greatest(cast(reltuples as bigint), 0) from pg_class where oid = to_regclass('lead')", nativeQuery = true)
+    long estimateCount();
+
+    @Query("select lead.id from Lead lead where lead.createdAt < :createdBefore order by lead.id")
+    List<Long> findIdsByCreatedAtBefore(@Param("createdBefore") Instant createdBefore, Limit limit);
+
+    @Query("select lead.id from Lead lead where lead.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select lead.id from Lead lead where lead.id in :ids and lead.createdAt < :createdBefore")
+    List<Long> findIdsByIdInAndCreatedAtBefore(@Param("ids") Collection<Long> ids, @Param("createdBefore") Instant createdBefore);
+
+    /**
+     * Delete leads with one bulk statement, which invalidates the {@code Lead} cache region as a whole once the transaction
+     * completes. Their interests must be deleted first.
+     */
+    @Modifying
+    @Query("delete from Lead lead where lead.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
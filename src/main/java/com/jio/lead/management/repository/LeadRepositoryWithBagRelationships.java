@@ -0,0 +1,17 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+public interface LeadRepositoryWithBagRelationships {
+    Optional<Lead> fetchBagRelationships(Optional<Lead> lead);
+
+    List<Lead> fetchBagRelationships(List<Lead> leads);
+
+    Page<Lead> fetchBagRelationships(Page<Lead> leads);
+
+    Slice<Lead> fetchBagRelationships(Slice<Lead> leads);
+}
@@ -0,0 +1,69 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
+ * <p>
+ * The interests of all the given leads are fetched with a single extra query, whatever the number of leads.
+ */
+public class LeadRepositoryWithBagRelationshipsImpl implements LeadRepositoryWithBagRelationships {
+
+    private static final String ID_PARAMETER = "id";
+    private static final String LEADS_PARAMETER = "leads";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Lead> fetchBagRelationships(Optional<Lead> lead) {
+        return lead.map(this::fetchInterests);
+    }
+
+    @Override
+    public List<Lead> fetchBagRelationships(List<Lead> leads) {
+        return Optional.of(leads).map(this::fetchInterests).orElse(Collections.emptyList());
+    }
+
+    @Override
+    public Page<Lead> fetchBagRelationships(Page<Lead> leads) {
+        return new PageImpl<>(fetchBagRelationships(leads.getContent()), leads.getPageable(), leads.getTotalElements());
+    }
+
+    @Override
+    public Slice<Lead> fetchBagRelationships(Slice<Lead> leads) {
+        return new SliceImpl<>(fetchBagRelationships(leads.getContent()), leads.getPageable(), leads.hasNext());
+    }
+
+    Lead fetchInterests(Lead result) {
+        return entityManager
+            .createQuery("select lead from Lead lead left join fetch lead.interests where lead.id = :id", Lead.class)
+            .setParameter(ID_PARAMETER, result.getId())
+            .getSingleResult();
+    }
+
+    List<Lead> fetchInterests(List<Lead> leads) {
+        if (leads.isEmpty()) {
+            return leads;
+        }
+        HashMap<Object, Integer> order = new HashMap<>();
+        IntStream.range(0, leads.size()).forEach(index -> order.put(leads.get(index).getId(), index));
+        List<Lead> result = entityManager
+            .createQuery("select distinct lead from Lead lead left join fetch lead.interests where lead in :leads", Lead.class)
+            .setParameter(LEADS_PARAMETER, leads)
+            .getResultList();
+        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import java.util.Optional;
+
+/**
+ * Lookups of {@link Lead} by its natural id, which go through the Hibernate natural-id cache.
+ */
+public interface LeadRepositoryWithNaturalId {
+    Optional<Lead> findOneByNaturalId(Long phone);
+}
@@ -0,0 +1,24 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+
+/**
+ * Utility repository to load a {@link Lead} by its phone through the Hibernate natural-id API, so that a cache hit
+ * resolves the id and the entity without any query.
+ */
+public class LeadRepositoryWithNaturalIdImpl implements LeadRepositoryWithNaturalId {
+
+    private final EntityManager entityManager;
+
+    public LeadRepositoryWithNaturalIdImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Lead> findOneByNaturalId(Long phone) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Lead.class).loadOptional(phone);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+
+/**
+ * Upserts of {@link Lead} keyed on its natural id, the phone.
+ */
+public interface LeadRepositoryWithUpsert {
+    Lead upsertByPhone(Lead lead);
+}
@@ -0,0 +1,45 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Utility repository to insert a {@link Lead}, or update the lead with the same phone, in a single
+ * {@code insert ... on conflict do update} statement, without reading the lead first.
+ * <p>
+ * The statement bypasses Hibernate: the lead is built from the returned row, see {@link EntityRows}.
+ */
+public class LeadRepositoryWithUpsertImpl implements LeadRepositoryWithUpsert {
+
+    private static final String UPSERT_BY_PHONE =
+        "insert into lead (id, name, phone, created_at, created_by, updated_at, updated_by) " +
+        "values (nextval('sequence_generator'), :name, :phone, :createdAt, :createdBy, :updatedAt, :updatedBy) " +
+        "on conflict (phone) do update set name = excluded.name, updated_at = excluded.updated_at, updated_by = excluded.updated_by, " +
+        "version = lead.version + 1 " +
+        "returning " +
+        EntityRows.LEAD_COLUMNS;
+
+    private final EntityManager entityManager;
+
+    public LeadRepositoryWithUpsertImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Lead upsertByPhone(Lead lead) {
+        Session session = entityManager.unwrap(Session.class);
+        Object[] row = EntityRows.addLeadScalars(
+            session
+                .createNativeQuery(UPSERT_BY_PHONE, Object[].class)
+                .setParameter("name", lead.getName(), StandardBasicTypes.STRING)
+                .setParameter("phone", lead.getPhone(), StandardBasicTypes.LONG)
+                .setParameter("createdAt", lead.getCreatedAt(), StandardBasicTypes.INSTANT)
+                .setParameter("createdBy", lead.getCreatedBy(), StandardBasicTypes.STRING)
+                .setParameter("updatedAt", lead.getUpdatedAt(), StandardBasicTypes.INSTANT)
+                .setParameter("updatedBy", lead.getUpdatedBy(), StandardBasicTypes.STRING)
+        ).getSingleResult();
+        return EntityRows.written(session, EntityRows.toLead(row), null);
+    }
+}
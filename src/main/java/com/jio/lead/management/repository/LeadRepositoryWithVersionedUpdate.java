@@ -0,0 +1,25 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import java.util.Optional;
+
+/**
+ * Updates of {@link Lead} in a single statement, guarded by its version.
+ */
+public interface LeadRepositoryWithVersionedUpdate {
+    /**
+     * Update all the fields of a lead. When the lead has a version, it is only updated if it still has this version.
+     *
+     * @param lead the lead, with its id.
+     * @return the updated lead with its new version, or empty if no lead has this id and version.
+     */
+    Optional<Lead> updateVersioned(Lead lead);
+
+    /**
+     * Update the fields of a lead which are not {@code null}, as {@link #updateVersioned(Lead)} does.
+     *
+     * @param lead the lead, with its id.
+     * @return the updated lead with its new version, or empty if no lead has this id and version.
+     */
+    Optional<Lead> partialUpdateVersioned(Lead lead);
+}
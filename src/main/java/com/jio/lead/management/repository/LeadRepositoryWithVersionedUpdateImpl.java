@@ -0,0 +1,79 @@
+package com.jio.lead.management.repository;
+
+import com.jio.lead.management.domain.Lead;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Utility repository to update a {@link Lead} with one {@code update ... where id = ? and version = ?} statement,
+ * instead of reading the lead to merge it and flushing it with another statement.
+ * <p>
+ * A partial update only sets the columns of the fields which are not {@code null}. When the phone of the lead is set,
+ * the statement also returns its previous phone, whose cached natural id resolution is evicted. The statement bypasses
+ * Hibernate: the lead is built from the returned row, see {@link EntityRows}.
+ */
+public class LeadRepositoryWithVersionedUpdateImpl implements LeadRepositoryWithVersionedUpdate {
+
+    private static final String RETURNING =
+        "returning l.id, l.name, l.phone, l.created_at, l.created_by, l.updated_at, l.updated_by, l.version, ";
+
+    private static final String WHERE_VERSION = "(cast(:version as bigint) is null or l.version = :version) ";
+
+    private static final String FROM_PREVIOUS =
+        "from (select id, phone from lead where id = :id for update) previous where l.id = previous.id and " +
+        WHERE_VERSION +
+        RETURNING +
+        "previous.phone as previous_phone";
+
+    private static final String WHERE_ID = "where l.id = :id and " + WHERE_VERSION + RETURNING + "l.phone as previous_phone";
+
+    private final EntityManager entityManager;
+
+    public LeadRepositoryWithVersionedUpdateImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Lead> updateVersioned(Lead lead) {
+        return update(assignments(lead, false), lead);
+    }
+
+    @Override
+    public Optional<Lead> partialUpdateVersioned(Lead lead) {
+        return update(assignments(lead, true), lead);
+    }
+
+    private static ColumnAssignments assignments(Lead lead, boolean partial) {
+        return new ColumnAssignments(partial)
+            .set("name", lead.getName(), StandardBasicTypes.STRING)
+            .set("phone", lead.getPhone(), StandardBasicTypes.LONG)
+            .set("created_at", lead.getCreatedAt(), StandardBasicTypes.INSTANT)
+            .set("created_by", lead.getCreatedBy(), StandardBasicTypes.STRING)
+            .set("updated_at", lead.getUpdatedAt(), StandardBasicTypes.INSTANT)
+            .set("updated_by", lead.getUpdatedBy(), StandardBasicTypes.STRING);
+    }
+
+    private Optional<Lead> update(ColumnAssignments assignments, Lead lead) {
+        Session session = entityManager.unwrap(Session.class);
+        // The previous phone is only read, and the row locked to read it, when the phone may change
+        String statement =
+            "update lead l set " +
+            assignments.toSql() +
+            "version = l.version + 1 " +
+            (assignments.assigns("phone") ? FROM_PREVIOUS : WHERE_ID);
+        return EntityRows.addLeadScalars(
+            assignments.bind(
+                session
+                    .createNativeQuery(statement, Object[].class)
+                    .setParameter("id", lead.getId(), StandardBasicTypes.LONG)
+                    .setParameter("version", lead.getVersion(), StandardBasicTypes.LONG)
+            )
+        )
+            .addScalar("previous_phone", StandardBasicTypes.LONG)
+            .getResultStream()
+            .findFirst()
+            .map(row -> EntityRows.written(session, EntityRows.toLead(row), (Long) row[row.length - 1]));
+    }
+}
@@ -0,0 +1,164 @@
+package com.jio.lead.management.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@code outbox_event} table, which holds the events for downstream systems until they are delivered.
+ * <p>
+ * The table is not mapped to an entity: events are written in bulk, in the transaction of the change they record, and
+ * claimed in id order by the relay with {@code for update skip locked}, so relays running on several nodes share the
+ * rows without waiting on each other. Delivered events are deleted in the transaction which claimed them.
+ */
+@Repository
+public class OutboxRepository {
+
+    private static final String INSERT_EVENT =
+        "insert into outbox_event (event_type, aggregate_type, aggregate_id, payload, created_at) values (?, ?, ?, ?, ?)";
+
+    private static final RowMapper<OutboxEvent> OUTBOX_EVENT_ROW_MAPPER = (rs, rowNum) ->
+        new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getString("aggregate_type"),
+            rs.getLong("aggregate_id"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant()
+        );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Save events, in a single batch.
+     *
+     * @param events the events, without id.
+     */
+    public void saveAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(
+            INSERT_EVENT,
+            events,
+            events.size(),
+            (statement, event) -> {
+                statement.setString(1, event.getEventType());
+                statement.setString(2, event.getAggregateType());
+                statement.setLong(3, event.getAggregateId());
+                statement.setString(4, event.getPayload());
+                statement.setTimestamp(5, Timestamp.from(event.getCreatedAt()));
+            }
+        );
+    }
+
+    /**
+     * Claim the oldest events not claimed by another transaction, locking them until the end of the current one.
+     *
+     * @param limit the maximum number of events.
+     * @return the events, in id order.
+     */
+    public List<OutboxEvent> claim(int limit) {
+        return jdbcTemplate.query(
+            "select id, event_type, aggregate_type, aggregate_id, payload, created_at from outbox_event " +
+            "order by id limit ? for update skip locked",
+            OUTBOX_EVENT_ROW_MAPPER,
+            limit
+        );
+    }
+
+    /**
+     * Get the creation instant of the oldest event, claimed or not.
+     *
+     * @return the instant, or empty if there is no event.
+     */
+    public Optional<Instant> findOldestCreatedAt() {
+        return jdbcTemplate
+            .query("select created_at from outbox_event order by id limit 1", (rs, rowNum) -> rs.getTimestamp(1).toInstant())
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Delete events.
+     *
+     * @param ids the ids of the events.
+     * @return the number of deleted events.
+     */
+    public int deleteAllByIdIn(Collection<Long> ids) {
+        return jdbcTemplate.execute(
+            (ConnectionCallback<Integer>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("delete from outbox_event where id = any(?)")) {
+                    statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                    return statement.executeUpdate();
+                }
+            }
+        );
+    }
+
+    /**
+     * A row of the {@code outbox_event} table.
+     */
+    public static final class OutboxEvent {
+
+        private final Long id;
+
+        private final String eventType;
+
+        private final String aggregateType;
+
+        private final Long aggregateId;
+
+        private final String payload;
+
+        private final Instant createdAt;
+
+        public OutboxEvent(String eventType, String aggregateType, Long aggregateId, String payload, Instant createdAt) {
+            this(null, eventType, aggregateType, aggregateId, payload, createdAt);
+        }
+
+        OutboxEvent(Long id, String eventType, String aggregateType, Long aggregateId, String payload, Instant createdAt) {
+            this.id = id;
+            this.eventType = eventType;
+            this.aggregateType = aggregateType;
+            this.aggregateId = aggregateId;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getEventType() {
+            return eventType;
+        }
+
+        public String getAggregateType() {
+            return aggregateType;
+        }
+
+        public Long getAggregateId() {
+            return aggregateId;
+        }
+
+        /**
+         * @return the JSON representation of the aggregate when the event was recorded.
+         */
+        public String getPayload() {
+            return payload;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
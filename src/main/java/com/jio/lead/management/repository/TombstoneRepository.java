@@ -0,0 +1,183 @@
+package com.jio.lead.management.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@code tombstone} table, which records the deleted leads and interests for the change feeds.
+ * <p>
+ * The table is not mapped to an entity: tombstones are only ever written in bulk, in the transaction deleting their
+ * entities, and read in {@code (deleted_at, entity_id)} order after a cursor. An entity deleted again after being
+ * re-created with the same id keeps a single tombstone, moved to the latest deletion.
+ */
+@Repository
+public class TombstoneRepository {
+
+    private static final String INSERT_TOMBSTONES =
+        "insert into tombstone (entity, entity_id, deleted_at) select ?, entity_id, ? from unnest(?) as deleted (entity_id) " +
+        "on conflict (entity, entity_id) do update set deleted_at = excluded.deleted_at";
+
+    private static final String INSERT_INTEREST_TOMBSTONES_OF_LEADS =
+        "insert into tombstone (entity, entity_id, deleted_at) select ?, id, ? from interest where lead_id = any(?) " +
+        "on conflict (entity, entity_id) do update set deleted_at = excluded.deleted_at returning entity_id";
+
+    private static final RowMapper<Tombstone> TOMBSTONE_ROW_MAPPER = (rs, rowNum) ->
+        new Tombstone(rs.getLong("entity_id"), rs.getTimestamp("deleted_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TombstoneRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Record the deletion of entities.
+     *
+     * @param entity the entity name.
+     * @param ids the ids of the deleted entities.
+     * @param deletedAt the deletion instant.
+     */
+    public void saveAll(String entity, Collection<Long> ids, Instant deletedAt) {
+        save(INSERT_TOMBSTONES, entity, ids, deletedAt);
+    }
+
+    /**
+     * Record the deletion of the interests of leads, before they are deleted.
+     *
+     * @param entity the entity name of interests.
+     * @param leadIds the ids of the leads.
+     * @param deletedAt the deletion instant.
+     * @return the ids of the interests.
+     */
+    public List<Long> saveAllOfLeads(String entity, Collection<Long> leadIds, Instant deletedAt) {
+        return jdbcTemplate.execute(
+            (ConnectionCallback<List<Long>>) connection -> {
+                try (PreparedStatement statement = prepare(connection, INSERT_INTEREST_TOMBSTONES_OF_LEADS, entity, leadIds, deletedAt)) {
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        List<Long> ids = new ArrayList<>();
+                        while (resultSet.next()) {
+                            ids.add(resultSet.getLong(1));
+                        }
+                        return ids;
+                    }
+                }
+            }
+        );
+    }
+
+    private void save(String sql, String entity, Collection<Long> ids, Instant deletedAt) {
+        jdbcTemplate.execute(
+            (ConnectionCallback<Integer>) connection -> {
+                try (PreparedStatement statement = prepare(connection, sql, entity, ids, deletedAt)) {
+                    return statement.executeUpdate();
+                }
+            }
+        );
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, String entity, Collection<Long> ids, Instant deletedAt)
+        throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            statement.setString(1, entity);
+            statement.setTimestamp(2, Timestamp.from(deletedAt));
+            statement.setArray(3, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the start of the oldest transaction of the other sessions which is still writing to the database, whose changes
+     * may be stamped with any later instant and not committed yet.
+     *
+     * @return the start of the transaction, or {@code null} if no other transaction is writing.
+     */
+    public Instant findOldestWritingTransactionStart() {
+        Timestamp start = jdbcTemplate.queryForObject(
+            "select min(xact_start) from pg_stat_activity where datname = current_database() and backend_xid is not null " +
+            "and pid <> pg_backend_pid()",
+            Timestamp.class
+        );
+        return start == null ? null : start.toInstant();
+    }
+
+    /**
+     * Get the tombstones of an entity after a cursor, in {@code (deleted_at, entity_id)} order.
+     *
+     * @param entity the entity name.
+     * @param deletedAt the deletion instant of the cursor, or {@code null} to read from the first tombstone.
+     * @param id the entity id of the cursor, compared when the deletion instants are equal.
+     * @param before only get the tombstones of deletions before this instant.
+     * @param limit the maximum number of tombstones.
+     * @return the tombstones.
+     */
+    public List<Tombstone> findAllAfter(String entity, Instant deletedAt, Long id, Instant before, int limit) {
+        if (deletedAt == null) {
+            return jdbcTemplate.query(
+                "select entity_id, deleted_at from tombstone where entity = ? and deleted_at < ? " +
+                "order by deleted_at, entity_id limit ?",
+                TOMBSTONE_ROW_MAPPER,
+                entity,
+                Timestamp.from(before),
+                limit
+            );
+        }
+        return jdbcTemplate.query(
+            "select entity_id, deleted_at from tombstone where entity = ? and (deleted_at, entity_id) > (?, ?) and deleted_at < ? " +
+            "order by deleted_at, entity_id limit ?",
+            TOMBSTONE_ROW_MAPPER,
+            entity,
+            Timestamp.from(deletedAt),
+            id,
+            Timestamp.from(before),
+            limit
+        );
+    }
+
+    /**
+     * Delete the tombstones of deletions before the given instant.
+     *
+     * @param instant the instant.
+     * @return the number of deleted tombstones.
+     */
+    public int deleteByDeletedAtBefore(Instant instant) {
+        return jdbcTemplate.update("delete from tombstone where deleted_at < ?", Timestamp.from(instant));
+    }
+
+    /**
+     * A row of the {@code tombstone} table.
+     */
+    public static final class Tombstone {
+
+        private final Long entityId;
+
+        private final Instant deletedAt;
+
+        Tombstone(Long entityId, Instant deletedAt) {
+            this.entityId = entityId;
+            this.deletedAt = deletedAt;
+        }
+
+        public Long getEntityId() {
+            return entityId;
+        }
+
+        public Instant getDeletedAt() {
+            return deletedAt;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.jio.lead.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.repository.InterestRepository;
+import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.mapper.InterestMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service moving the interests created before the retention window out of the database, to compressed files.
+ * <p>
+ * Interests are archived in id order, in chunks of {@code application.interest-archive.chunk-size}. Each chunk is written
+ * as newline-delimited JSON to a gzipped file named after its first and last ids, forced to disk and renamed into place
+ * before the interests are deleted. A chunk archived but not deleted, because of a crash, is archived again to the same
+ * file by the next run. The nodes share the archive directory, so a run only starts on the node which gets the
+ * {@code interest-archive} advisory lock of the database.
+ * <p>
+ * An archived interest is found by reading the file whose id range holds its id. The id ranges of the files are kept in
+ * memory, and listed again once the directory changes, so that looking up an id which is not archived reads no file.
+ * <p>
+ * Interests without a creation date are never archived.
+ */
+@Service
+public class InterestArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestArchiveService.class);
+
+    private static final Pattern ARCHIVE_FILE = Pattern.compile("interest-(\\d+)-(\\d+)\\.ndjson\\.gz");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Duration INDEX_TIME_GRANULARITY = Duration.ofSeconds(2);
+
+    private static final String LOCK = "interest-archive";
+
+    private final InterestRepository interestRepository;
+
+    private final InterestMapper interestMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final DataSource dataSource;
+
+    private final ApplicationProperties.InterestArchive properties;
+
+    private volatile ArchiveIndex index;
+
+    public InterestArchiveService(
+        InterestRepository interestRepository,
+        InterestMapper interestMapper,
+        ObjectMapper objectMapper,
+        DataSource dataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        this.interestRepository = interestRepository;
+        this.interestMapper = interestMapper;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.properties = applicationProperties.getInterestArchive();
+    }
+
+    /**
+     * Archive the interests created before the retention window.
+     * <p>
+     * This is scheduled to get fired every day, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void archiveExpiredInterests() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant createdBefore = Instant.now().minus(properties.getRetention());
+        try (Connection connection = dataSource.getConnection()) {
+            // A session lock, held without keeping a transaction open for the whole run
+            connection.setAutoCommit(true);
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.info("Not archiving the interests created before {}, another node is archiving them", createdBefore);
+                return;
+            }
+            try {
+                long archived = archive(createdBefore);
+                log.info("Archived {} interests created before {}", archived, createdBefore);
+            } catch (IOException e) {
+                log.error("Could not archive the interests created before {}", createdBefore, e);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        } catch (SQLException e) {
+            log.error("Could not lock the archiving of the interests created before {}", createdBefore, e);
+        }
+    }
+
+    /**
+     * Archive the interests created before an instant, then delete them.
+     *
+     * @param createdBefore the instant.
+     * @return the number of archived interests.
+     * @throws IOException if an archive file cannot be written, the interests of its chunk are then kept.
+     */
+    public long archive(Instant createdBefore) throws IOException {
+        int chunkSize = properties.getChunkSize();
+        long archived = 0;
+        List<Interest> chunk;
+        do {
+            chunk = interestRepository.findAllByCreatedAtBeforeOrderById(createdBefore, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            write(interestMapper.toDto(chunk));
+            // The bulk delete invalidates the Interest and Lead.interests cache regions
+            interestRepository.deleteAllByIdInBatch(chunk.stream().map(Interest::getId).toList());
+            archived += chunk.size();
+        } while (chunk.size() == chunkSize);
+        return archived;
+    }
+
+    /**
+     * Get an archived interest.
+     *
+     * @param id the id of the interest.
+     * @return the interest, or empty if it is not archived or archiving is disabled.
+     */
+    public Optional<InterestDTO> findOne(Long id) {
+        Path directory = Path.of(properties.getDirectory());
+        if (!properties.isEnabled() || !Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try {
+            Map.Entry<Long, ArchiveFile> file = index(directory).files().ceilingEntry(id);
+            if (file == null || file.getValue().firstId() > id) {
+                return Optional.empty();
+            }
+            return read(file.getValue().path(), id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the archive files by last id, listed again when the directory changed since they were last listed. The
+     * modification time of the directory may be coarse, so they are also listed again while it is that recent.
+     */
+    private ArchiveIndex index(Path directory) throws IOException {
+        ArchiveIndex current = index;
+        FileTime modified = Files.getLastModifiedTime(directory);
+        if (
+            current != null &&
+            current.directory().equals(directory) &&
+            current.modified().equals(modified) &&
+            current.listedAt().isAfter(modified.toInstant().plus(INDEX_TIME_GRANULARITY))
+        ) {
+            return current;
+        }
+        Instant listedAt = Instant.now();
+        NavigableMap<Long, ArchiveFile> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                Matcher matcher = ARCHIVE_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(2)), new ArchiveFile(Long.parseLong(matcher.group(1)), path));
+                }
+            });
+        }
+        current = new ArchiveIndex(directory, modified, listedAt, files);
+        index = current;
+        return current;
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select " + function + "(hashtext(?))")) {
+            statement.setString(1, LOCK);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void write(List<InterestDTO> interests) throws IOException {
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        String name = "interest-" + interests.get(0).getId() + "-" + interests.get(interests.size() - 1).getId() + ".ndjson.gz";
+        Path temporary = directory.resolve(name + ".tmp");
+        try (
+            FileChannel channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+            )
+        ) {
+            GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            try (
+                SequenceWriter writer = objectMapper
+                    .writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .withRootValueSeparator("\n")
+                    .writeValues(gzip)
+            ) {
+                writer.writeAll(interests);
+            }
+            gzip.finish();
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        index = null;
+    }
+
+    private Optional<InterestDTO> read(Path file, Long id) throws IOException {
+        try (
+            InputStream input = new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE);
+            MappingIterator<InterestDTO> interests = objectMapper.readerFor(InterestDTO.class).readValues(input)
+        ) {
+            while (interests.hasNext()) {
+                InterestDTO interest = interests.next();
+                if (id.equals(interest.getId())) {
+                    return Optional.of(interest);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private record ArchiveFile(long firstId, Path path) {}
+
+    private record ArchiveIndex(Path directory, FileTime modified, Instant listedAt, NavigableMap<Long, ArchiveFile> files) {}
+}
@@ -0,0 +1,159 @@
+package com.jio.lead.management.service;
+
+import com.jio.lead.management.domain.*; // for static metamodels
+import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.repository.InterestRepository;
+import com.jio.lead.management.service.criteria.InterestCriteria;
+import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.mapper.InterestMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Interest} entities in the database.
+ * The main input is a {@link InterestCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page}, a {@link Slice} or a {@link Window} of {@link InterestDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class InterestQueryService extends QueryService<Interest> {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestQueryService.class);
+
+    private final InterestRepository interestRepository;
+
+    private final InterestMapper interestMapper;
+
+    public InterestQueryService(InterestRepository interestRepository, InterestMapper interestMapper) {
+        this.interestRepository = interestRepository;
+        this.interestMapper = interestMapper;
+    }
+
+    /**
+     * Return a {@link Page} of {@link InterestDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<InterestDTO> findByCriteria(InterestCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Interest> specification = createSpecification(criteria);
+        return interestRepository.findAll(specification, page).map(interestMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link InterestDTO} which matches the criteria from the database, reading one more row than
+     * requested to know if there is a next slice instead of counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<InterestDTO> findSliceByCriteria(InterestCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        return findSlice(createSpecification(criteria), page).map(interestMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Window} of {@link InterestDTO} which matches the criteria from the database, seeking on the sort keys
+     * and the id instead of using an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the position after which to start, {@link ScrollPosition#keyset()} for the first window.
+     * @param sort the sort order, the id is appended to it to keep the order total.
+     * @param size the maximum number of entities in the window.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<InterestDTO> findByCriteria(InterestCriteria criteria, ScrollPosition position, Sort sort, int size) {
+        log.debug("find window by criteria : {}, after: {}", criteria, position);
+        final Specification<Interest> specification = createSpecification(criteria);
+        return interestRepository
+            .findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position))
+            .map(interestMapper::toDto);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(InterestCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Interest> specification = createSpecification(criteria);
+        return interestRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link InterestCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Interest> createSpecification(InterestCriteria criteria) {
+        Specification<Interest> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Interest_.id));
+            }
+            if (criteria.getCategory() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCategory(), Interest_.category));
+            }
+            if (criteria.getBrand() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getBrand(), Interest_.brand));
+            }
+            if (criteria.getArticleId() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getArticleId(), Interest_.articleId));
+            }
+            if (criteria.getOrderId() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getOrderId(), Interest_.orderId));
+            }
+            if (criteria.getIsPurchased() != null) {
+                specification = specification.and(buildSpecification(criteria.getIsPurchased(), Interest_.isPurchased));
+            }
+            if (criteria.getCreatedAt() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCreatedAt(), Interest_.createdAt));
+            }
+            if (criteria.getCreatedBy() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCreatedBy(), Interest_.createdBy));
+            }
+            if (criteria.getUpdatedAt() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getUpdatedAt(), Interest_.updatedAt));
+            }
+            if (criteria.getUpdatedBy() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getUpdatedBy(), Interest_.updatedBy));
+            }
+            if (criteria.getLeadId() != null) {
+                // Compare the foreign key column instead of joining the lead table, so that the lead_id index is used
+                specification = specification.and(buildSpecification(criteria.getLeadId(), root -> root.get(Interest_.lead).get(Lead_.id)));
+            }
+        }
+        return specification;
+    }
+
+    private Slice<Interest> findSlice(Specification<Interest> specification, Pageable page) {
+        // An offset scroll position designates the last element already read, not the first one to read
+        ScrollPosition position = page.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getOffset() - 1);
+        Window<Interest> window = interestRepository.findBy(specification, query ->
+            query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position)
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext());
+    }
+
+}
@@ -1,7 +1,13 @@
 package com.jio.lead.management.service;
 
+import com.jio.lead.management.service.dto.ChangeDTO;
 import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.dto.PurchaseConfirmationDTO;
+import com.jio.lead.management.service.dto.PurchaseReconciliationDTO;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -18,18 +24,54 @@ public interface InterestService {
     InterestDTO save(InterestDTO interestDTO);
 
     /**
-     * Updates a interest.
+     * Save a chunk of interests in a single transaction, so that the inserts are sent as JDBC batches.
      *
-     * @param interestDTO the entity to update.
+     * @param interestDTOs the entities to save.
+     * @return the persisted entities, in the same order.
+     */
+    List<InterestDTO> saveAll(List<InterestDTO> interestDTOs);
+
+    /**
+     * Insert a interest, or update the interest of the same lead with the same article id, in a single statement.
+     *
+     * @param interestDTO the entity to upsert.
      * @return the persisted entity.
      */
-    InterestDTO update(InterestDTO interestDTO);
+    InterestDTO upsert(InterestDTO interestDTO);
 
     /**
-     * Partially updates a interest.
+     * Upsert a chunk of interests in a single transaction, with one statement per interest.
+     *
+     * @param interestDTOs the entities to upsert.
+     * @return the persisted entities, in the same order.
+     */
+    List<InterestDTO> upsertAll(List<InterestDTO> interestDTOs);
+
+    /**
+     * Mark as purchased the interests with the order id and article id of a chunk of purchase confirmations, in a single
+     * statement.
+     *
+     * @param confirmations the purchase confirmations.
+     * @return the number of matched and unmatched confirmations, and of purchased interests.
+     */
+    PurchaseReconciliationDTO reconcilePurchases(List<PurchaseConfirmationDTO> confirmations);
+
+    /**
+     * Updates a interest, in a single statement. When the interestDTO has a version, the interest is only updated if it is still
+     * at this version.
+     *
+     * @param interestDTO the entity to update.
+     * @return the persisted entity with its new version, or empty if the entity does not exist.
+     * @throws com.jio.lead.management.service.VersionConflictException if the entity is no longer at the version.
+     */
+    Optional<InterestDTO> update(InterestDTO interestDTO);
+
+    /**
+     * Partially updates a interest, as {@link #update(InterestDTO)} does.
      *
      * @param interestDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity with its new version, or empty if the entity does not exist.
+     * @throws com.jio.lead.management.service.VersionConflictException if the entity is no longer at the version.
      */
     Optional<InterestDTO> partialUpdate(InterestDTO interestDTO);
 
@@ -42,7 +84,45 @@ public interface InterestService {
     Page<InterestDTO> findAll(Pageable pageable);
 
     /**
-     * Get the "id" interest.
+     * Get the interests of a lead.
+     *
+     * @param leadId the id of the lead.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<InterestDTO> findAllByLead(Long leadId, Pageable pageable);
+
+    /**
+     * Get the changes of interests after a cursor: the interests updated and the interests deleted, in {@code (changedAt, id)} order.
+     * <p>
+     * Every write stamps the update instant of the interests it writes, and every deletion leaves a tombstone.
+     *
+     * @param changedAt the change instant of the cursor, or {@code null} to get the changes from the first one.
+     * @param id the id of the cursor, compared when the change instants are equal.
+     * @param before only get the changes made before this instant, which must be far enough in the past for the
+     * transactions writing earlier changes to have committed.
+     * @param size the maximum number of changes.
+     * @return the list of changes.
+     */
+    List<ChangeDTO<InterestDTO>> findChanges(Instant changedAt, Long id, Instant before, int size);
+
+    /**
+     * Get an estimate of the number of interests from the database planner statistics, which is cheap but may lag behind.
+     *
+     * @return the estimated number of entities.
+     */
+    long countEstimate();
+
+    /**
+     * Stream all the interests to the given consumer in id order, reading them with a database cursor so that memory stays
+     * constant whatever the number of interests.
+     *
+     * @param consumer the consumer of the entities.
+     */
+    void exportAll(Consumer<InterestDTO> consumer);
+
+    /**
+     * Get the "id" interest, from the archive if it was archived.
      *
      * @param id the id of the entity.
      * @return the entity.
@@ -0,0 +1,13 @@
+package com.jio.lead.management.service;
+
+/**
+ * Thrown when an imported CSV file cannot be read, for instance because its header lacks a required column.
+ */
+public class InvalidCsvException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCsvException(String message) {
+        super(message);
+    }
+}
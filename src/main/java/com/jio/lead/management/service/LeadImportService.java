@@ -0,0 +1,389 @@
+package com.jio.lead.management.service;
+
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.config.Constants;
+import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.repository.LeadImportRepository;
+import com.jio.lead.management.security.SecurityUtils;
+import com.jio.lead.management.service.dto.LeadImportEventDTO;
+import com.jio.lead.management.service.dto.LeadDTO;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for importing leads from CSV files.
+ * <p>
+ * The file is read one chunk of rows at a time. Chunks are parsed and validated in parallel, against the constraints
+ * of {@link LeadDTO}, and their valid rows are copied in file order to a staging table which is merged into
+ * {@code lead} once the file is read: leads are matched by phone, so importing a file twice updates the leads of the
+ * first import. At most two chunks per thread are held in memory, whatever the size of the file.
+ */
+@Service
+public class LeadImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeadImportService.class);
+
+    private static final String NAME_COLUMN = "name";
+
+    private static final String PHONE_COLUMN = "phone";
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final LeadImportRepository leadImportRepository;
+
+    private final Validator validator;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SerializedDtoCache serializedDtoCache;
+
+    private final ApplicationProperties.LeadImport properties;
+
+    public LeadImportService(
+        LeadImportRepository leadImportRepository,
+        Validator validator,
+        EntityManagerFactory entityManagerFactory,
+        SerializedDtoCache serializedDtoCache,
+        ApplicationProperties applicationProperties
+    ) {
+        this.leadImportRepository = leadImportRepository;
+        this.validator = validator;
+        this.entityManagerFactory = entityManagerFactory;
+        this.serializedDtoCache = serializedDtoCache;
+        this.properties = applicationProperties.getLeadImport();
+    }
+
+    /**
+     * Read the header of a CSV file, which must name a {@code name} and a {@code phone} column. Other columns are
+     * ignored.
+     *
+     * @param csv the file, positioned at its first line.
+     * @return the header.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidCsvException if the header lacks a column.
+     */
+    public CsvHeader readHeader(BufferedReader csv) throws IOException {
+        String line = csv.readLine();
+        if (line == null) {
+            throw new InvalidCsvException("The file is empty");
+        }
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        List<String> columns = parseRecord(line);
+        if (columns == null) {
+            throw new InvalidCsvException("The header is not valid CSV");
+        }
+        List<String> names = columns.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+        if (!names.contains(NAME_COLUMN) || !names.contains(PHONE_COLUMN)) {
+            throw new InvalidCsvException("The header must have a name and a phone column");
+        }
+        return new CsvHeader(names.indexOf(NAME_COLUMN), names.indexOf(PHONE_COLUMN));
+    }
+
+    /**
+     * Import the rows of a CSV file.
+     * <p>
+     * The rows are merged in one transaction once the file is read: if the import fails, no lead is imported.
+     *
+     * @param csv the file, positioned after its header.
+     * @param header the header of the file.
+     * @param listener notified of each rejected row and of the progress of the import, from the calling thread.
+     * @return the outcome of the import, which is also notified to the listener.
+     * @throws IOException if the file cannot be read.
+     */
+    public LeadImportEventDTO importLeads(BufferedReader csv, CsvHeader header, Consumer<LeadImportEventDTO> listener) throws IOException {
+        log.debug("Request to import Leads");
+        String user = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        int parallelism = Math.max(1, properties.getParallelism());
+        ImportProgress progress = new ImportProgress();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("lead-import-"));
+        LeadImportRepository.MergeResult merged;
+        try {
+            CsvRecordReader reader = new CsvRecordReader(csv);
+            merged = leadImportRepository.copyAndMerge(
+                copy -> {
+                    Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+                    RecordChunk chunk;
+                    while ((chunk = reader.readChunk(properties.getChunkSize())) != null) {
+                        RecordChunk records = chunk;
+                        inFlight.add(executor.submit(() -> parse(records, header)));
+                        if (inFlight.size() >= 2 * parallelism) {
+                            write(inFlight.poll(), copy, progress, listener);
+                        }
+                    }
+                    while (!inFlight.isEmpty()) {
+                        write(inFlight.poll(), copy, progress, listener);
+                    }
+                },
+                user
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdownNow();
+        }
+        // The merge bypasses Hibernate and the services
+        entityManagerFactory.getCache().evict(Lead.class);
+        serializedDtoCache.invalidateAll();
+
+        LeadImportEventDTO complete = LeadImportEventDTO.complete(
+            progress.rows,
+            progress.accepted,
+            progress.rejected,
+            merged.getInserted(),
+            merged.getUpdated()
+        );
+        log.info(
+            "Imported {} leads: {} inserted, {} updated, {} rejected",
+            progress.accepted,
+            merged.getInserted(),
+            merged.getUpdated(),
+            progress.rejected
+        );
+        listener.accept(complete);
+        return complete;
+    }
+
+    private void write(Future<ParsedChunk> future, Writer copy, ImportProgress progress, Consumer<LeadImportEventDTO> listener)
+        throws IOException {
+        ParsedChunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing leads");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        copy.append(chunk.copyRows);
+        chunk.rejects.forEach(listener);
+        progress.rows += chunk.rows;
+        progress.accepted += chunk.rows - chunk.rejects.size();
+        progress.rejected += chunk.rejects.size();
+        listener.accept(LeadImportEventDTO.progress(progress.rows, progress.accepted, progress.rejected));
+    }
+
+    private ParsedChunk parse(RecordChunk records, CsvHeader header) {
+        ParsedChunk chunk = new ParsedChunk();
+        for (int i = 0; i < records.size; i++) {
+            String record = records.records[i];
+            if (record.isBlank()) {
+                continue;
+            }
+            chunk.rows++;
+            List<String> errors = new ArrayList<>();
+            LeadDTO lead = toLead(parseRecord(record), header, errors);
+            if (lead != null) {
+                Set<ConstraintViolation<LeadDTO>> violations = validator.validate(lead);
+                violations.forEach(violation -> errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+                if (lead.getName() != null && lead.getName().length() > MAX_NAME_LENGTH) {
+                    errors.add("name: size must be between 0 and " + MAX_NAME_LENGTH);
+                }
+            }
+            if (errors.isEmpty()) {
+                chunk.copyRows
+                    .append(records.lines[i])
+                    .append(",\"")
+                    .append(lead.getName().replace("\"", "\"\""))
+                    .append("\",")
+                    .append(lead.getPhone())
+                    .append('\n');
+            } else {
+                errors.sort(null);
+                chunk.rejects.add(LeadImportEventDTO.reject(records.lines[i], errors));
+            }
+        }
+        return chunk;
+    }
+
+    private static LeadDTO toLead(List<String> fields, CsvHeader header, List<String> errors) {
+        if (fields == null) {
+            errors.add("error.unreadable");
+            return null;
+        }
+        LeadDTO lead = new LeadDTO();
+        lead.setName(field(fields, header.nameIndex));
+        String phone = field(fields, header.phoneIndex);
+        if (phone != null) {
+            try {
+                lead.setPhone(Long.valueOf(phone.trim()));
+            } catch (NumberFormatException e) {
+                errors.add("phone: must be a number");
+            }
+        }
+        return lead;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() && !fields.get(index).isEmpty() ? fields.get(index) : null;
+    }
+
+    /**
+     * Split a CSV record into its fields.
+     *
+     * @return the fields, or {@code null} if a quoted field is not terminated.
+     */
+    static List<String> parseRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * The header of a CSV file of leads.
+     */
+    public static final class CsvHeader {
+
+        private final int nameIndex;
+
+        private final int phoneIndex;
+
+        CsvHeader(int nameIndex, int phoneIndex) {
+            this.nameIndex = nameIndex;
+            this.phoneIndex = phoneIndex;
+        }
+    }
+
+    /**
+     * Reads the records of a CSV file, which span several lines when a quoted field holds line breaks.
+     */
+    private static final class CsvRecordReader {
+
+        private final BufferedReader reader;
+
+        // The header is the first line
+        private long line = 1;
+
+        private long recordLine;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        RecordChunk readChunk(int size) throws IOException {
+            RecordChunk chunk = new RecordChunk(size);
+            String record;
+            while (chunk.size < size && (record = readRecord()) != null) {
+                chunk.lines[chunk.size] = recordLine;
+                chunk.records[chunk.size++] = record;
+            }
+            return chunk.size == 0 ? null : chunk;
+        }
+
+        private String readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            recordLine = ++line;
+            boolean quoted = isOpen(text, false);
+            if (!quoted) {
+                return text;
+            }
+            StringBuilder record = new StringBuilder(text);
+            while (quoted && (text = reader.readLine()) != null) {
+                line++;
+                record.append('\n').append(text);
+                quoted = isOpen(text, true);
+            }
+            return record.toString();
+        }
+
+        private static boolean isOpen(String text, boolean quoted) {
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '"') {
+                    quoted = !quoted;
+                }
+            }
+            return quoted;
+        }
+    }
+
+    /**
+     * Records read from the file, with the line each of them starts at.
+     */
+    private static final class RecordChunk {
+
+        private final long[] lines;
+
+        private final String[] records;
+
+        private int size;
+
+        RecordChunk(int capacity) {
+            this.lines = new long[capacity];
+            this.records = new String[capacity];
+        }
+    }
+
+    /**
+     * A chunk once parsed: its valid rows in {@code COPY} format, and its rejected rows.
+     */
+    private static final class ParsedChunk {
+
+        private final StringBuilder copyRows = new StringBuilder();
+
+        private final List<LeadImportEventDTO> rejects = new ArrayList<>();
+
+        private long rows;
+    }
+
+    private static final class ImportProgress {
+
+        private long rows;
+
+        private long accepted;
+
+        private long rejected;
+    }
+}
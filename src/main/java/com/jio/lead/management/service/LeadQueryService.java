@@ -0,0 +1,187 @@
+package com.jio.lead.management.service;
+
+import com.jio.lead.management.domain.*; // for static metamodels
+import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.repository.LeadRepository;
+import com.jio.lead.management.service.criteria.LeadCriteria;
+import com.jio.lead.management.service.dto.LeadDTO;
+import com.jio.lead.management.service.mapper.LeadMapper;
+import jakarta.persistence.criteria.JoinType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Lead} entities in the database.
+ * The main input is a {@link LeadCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page}, a {@link Slice} or a {@link Window} of {@link LeadDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LeadQueryService extends QueryService<Lead> {
+
+    private static final Logger log = LoggerFactory.getLogger(LeadQueryService.class);
+
+    private final LeadRepository leadRepository;
+
+    private final LeadMapper leadMapper;
+
+    public LeadQueryService(LeadRepository leadRepository, LeadMapper leadMapper) {
+        this.leadRepository = leadRepository;
+        this.leadMapper = leadMapper;
+    }
+
+    /**
+     * Return a {@link Page} of {@link LeadDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<LeadDTO> findByCriteria(LeadCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Lead> specification = createSpecification(criteria);
+        return leadRepository.findAll(specification, page).map(leadMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link LeadDTO} with their interests which matches the criteria from the database.
+     * The interests of the whole page are fetched with one extra query.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<LeadDTO> findByCriteriaWithEagerRelationships(LeadCriteria criteria, Pageable page) {
+        log.debug("find with interests by criteria : {}, page: {}", criteria, page);
+        final Specification<Lead> specification = createSpecification(criteria);
+        return leadRepository.fetchBagRelationships(leadRepository.findAll(specification, page)).map(leadMapper::toDtoWithInterests);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link LeadDTO} which matches the criteria from the database, reading one more row than
+     * requested to know if there is a next slice instead of counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<LeadDTO> findSliceByCriteria(LeadCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        return findSlice(createSpecification(criteria), page).map(leadMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link LeadDTO} with their interests which matches the criteria from the database.
+     * The interests of the whole slice are fetched with one extra query.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<LeadDTO> findSliceByCriteriaWithEagerRelationships(LeadCriteria criteria, Pageable page) {
+        log.debug("find slice with interests by criteria : {}, page: {}", criteria, page);
+        return leadRepository.fetchBagRelationships(findSlice(createSpecification(criteria), page)).map(leadMapper::toDtoWithInterests);
+    }
+
+    /**
+     * Return a {@link Window} of {@link LeadDTO} which matches the criteria from the database, seeking on the sort keys
+     * and the id instead of using an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the position after which to start, {@link ScrollPosition#keyset()} for the first window.
+     * @param sort the sort order, the id is appended to it to keep the order total.
+     * @param size the maximum number of entities in the window.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<LeadDTO> findByCriteria(LeadCriteria criteria, ScrollPosition position, Sort sort, int size) {
+        log.debug("find window by criteria : {}, after: {}", criteria, position);
+        final Specification<Lead> specification = createSpecification(criteria);
+        return leadRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position)).map(leadMapper::toDto);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(LeadCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Lead> specification = createSpecification(criteria);
+        return leadRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link LeadCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Lead> createSpecification(LeadCriteria criteria) {
+        Specification<Lead> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Lead_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Lead_.name));
+                if (criteria.getName().getStartsWith() != null) {
+                    specification = specification.and(startsWith(criteria.getName().getStartsWith()));
+                }
+            }
+            if (criteria.getPhone() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPhone(), Lead_.phone));
+            }
+            if (criteria.getCreatedAt() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCreatedAt(), Lead_.createdAt));
+            }
+            if (criteria.getCreatedBy() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCreatedBy(), Lead_.createdBy));
+            }
+            if (criteria.getUpdatedAt() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getUpdatedAt(), Lead_.updatedAt));
+            }
+            if (criteria.getUpdatedBy() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getUpdatedBy(), Lead_.updatedBy));
+            }
+            if (criteria.getInterestId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getInterestId(), root -> root.join(Lead_.interests, JoinType.LEFT).get(Interest_.id))
+                );
+            }
+        }
+        return specification;
+    }
+
+    private Slice<Lead> findSlice(Specification<Lead> specification, Pageable page) {
+        // An offset scroll position designates the last element already read, not the first one to read
+        ScrollPosition position = page.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getOffset() - 1);
+        Window<Lead> window = leadRepository.findBy(specification, query ->
+            query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position)
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext());
+    }
+
+    /**
+     * A case sensitive {@code like 'prefix%'}, which the index on the name column can answer.
+     */
+    private Specification<Lead> startsWith(String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, builder) -> builder.like(root.get(Lead_.name), pattern, '\\');
+    }
+}
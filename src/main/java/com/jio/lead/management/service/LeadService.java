@@ -1,7 +1,12 @@
 package com.jio.lead.management.service;
 
+import com.jio.lead.management.service.dto.ChangeDTO;
 import com.jio.lead.management.service.dto.LeadDTO;
+import com.jio.lead.management.service.dto.LeadDeletionDTO;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -18,18 +23,45 @@ public interface LeadService {
     LeadDTO save(LeadDTO leadDTO);
 
     /**
-     * Updates a lead.
+     * Save a chunk of leads in a single transaction, so that the inserts are sent as JDBC batches.
      *
-     * @param leadDTO the entity to update.
+     * @param leadDTOs the entities to save.
+     * @return the persisted entities, in the same order.
+     */
+    List<LeadDTO> saveAll(List<LeadDTO> leadDTOs);
+
+    /**
+     * Insert a lead, or update the lead with the same phone, in a single statement.
+     *
+     * @param leadDTO the entity to upsert.
      * @return the persisted entity.
      */
-    LeadDTO update(LeadDTO leadDTO);
+    LeadDTO upsert(LeadDTO leadDTO);
 
     /**
-     * Partially updates a lead.
+     * Upsert a chunk of leads in a single transaction, with one statement per lead.
+     *
+     * @param leadDTOs the entities to upsert.
+     * @return the persisted entities, in the same order.
+     */
+    List<LeadDTO> upsertAll(List<LeadDTO> leadDTOs);
+
+    /**
+     * Updates a lead, in a single statement. When the leadDTO has a version, the lead is only updated if it is still at
+     * this version.
+     *
+     * @param leadDTO the entity to update.
+     * @return the persisted entity with its new version, or empty if the entity does not exist.
+     * @throws com.jio.lead.management.service.VersionConflictException if the entity is no longer at the version.
+     */
+    Optional<LeadDTO> update(LeadDTO leadDTO);
+
+    /**
+     * Partially updates a lead, as {@link #update(LeadDTO)} does.
      *
      * @param leadDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity with its new version, or empty if the entity does not exist.
+     * @throws com.jio.lead.management.service.VersionConflictException if the entity is no longer at the version.
      */
     Optional<LeadDTO> partialUpdate(LeadDTO leadDTO);
 
@@ -41,6 +73,35 @@ public interface LeadService {
      */
     Page<LeadDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the changes of leads after a cursor: the leads updated and the leads deleted, in {@code (changedAt, id)} order.
+     * <p>
+     * Every write stamps the update instant of the leads it writes, and every deletion leaves a tombstone.
+     *
+     * @param changedAt the change instant of the cursor, or {@code null} to get the changes from the first one.
+     * @param id the id of the cursor, compared when the change instants are equal.
+     * @param before only get the changes made before this instant, which must be far enough in the past for the
+     * transactions writing earlier changes to have committed.
+     * @param size the maximum number of changes.
+     * @return the list of changes.
+     */
+    List<ChangeDTO<LeadDTO>> findChanges(Instant changedAt, Long id, Instant before, int size);
+
+    /**
+     * Get an estimate of the number of leads from the database planner statistics, which is cheap but may lag behind.
+     *
+     * @return the estimated number of entities.
+     */
+    long countEstimate();
+
+    /**
+     * Stream all the leads to the given consumer in id order, reading them with a database cursor so that memory stays
+     * constant whatever the number of leads.
+     *
+     * @param consumer the consumer of the entities.
+     */
+    void exportAll(Consumer<LeadDTO> consumer);
+
     /**
      * Get the "id" lead.
      *
@@ -49,10 +110,36 @@ public interface LeadService {
      */
     Optional<LeadDTO> findOne(Long id);
 
+    /**
+     * Get the "id" lead with its interests.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Optional<LeadDTO> findOneWithEagerRelationships(Long id);
+
+    /**
+     * Get the lead with the given phone.
+     *
+     * @param phone the phone of the entity.
+     * @return the entity.
+     */
+    Optional<LeadDTO> findOneByPhone(Long phone);
+
     /**
      * Delete the "id" lead.
      *
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Delete a chunk of leads with their interests, in a single transaction and with one statement per table.
+     *
+     * @param ids the ids of the leads to delete, or {@code null} to select them by creation date only.
+     * @param createdBefore if not {@code null}, only delete the leads created before this instant.
+     * @param limit the maximum number of leads to select by creation date.
+     * @return the number of deleted leads and interests.
+     */
+    LeadDeletionDTO deleteAll(List<Long> ids, Instant createdBefore, int limit);
 }
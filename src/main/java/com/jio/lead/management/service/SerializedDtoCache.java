@@ -0,0 +1,207 @@
+package com.jio.lead.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.service.dto.MutationDTO;
+import com.jio.lead.management.service.invalidation.CacheInvalidationBus;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of the DTOs of single leads and interests serialized to JSON, so that reading one again does not hydrate, map
+ * nor serialize it.
+ * <p>
+ * Entries are keyed by entity name and id, and hold the version of the DTO. They are invalidated once the mutations
+ * published by the write paths of the services commit, on this node and through the {@link CacheInvalidationBus} on the
+ * others, where they are received back here, and all at once by the bulk writes which bypass the services. An invalidation leaves a marker in place of the
+ * entry, so that a DTO read before the mutation committed cannot be stored after its invalidation.
+ */
+@Service
+public class SerializedDtoCache {
+
+    public static final String CACHE = "serializedDtos";
+
+    private final javax.cache.Cache<Object, Object> cache;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final SingleFlight singleFlight;
+
+    private final AtomicLong stamps = new AtomicLong();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public SerializedDtoCache(
+        javax.cache.CacheManager cacheManager,
+        ObjectMapper objectMapper,
+        CacheInvalidationBus cacheInvalidationBus,
+        SingleFlight singleFlight
+    ) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE));
+        this.objectMapper = objectMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.singleFlight = singleFlight;
+        cacheInvalidationBus.registerEvictor(CACHE, this::invalidateLocally);
+    }
+
+    /**
+     * Get a serialized DTO, from the cache or read and stored in it. Concurrent misses of the same DTO read it once.
+     *
+     * @param entityName the name of the entity, {@code lead} or {@code interest}.
+     * @param id the id of the entity.
+     * @param loader reads the DTO, on a cache miss.
+     * @param versionOf gets the version of the DTO.
+     * @param <T> the type of the DTO.
+     * @return the serialized DTO, or empty if there is no such entity.
+     */
+    public <T> Optional<SerializedDto> get(String entityName, Long id, Supplier<Optional<T>> loader, Function<T, Long> versionOf) {
+        String key = key(entityName, id);
+        long readGeneration = generation.get();
+        Object current = cache.get(key);
+        if (current instanceof SerializedDto serialized) {
+            return Optional.of(serialized);
+        }
+        return singleFlight.load(CACHE, key, () -> {
+            Optional<SerializedDto> loaded = serialize(loader.get(), versionOf);
+            loaded.ifPresent(serialized -> {
+                boolean stored = current == null ? cache.putIfAbsent(key, serialized) : cache.replace(key, current, serialized);
+                if (stored && readGeneration != generation.get()) {
+                    cache.remove(key, serialized);
+                }
+            });
+            return loaded;
+        });
+    }
+
+    /**
+     * Serialize a DTO without caching it.
+     *
+     * @param dto the DTO.
+     * @param versionOf gets the version of the DTO.
+     * @param <T> the type of the DTO.
+     * @return the serialized DTO, or empty if there is no DTO.
+     */
+    public <T> Optional<SerializedDto> serialize(Optional<T> dto, Function<T, Long> versionOf) {
+        return dto.map(value -> {
+            try {
+                return new SerializedDto(stamps.incrementAndGet(), versionOf.apply(value), objectMapper.writeValueAsBytes(value));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize " + value, e);
+            }
+        });
+    }
+
+    /**
+     * Invalidate the DTO of a mutated entity, once its transaction commits.
+     *
+     * @param mutation the mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMutation(MutationDTO mutation) {
+        String key = key(mutation.getEntityName(), mutation.getId());
+        invalidateLocally(key);
+        cacheInvalidationBus.publish(CACHE, key);
+    }
+
+    /**
+     * Invalidate all the DTOs, after a bulk write which bypasses the services.
+     */
+    public void invalidateAll() {
+        invalidateLocally(null);
+        cacheInvalidationBus.publish(CACHE, null);
+    }
+
+    /**
+     * Invalidate a DTO, or all of them for a {@code null} key, on this node only. The invalidations received from the other
+     * nodes go through here too, so that they leave the same marker.
+     */
+    private void invalidateLocally(@Nullable String key) {
+        if (key == null) {
+            generation.incrementAndGet();
+            cache.clear();
+        } else {
+            cache.put(key, new Invalidated(stamps.incrementAndGet()));
+        }
+    }
+
+    private static String key(String entityName, Long id) {
+        return entityName + ":" + id;
+    }
+
+    /**
+     * A DTO serialized to JSON.
+     */
+    public static final class SerializedDto implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long stamp;
+
+        private final Long version;
+
+        private final byte[] json;
+
+        SerializedDto(long stamp, Long version, byte[] json) {
+            this.stamp = stamp;
+            this.version = version;
+            this.json = json;
+        }
+
+        /**
+         * @return the version of the DTO.
+         */
+        public Long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the DTO serialized to JSON, not to be modified.
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SerializedDto other && stamp == other.stamp;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(stamp);
+        }
+    }
+
+    /**
+     * The marker left in place of an invalidated DTO.
+     */
+    private static final class Invalidated implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long stamp;
+
+        Invalidated(long stamp) {
+            this.stamp = stamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Invalidated other && stamp == other.stamp;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(stamp);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.jio.lead.management.service;
+
+import com.jio.lead.management.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces the concurrent loads of the same key, so that a burst of cache misses on a popular entry reads it once.
+ * <p>
+ * The first caller loads the value in its own thread, the callers arriving while it does wait for its value, or its
+ * exception, for up to {@code application.single-flight.timeout} and then load the value themselves. The loads are
+ * counted by outcome in the {@code single.flight.loads} meter.
+ * <p>
+ * Loads inside a transaction are not coalesced: they may have to see its uncommitted writes, and already hold a
+ * connection, so waiting would not spare the database.
+ */
+@Service
+public class SingleFlight {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration timeout;
+
+    public SingleFlight(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = applicationProperties.getSingleFlight().getTimeout();
+    }
+
+    /**
+     * Load a value, or wait for the load of the same key already in flight.
+     *
+     * @param name the name of the loaded values, such as the cache they are missing from.
+     * @param key the key of the value.
+     * @param loader loads the value.
+     * @param <T> the type of the value.
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String name, Object key, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        List<Object> flightKey = List.of(name, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(flightKey, flight);
+        if (inFlight == null) {
+            count(name, "loaded");
+            try {
+                T value = loader.get();
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(flightKey, flight);
+            }
+        }
+        try {
+            T value = (T) inFlight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            count(name, "coalesced");
+            return value;
+        } catch (TimeoutException e) {
+            log.debug("Load of {} {} still in flight after {}, loading it again", name, key, timeout);
+            count(name, "timed-out");
+            return loader.get();
+        } catch (ExecutionException e) {
+            count(name, "coalesced");
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the load of " + name + " " + key, e);
+        }
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder("single.flight.loads")
+            .description("Loads by outcome: loaded, coalesced with the load in flight, or loaded again after waiting for it")
+            .tag("name", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,62 @@
+package com.jio.lead.management.service;
+
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.TombstoneRepository;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the bookkeeping of the change feeds: their horizon, and the removal of their tombstones once their
+ * retention is over.
+ * <p>
+ * A client whose cursor is older than the retention could miss deletions, so the change feeds refuse such cursors.
+ */
+@Service
+public class TombstoneService {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstoneService.class);
+
+    private final TombstoneRepository tombstoneRepository;
+
+    private final ApplicationProperties.ChangeFeed properties;
+
+    public TombstoneService(TombstoneRepository tombstoneRepository, ApplicationProperties applicationProperties) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.properties = applicationProperties.getChangeFeed();
+    }
+
+    /**
+     * Get the instant before which the change feeds return the changes, far enough in the past for the transactions
+     * writing earlier changes to have committed: {@code application.change-feed.lag} ago, or as long before the start of
+     * the oldest transaction still writing, such as a bulk import, which stamps its changes after it started.
+     *
+     * @return the instant.
+     */
+    @Transactional(readOnly = true)
+    public Instant horizon() {
+        Duration lag = properties.getLag();
+        Instant horizon = Instant.now().minus(lag);
+        Instant oldestWrite = tombstoneRepository.findOldestWritingTransactionStart();
+        if (oldestWrite != null && oldestWrite.minus(lag).isBefore(horizon)) {
+            return oldestWrite.minus(lag);
+        }
+        return horizon;
+    }
+
+    /**
+     * Delete the tombstones older than their retention.
+     * <p>
+     * This is scheduled to get fired every day, at 03:00 (am).
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    @Transactional
+    public void removeExpiredTombstones() {
+        int deleted = tombstoneRepository.deleteByDeletedAtBefore(Instant.now().minus(properties.getTombstoneRetention()));
+        log.debug("Deleted {} expired tombstones", deleted);
+    }
+}
@@ -9,6 +9,7 @@ import com.jio.lead.management.security.AuthoritiesConstants;
 import com.jio.lead.management.security.SecurityUtils;
 import com.jio.lead.management.service.dto.AdminUserDTO;
 import com.jio.lead.management.service.dto.UserDTO;
+import com.jio.lead.management.service.invalidation.CacheInvalidationBus;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -21,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -41,16 +43,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final SingleFlight singleFlight;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        SingleFlight singleFlight
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.singleFlight = singleFlight;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -280,14 +290,22 @@ public class UserService {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Get a user with its authorities, concurrent lookups of the same login sharing one read.
+     * <p>
+     * This does not start a transaction, so that the lookups waiting for the one in flight hold no connection.
+     *
+     * @param login the login of the user.
+     * @return the user, or empty if there is no such user.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneWithAuthoritiesByLogin(login);
+        return singleFlight.load(UserRepository.USERS_BY_LOGIN_CACHE, login, () -> userRepository.findOneWithAuthoritiesByLogin(login));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getUserWithAuthoritiesByLogin);
     }
 
     /**
@@ -317,8 +335,10 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        cacheInvalidationBus.publish(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            cacheInvalidationBus.publish(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
         }
     }
 }
@@ -0,0 +1,15 @@
+package com.jio.lead.management.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Thrown when an entity is updated with a version which is no longer its current version.
+ */
+public class VersionConflictException extends OptimisticLockingFailureException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VersionConflictException(String entityName, Long id, Long version) {
+        super("The " + entityName + " " + id + " is no longer at version " + version);
+    }
+}
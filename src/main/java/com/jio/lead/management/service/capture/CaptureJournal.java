@@ -0,0 +1,338 @@
+package com.jio.lead.management.service.capture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of captured writes, stored in memory-mapped segment files of a fixed size.
+ * <p>
+ * Each record is written as its data length, a CRC32C checksum of its type and data, its type and its data. Records are
+ * numbered from 1 in append order, and a segment file is named after the number of its first record. When a record does
+ * not fit in the current segment, an end-of-segment marker is written and a new segment is started.
+ * <p>
+ * A single writer thread appends records and forces them to disk in groups; a single reader thread reads the forced
+ * records in order and acknowledges them with a checkpoint, which is persisted and frees the segments read entirely.
+ * When the journal is opened, the records after the checkpoint are read again, and a record torn by a crash ends the
+ * journal.
+ */
+final class CaptureJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final int END_OF_SEGMENT = -1;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final Deque<Segment> segments = new ConcurrentLinkedDeque<>();
+
+    private Segment writeSegment;
+
+    private int writePosition;
+
+    private long nextSequence;
+
+    private Segment readSegment;
+
+    private int readPosition;
+
+    private long nextReadSequence;
+
+    private volatile long flushedSequence;
+
+    private volatile long checkpointSequence;
+
+    /**
+     * Open the journal stored in the given directory, creating it if needed.
+     *
+     * @param directory the directory of the segment and checkpoint files.
+     * @param segmentSize the size of new segment files, in bytes.
+     * @throws IOException if the journal cannot be read.
+     */
+    CaptureJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        checkpointSequence = readCheckpoint();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(CaptureJournal::isSegment).sorted(Comparator.comparingLong(CaptureJournal::baseSequence)).toList()) {
+                segments.addLast(Segment.open(file, baseSequence(file)));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.addLast(Segment.create(segmentPath(checkpointSequence + 1), checkpointSequence + 1, segmentSize));
+        }
+        recover();
+        readSegment = segments.getFirst();
+        readPosition = 0;
+        nextReadSequence = readSegment.baseSequence;
+        while (nextReadSequence <= checkpointSequence && nextReadSequence <= flushedSequence) {
+            readNext();
+        }
+    }
+
+    /**
+     * Append a record, which is only visible to the reader once {@link #force()} returns.
+     *
+     * @param type the type of the record.
+     * @param data the data of the record, which must not be empty.
+     * @return the number of the record.
+     * @throws IOException if a new segment cannot be created.
+     */
+    long append(byte type, byte[] data) throws IOException {
+        int recordSize = RECORD_HEADER_SIZE + data.length;
+        if (data.length == 0 || recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Invalid journal record size: " + data.length);
+        }
+        // Keep room for the end-of-segment marker
+        if (writePosition + recordSize + Integer.BYTES > writeSegment.buffer.capacity()) {
+            roll();
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(type);
+        checksum.update(data);
+        MappedByteBuffer buffer = writeSegment.buffer;
+        buffer.putInt(writePosition + Integer.BYTES, (int) checksum.getValue());
+        buffer.put(writePosition + 2 * Integer.BYTES, type);
+        buffer.put(writePosition + RECORD_HEADER_SIZE, data);
+        buffer.putInt(writePosition, data.length);
+        writePosition += recordSize;
+        return nextSequence++;
+    }
+
+    /**
+     * Force the appended records to disk and make them visible to the reader.
+     */
+    void force() {
+        writeSegment.buffer.force();
+        flushedSequence = nextSequence - 1;
+    }
+
+    /**
+     * Read the next forced records.
+     *
+     * @param max the maximum number of records to read.
+     * @return the records, in append order; empty if all the forced records are already read.
+     */
+    List<JournalRecord> read(int max) {
+        long flushed = flushedSequence;
+        List<JournalRecord> records = new ArrayList<>();
+        while (records.size() < max && nextReadSequence <= flushed) {
+            records.add(readNext());
+        }
+        return records;
+    }
+
+    /**
+     * Persist that every record up to the given one is processed, and delete the segments holding only such records.
+     *
+     * @param sequence the number of the last processed record.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    void checkpoint(long sequence) throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        checkpointSequence = sequence;
+
+        while (true) {
+            Iterator<Segment> iterator = segments.iterator();
+            Segment first = iterator.next();
+            if (!iterator.hasNext() || first == readSegment || iterator.next().baseSequence > sequence + 1) {
+                return;
+            }
+            segments.removeFirst();
+            Files.deleteIfExists(first.path);
+        }
+    }
+
+    /**
+     * @return the number of forced records which are not checkpointed yet.
+     */
+    long pending() {
+        return Math.max(0, flushedSequence - checkpointSequence);
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void roll() throws IOException {
+        Segment next = Segment.create(segmentPath(nextSequence), nextSequence, segmentSize);
+        writeSegment.buffer.putInt(writePosition, END_OF_SEGMENT);
+        writeSegment.buffer.force();
+        segments.addLast(next);
+        writeSegment = next;
+        writePosition = 0;
+    }
+
+    private JournalRecord readNext() {
+        int length = readSegment.buffer.getInt(readPosition);
+        if (length == END_OF_SEGMENT) {
+            long base = nextReadSequence;
+            readSegment = segments.stream().filter(segment -> segment.baseSequence == base).findFirst().orElseThrow();
+            readPosition = 0;
+            length = readSegment.buffer.getInt(readPosition);
+        }
+        byte type = readSegment.buffer.get(readPosition + 2 * Integer.BYTES);
+        byte[] data = new byte[length];
+        readSegment.buffer.get(readPosition + RECORD_HEADER_SIZE, data);
+        readPosition += RECORD_HEADER_SIZE + length;
+        return new JournalRecord(nextReadSequence++, type, data);
+    }
+
+    /**
+     * Find the end of the journal: the first unwritten or torn record of the last segments.
+     */
+    private void recover() throws IOException {
+        Iterator<Segment> iterator = segments.iterator();
+        Segment segment = iterator.next();
+        long sequence = segment.baseSequence;
+        int position = 0;
+        while (true) {
+            MappedByteBuffer buffer = segment.buffer;
+            int length = position + Integer.BYTES <= buffer.capacity() ? buffer.getInt(position) : 0;
+            if (length == END_OF_SEGMENT && iterator.hasNext()) {
+                segment = iterator.next();
+                sequence = segment.baseSequence;
+                position = 0;
+            } else if (length > 0 && isValid(buffer, position, length)) {
+                position += RECORD_HEADER_SIZE + length;
+                sequence++;
+            } else {
+                break;
+            }
+        }
+        // Records after a torn one were never acknowledged, drop them
+        while (segments.getLast() != segment) {
+            Files.deleteIfExists(segments.removeLast().path);
+        }
+        for (int i = position; i < segment.buffer.capacity(); i++) {
+            segment.buffer.put(i, (byte) 0);
+        }
+        segment.buffer.force();
+        writeSegment = segment;
+        writePosition = position;
+        nextSequence = sequence;
+        flushedSequence = sequence - 1;
+    }
+
+    private static boolean isValid(MappedByteBuffer buffer, int position, int length) {
+        if (position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+            return false;
+        }
+        byte[] data = new byte[length];
+        buffer.get(position + RECORD_HEADER_SIZE, data);
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.get(position + 2 * Integer.BYTES));
+        checksum.update(data);
+        return (int) checksum.getValue() == buffer.getInt(position + Integer.BYTES);
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(checkpoint)).getLong();
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX));
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long baseSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A record read from the journal.
+     */
+    static final class JournalRecord {
+
+        private final long sequence;
+
+        private final byte type;
+
+        private final byte[] data;
+
+        JournalRecord(long sequence, byte type, byte[] data) {
+            this.sequence = sequence;
+            this.type = type;
+            this.data = data;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        byte[] getData() {
+            return data;
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+
+        private final long baseSequence;
+
+        private final MappedByteBuffer buffer;
+
+        private Segment(Path path, long baseSequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseSequence = baseSequence;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long baseSequence, int size) throws IOException {
+            try (
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+            ) {
+                return new Segment(path, baseSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        static Segment open(Path path, long baseSequence) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(path, baseSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            }
+        }
+    }
+}
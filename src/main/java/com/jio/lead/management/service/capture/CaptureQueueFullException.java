@@ -0,0 +1,18 @@
+package com.jio.lead.management.service.capture;
+
+/**
+ * Thrown when a write cannot be captured because the capture buffer is full, the journal is too slow to make it durable,
+ * or the capture service is stopped.
+ */
+public class CaptureQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CaptureQueueFullException() {
+        super("The capture buffer is full");
+    }
+
+    public CaptureQueueFullException(String message) {
+        super(message);
+    }
+}
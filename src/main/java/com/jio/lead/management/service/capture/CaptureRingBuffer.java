@@ -0,0 +1,110 @@
+package com.jio.lead.management.service.capture;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer multi-consumer queue backed by a ring buffer, which neither blocks nor locks.
+ * <p>
+ * Every slot carries a sequence number telling whether it is free for the producer at a given position or filled for
+ * the consumer at that position, so producers and consumers only compete on a compare-and-set of their own counter.
+ *
+ * @param <E> the element type.
+ */
+final class CaptureRingBuffer<E> {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity the minimum capacity, rounded up to a power of two.
+     */
+    CaptureRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + requestedCapacity);
+        }
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element at the tail of the queue.
+     *
+     * @param element the element to add.
+     * @return {@code false} if the queue is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (lag < 0) {
+                // The slot still holds the element written one lap ago
+                return false;
+            }
+            position = tail.get();
+        }
+    }
+
+    /**
+     * Remove the element at the head of the queue.
+     *
+     * @return the element, or {@code null} if the queue is empty.
+     */
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long lag = sequences.get(index) - (position + 1);
+            if (lag == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.set(index, null);
+                    sequences.set(index, position + capacity);
+                    return element;
+                }
+            } else if (lag < 0) {
+                // The slot has not been written yet
+                return null;
+            }
+            position = head.get();
+        }
+    }
+
+    /**
+     * @return the number of elements in the queue, which may already be stale when it is read.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
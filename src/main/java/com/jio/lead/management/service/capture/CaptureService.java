@@ -0,0 +1,431 @@
+package com.jio.lead.management.service.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.service.InterestService;
+import com.jio.lead.management.service.LeadService;
+import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.dto.LeadDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Service for capturing leads and interests write-behind, through a durable local journal.
+ * <p>
+ * Captured writes are put in a bounded in-memory buffer. A single journal writer takes out everything the buffer holds,
+ * appends it to the {@link CaptureJournal} and forces it to disk with a single fsync, then releases the callers: a
+ * capture returns once its write is durable, without waiting for the database. A capture still waiting for the journal
+ * after 10 seconds is rejected as when the buffer is full, so that no write is acknowledged before it is durable.
+ * <p>
+ * A single replayer reads the journal in order and saves consecutive writes of the same type in one transaction,
+ * waiting at most the configured linger for a batch to fill, then checkpoints them. While the database is unavailable
+ * the same batch is retried with an exponential backoff, so nothing is lost and the order is kept. When a batch fails
+ * for another reason its writes are saved one by one, so that a single invalid write does not take the others with it.
+ * <p>
+ * The service is stopped after the web server: the buffer is written to the journal before the application exits, and
+ * the writes not yet replayed are replayed at the next start.
+ */
+@Service
+public class CaptureService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CaptureService.class);
+
+    private static final byte TYPE_LEAD = 1;
+
+    private static final byte TYPE_INTEREST = 2;
+
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SYNC_TIMEOUT_SECONDS = 10;
+
+    private static final long MIN_RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LeadService leadService;
+
+    private final InterestService interestService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Capture properties;
+
+    private final CaptureRingBuffer<PendingCapture> buffer;
+
+    private final Counter acceptedCounter;
+
+    private final Counter rejectedCounter;
+
+    private final Counter savedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer syncTimer;
+
+    private final Timer replayTimer;
+
+    private volatile CaptureJournal journal;
+
+    private volatile Thread writer;
+
+    private Thread replayer;
+
+    private volatile boolean running;
+
+    public CaptureService(
+        LeadService leadService,
+        InterestService interestService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.leadService = leadService;
+        this.interestService = interestService;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getCapture();
+        this.buffer = new CaptureRingBuffer<>(properties.getBufferSize());
+        Gauge.builder("capture.queue.depth", buffer, CaptureRingBuffer::size)
+            .description("Number of captured writes waiting to be written to the journal")
+            .register(meterRegistry);
+        Gauge.builder("capture.queue.capacity", buffer, CaptureRingBuffer::capacity)
+            .description("Capacity of the capture buffer")
+            .register(meterRegistry);
+        Gauge.builder("capture.journal.pending", this, service -> service.journal == null ? 0 : service.journal.pending())
+            .description("Number of journaled writes waiting to be saved to the database")
+            .register(meterRegistry);
+        this.acceptedCounter = Counter.builder("capture.accepted").description("Writes captured in the journal").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("capture.rejected")
+            .description("Writes rejected because the capture buffer was full or the journal too slow")
+            .register(meterRegistry);
+        this.savedCounter = Counter.builder("capture.saved").description("Captured writes saved to the database").register(meterRegistry);
+        this.failedCounter = Counter.builder("capture.failed")
+            .description("Captured writes which could not be saved")
+            .register(meterRegistry);
+        this.syncTimer = Timer.builder("capture.journal.sync")
+            .description("Time taken to append a group of captured writes to the journal and force it to disk")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.replayTimer = Timer.builder("capture.replay")
+            .description("Time taken to save a batch of captured writes to the database")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if writes are captured write-behind, {@code false} if they must be saved synchronously.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Capture a validated lead, to be saved by the replayer.
+     *
+     * @param leadDTO the lead to save.
+     * @return the tracking id of the lead.
+     * @throws CaptureQueueFullException if the buffer is full, the journal is too slow or the service is stopped.
+     */
+    public UUID captureLead(LeadDTO leadDTO) {
+        return capture(TYPE_LEAD, leadDTO);
+    }
+
+    /**
+     * Capture a validated interest, to be saved by the replayer.
+     *
+     * @param interestDTO the interest to save.
+     * @return the tracking id of the interest.
+     * @throws CaptureQueueFullException if the buffer is full, the journal is too slow or the service is stopped.
+     */
+    public UUID captureInterest(InterestDTO interestDTO) {
+        return capture(TYPE_INTEREST, interestDTO);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(properties.getJournal().getDirectory());
+        try {
+            journal = new CaptureJournal(directory, properties.getJournal().getSegmentSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the capture journal in " + directory.toAbsolutePath(), e);
+        }
+        log.info(
+            "Starting write-behind capture, journal in {} with {} writes to replay, buffer of {} writes, batches of {} writes",
+            directory.toAbsolutePath(),
+            journal.pending(),
+            buffer.capacity(),
+            properties.getBatchSize()
+        );
+        running = true;
+        writer = new Thread(this::writeJournal, "capture-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        replayer = new Thread(this::replay, "capture-replayer");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        LockSupport.unpark(replayer);
+        try {
+            writer.join();
+            replayer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for the capture threads, {} writes are not journaled", buffer.size());
+            return;
+        }
+        journal.close();
+        if (journal.pending() > 0) {
+            log.info("{} journaled writes will be replayed at the next start", journal.pending());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server, so that no write is accepted once the journal writer is gone
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private UUID capture(byte type, Object dto) {
+        UUID trackingId = UUID.randomUUID();
+        PendingCapture pending = new PendingCapture(type, encode(trackingId, dto));
+        if (!running || !buffer.offer(pending)) {
+            rejectedCounter.increment();
+            throw new CaptureQueueFullException();
+        }
+        LockSupport.unpark(writer);
+        try {
+            pending.awaitJournaled(SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing to the capture journal", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not write to the capture journal", e);
+        } catch (TimeoutException e) {
+            rejectedCounter.increment();
+            if (pending.withdraw()) {
+                log.warn("Captured {} not journaled after {} s, rejecting it", trackingId, SYNC_TIMEOUT_SECONDS);
+            } else {
+                // Being written: it may still be saved, and saved again when retried
+                log.warn(
+                    "Captured {} not journaled after {} s, rejecting it although it may still be saved",
+                    trackingId,
+                    SYNC_TIMEOUT_SECONDS
+                );
+            }
+            throw new CaptureQueueFullException("The capture journal is too slow");
+        }
+        acceptedCounter.increment();
+        log.debug("Captured {} : {}", trackingId, dto);
+        return trackingId;
+    }
+
+    private void writeJournal() {
+        int groupSize = properties.getBatchSize();
+        List<PendingCapture> group = new ArrayList<>(groupSize);
+        while (running || !buffer.isEmpty()) {
+            PendingCapture pending = buffer.poll();
+            if (pending == null) {
+                // Capturing threads unpark the writer, the timeout only bounds the wait for the stop signal
+                LockSupport.parkNanos(WRITER_PARK_NANOS);
+                continue;
+            }
+            do {
+                // Unless its caller gave up waiting and withdrew it
+                if (pending.take()) {
+                    group.add(pending);
+                }
+            } while (group.size() < groupSize && (pending = buffer.poll()) != null);
+            if (group.isEmpty()) {
+                continue;
+            }
+
+            Timer.Sample sample = Timer.start();
+            try {
+                for (PendingCapture journaled : group) {
+                    journal.append(journaled.getType(), journaled.getData());
+                }
+                journal.force();
+                group.forEach(PendingCapture::journaled);
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not write {} captured writes to the journal", group.size(), e);
+                group.forEach(journaled -> journaled.failed(e));
+            } finally {
+                sample.stop(syncTimer);
+            }
+            group.clear();
+        }
+    }
+
+    private void replay() {
+        int batchSize = properties.getBatchSize();
+        long lingerNanos = properties.getLinger().toNanos();
+        long maxBackoffNanos = properties.getJournal().getMaxRetryBackoff().toNanos();
+        long backoffNanos = MIN_RETRY_BACKOFF_NANOS;
+        List<CaptureJournal.JournalRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (batch.isEmpty()) {
+                batch.addAll(journal.read(batchSize));
+                if (batch.size() < batchSize) {
+                    // Nothing or little to save: sleeping for the linger delays the next write no more than an unfilled batch would
+                    LockSupport.parkNanos(lingerNanos);
+                    batch.addAll(journal.read(batchSize - batch.size()));
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+            try {
+                while (!batch.isEmpty()) {
+                    saveRun(batch.subList(0, runLength(batch)));
+                }
+                backoffNanos = MIN_RETRY_BACKOFF_NANOS;
+            } catch (RuntimeException e) {
+                log.warn(
+                    "Could not replay the capture journal, retrying {} captured writes in {} ms: {}",
+                    batch.size(),
+                    TimeUnit.NANOSECONDS.toMillis(backoffNanos),
+                    e.getMessage()
+                );
+                LockSupport.parkNanos(backoffNanos);
+                backoffNanos = Math.min(backoffNanos * 2, maxBackoffNanos);
+            } catch (IOException e) {
+                // The writes are saved but may be saved again after a restart
+                log.error("Could not write the capture journal checkpoint", e);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Save consecutive journal records of the same type in one transaction, or one by one if the transaction fails for
+     * another reason than the database being unavailable, then checkpoint them and remove them from the run. Records
+     * saved one by one are checkpointed and removed one by one, so that they are not saved again when the run is retried
+     * because the database became unavailable midway.
+     */
+    private void saveRun(List<CaptureJournal.JournalRecord> run) throws IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            if (run.get(0).getType() == TYPE_LEAD) {
+                leadService.saveAll(run.stream().map(record -> decode(record, LeadDTO.class)).toList());
+            } else {
+                interestService.saveAll(run.stream().map(record -> decode(record, InterestDTO.class)).toList());
+            }
+            savedCounter.increment(run.size());
+            journal.checkpoint(run.get(run.size() - 1).getSequence());
+            run.clear();
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            log.warn("Saving a batch of {} captured writes failed, saving them one by one: {}", run.size(), e.getMessage());
+            for (Iterator<CaptureJournal.JournalRecord> records = run.iterator(); records.hasNext();) {
+                CaptureJournal.JournalRecord record = records.next();
+                saveOne(record);
+                journal.checkpoint(record.getSequence());
+                records.remove();
+            }
+        } finally {
+            sample.stop(replayTimer);
+        }
+    }
+
+    private void saveOne(CaptureJournal.JournalRecord record) {
+        try {
+            if (record.getType() == TYPE_LEAD) {
+                leadService.save(decode(record, LeadDTO.class));
+            } else {
+                interestService.save(decode(record, InterestDTO.class));
+            }
+            savedCounter.increment();
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            failedCounter.increment();
+            log.error("Captured write {} could not be saved: {}", trackingId(record), e.getMessage());
+        }
+    }
+
+    private static int runLength(List<CaptureJournal.JournalRecord> batch) {
+        byte type = batch.get(0).getType();
+        int length = 1;
+        while (length < batch.size() && batch.get(length).getType() == type) {
+            length++;
+        }
+        return length;
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return (
+            e instanceof TransientDataAccessException ||
+            e instanceof RecoverableDataAccessException ||
+            e instanceof DataAccessResourceFailureException ||
+            e instanceof CannotCreateTransactionException
+        );
+    }
+
+    /**
+     * Encode a write as its tracking id followed by its JSON representation.
+     */
+    private byte[] encode(UUID trackingId, Object dto) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(dto);
+            return ByteBuffer.allocate(2 * Long.BYTES + json.length)
+                .putLong(trackingId.getMostSignificantBits())
+                .putLong(trackingId.getLeastSignificantBits())
+                .put(json)
+                .array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T decode(CaptureJournal.JournalRecord record, Class<T> dtoType) {
+        try {
+            byte[] data = record.getData();
+            return objectMapper.readValue(data, 2 * Long.BYTES, data.length - 2 * Long.BYTES, dtoType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UUID trackingId(CaptureJournal.JournalRecord record) {
+        ByteBuffer data = ByteBuffer.wrap(record.getData());
+        return new UUID(data.getLong(), data.getLong());
+    }
+}
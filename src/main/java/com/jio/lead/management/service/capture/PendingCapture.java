@@ -0,0 +1,64 @@
+package com.jio.lead.management.service.capture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An encoded write waiting in the capture buffer, and the signal its caller waits for once it is journaled.
+ */
+final class PendingCapture {
+
+    private final byte type;
+
+    private final byte[] data;
+
+    private final CompletableFuture<Void> journaled = new CompletableFuture<>();
+
+    private final AtomicBoolean taken = new AtomicBoolean();
+
+    PendingCapture(byte type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    byte getType() {
+        return type;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Take the write out of the buffer to journal it, unless its caller withdrew it.
+     *
+     * @return {@code true} if the write is to be journaled.
+     */
+    boolean take() {
+        return taken.compareAndSet(false, true);
+    }
+
+    /**
+     * Withdraw the write when its caller gives up waiting, unless the journal writer already took it.
+     *
+     * @return {@code true} if the write will not be journaled.
+     */
+    boolean withdraw() {
+        return taken.compareAndSet(false, true);
+    }
+
+    void journaled() {
+        journaled.complete(null);
+    }
+
+    void failed(Throwable cause) {
+        journaled.completeExceptionally(cause);
+    }
+
+    void awaitJournaled(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        journaled.get(timeout, unit);
+    }
+}
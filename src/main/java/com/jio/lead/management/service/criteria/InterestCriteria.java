@@ -0,0 +1,360 @@
+package com.jio.lead.management.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.jio.lead.management.domain.Interest} entity. This class is used
+ * in {@link com.jio.lead.management.web.rest.InterestResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /interests?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class InterestCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter category;
+
+    private StringFilter brand;
+
+    private StringFilter articleId;
+
+    private StringFilter orderId;
+
+    private BooleanFilter isPurchased;
+
+    private InstantFilter createdAt;
+
+    private StringFilter createdBy;
+
+    private InstantFilter updatedAt;
+
+    private StringFilter updatedBy;
+
+    private LongFilter leadId;
+
+    private Boolean distinct;
+
+    public InterestCriteria() {}
+
+    public InterestCriteria(InterestCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.category = other.optionalCategory().map(StringFilter::copy).orElse(null);
+        this.brand = other.optionalBrand().map(StringFilter::copy).orElse(null);
+        this.articleId = other.optionalArticleId().map(StringFilter::copy).orElse(null);
+        this.orderId = other.optionalOrderId().map(StringFilter::copy).orElse(null);
+        this.isPurchased = other.optionalIsPurchased().map(BooleanFilter::copy).orElse(null);
+        this.createdAt = other.optionalCreatedAt().map(InstantFilter::copy).orElse(null);
+        this.createdBy = other.optionalCreatedBy().map(StringFilter::copy).orElse(null);
+        this.updatedAt = other.optionalUpdatedAt().map(InstantFilter::copy).orElse(null);
+        this.updatedBy = other.optionalUpdatedBy().map(StringFilter::copy).orElse(null);
+        this.leadId = other.optionalLeadId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public InterestCriteria copy() {
+        return new InterestCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getCategory() {
+        return category;
+    }
+
+    public Optional<StringFilter> optionalCategory() {
+        return Optional.ofNullable(category);
+    }
+
+    public StringFilter category() {
+        if (category == null) {
+            setCategory(new StringFilter());
+        }
+        return category;
+    }
+
+    public void setCategory(StringFilter category) {
+        this.category = category;
+    }
+
+    public StringFilter getBrand() {
+        return brand;
+    }
+
+    public Optional<StringFilter> optionalBrand() {
+        return Optional.ofNullable(brand);
+    }
+
+    public StringFilter brand() {
+        if (brand == null) {
+            setBrand(new StringFilter());
+        }
+        return brand;
+    }
+
+    public void setBrand(StringFilter brand) {
+        this.brand = brand;
+    }
+
+    public StringFilter getArticleId() {
+        return articleId;
+    }
+
+    public Optional<StringFilter> optionalArticleId() {
+        return Optional.ofNullable(articleId);
+    }
+
+    public StringFilter articleId() {
+        if (articleId == null) {
+            setArticleId(new StringFilter());
+        }
+        return articleId;
+    }
+
+    public void setArticleId(StringFilter articleId) {
+        this.articleId = articleId;
+    }
+
+    public StringFilter getOrderId() {
+        return orderId;
+    }
+
+    public Optional<StringFilter> optionalOrderId() {
+        return Optional.ofNullable(orderId);
+    }
+
+    public StringFilter orderId() {
+        if (orderId == null) {
+            setOrderId(new StringFilter());
+        }
+        return orderId;
+    }
+
+    public void setOrderId(StringFilter orderId) {
+        this.orderId = orderId;
+    }
+
+    public BooleanFilter getIsPurchased() {
+        return isPurchased;
+    }
+
+    public Optional<BooleanFilter> optionalIsPurchased() {
+        return Optional.ofNullable(isPurchased);
+    }
+
+    public BooleanFilter isPurchased() {
+        if (isPurchased == null) {
+            setIsPurchased(new BooleanFilter());
+        }
+        return isPurchased;
+    }
+
+    public void setIsPurchased(BooleanFilter isPurchased) {
+        this.isPurchased = isPurchased;
+    }
+
+    public InstantFilter getCreatedAt() {
+        return createdAt;
+    }
+
+    public Optional<InstantFilter> optionalCreatedAt() {
+        return Optional.ofNullable(createdAt);
+    }
+
+    public InstantFilter createdAt() {
+        if (createdAt == null) {
+            setCreatedAt(new InstantFilter());
+        }
+        return createdAt;
+    }
+
+    public void setCreatedAt(InstantFilter createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public StringFilter getCreatedBy() {
+        return createdBy;
+    }
+
+    public Optional<StringFilter> optionalCreatedBy() {
+        return Optional.ofNullable(createdBy);
+    }
+
+    public StringFilter createdBy() {
+        if (createdBy == null) {
+            setCreatedBy(new StringFilter());
+        }
+        return createdBy;
+    }
+
+    public void setCreatedBy(StringFilter createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public InstantFilter getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Optional<InstantFilter> optionalUpdatedAt() {
+        return Optional.ofNullable(updatedAt);
+    }
+
+    public InstantFilter updatedAt() {
+        if (updatedAt == null) {
+            setUpdatedAt(new InstantFilter());
+        }
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(InstantFilter updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public StringFilter getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public Optional<StringFilter> optionalUpdatedBy() {
+        return Optional.ofNullable(updatedBy);
+    }
+
+    public StringFilter updatedBy() {
+        if (updatedBy == null) {
+            setUpdatedBy(new StringFilter());
+        }
+        return updatedBy;
+    }
+
+    public void setUpdatedBy(StringFilter updatedBy) {
+        this.updatedBy = updatedBy;
+    }
+
+    public LongFilter getLeadId() {
+        return leadId;
+    }
+
+    public Optional<LongFilter> optionalLeadId() {
+        return Optional.ofNullable(leadId);
+    }
+
+    public LongFilter leadId() {
+        if (leadId == null) {
+            setLeadId(new LongFilter());
+        }
+        return leadId;
+    }
+
+    public void setLeadId(LongFilter leadId) {
+        this.leadId = leadId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final InterestCriteria that = (InterestCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(category, that.category) &&
+            Objects.equals(brand, that.brand) &&
+            Objects.equals(articleId, that.articleId) &&
+            Objects.equals(orderId, that.orderId) &&
+            Objects.equals(isPurchased, that.isPurchased) &&
+            Objects.equals(createdAt, that.createdAt) &&
+            Objects.equals(createdBy, that.createdBy) &&
+            Objects.equals(updatedAt, that.updatedAt) &&
+            Objects.equals(updatedBy, that.updatedBy) &&
+            Objects.equals(leadId, that.leadId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id,
+            category,
+            brand,
+            articleId,
+            orderId,
+            isPurchased,
+            createdAt,
+            createdBy,
+            updatedAt,
+            updatedBy,
+            leadId,
+            distinct
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InterestCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalCategory().map(f -> "category=" + f + ", ").orElse("") +
+            optionalBrand().map(f -> "brand=" + f + ", ").orElse("") +
+            optionalArticleId().map(f -> "articleId=" + f + ", ").orElse("") +
+            optionalOrderId().map(f -> "orderId=" + f + ", ").orElse("") +
+            optionalIsPurchased().map(f -> "isPurchased=" + f + ", ").orElse("") +
+            optionalCreatedAt().map(f -> "createdAt=" + f + ", ").orElse("") +
+            optionalCreatedBy().map(f -> "createdBy=" + f + ", ").orElse("") +
+            optionalUpdatedAt().map(f -> "updatedAt=" + f + ", ").orElse("") +
+            optionalUpdatedBy().map(f -> "updatedBy=" + f + ", ").orElse("") +
+            optionalLeadId().map(f -> "leadId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
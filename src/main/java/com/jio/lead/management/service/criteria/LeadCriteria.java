@@ -0,0 +1,275 @@
+package com.jio.lead.management.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.jio.lead.management.domain.Lead} entity. This class is used
+ * in {@link com.jio.lead.management.web.rest.LeadResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /leads?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class LeadCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter name;
+
+    private LongFilter phone;
+
+    private InstantFilter createdAt;
+
+    private StringFilter createdBy;
+
+    private InstantFilter updatedAt;
+
+    private StringFilter updatedBy;
+
+    private LongFilter interestId;
+
+    private Boolean distinct;
+
+    public LeadCriteria() {}
+
+    public LeadCriteria(LeadCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.name = other.optionalName().map(PrefixStringFilter::copy).orElse(null);
+        this.phone = other.optionalPhone().map(LongFilter::copy).orElse(null);
+        this.createdAt = other.optionalCreatedAt().map(InstantFilter::copy).orElse(null);
+        this.createdBy = other.optionalCreatedBy().map(StringFilter::copy).orElse(null);
+        this.updatedAt = other.optionalUpdatedAt().map(InstantFilter::copy).orElse(null);
+        this.updatedBy = other.optionalUpdatedBy().map(StringFilter::copy).orElse(null);
+        this.interestId = other.optionalInterestId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public LeadCriteria copy() {
+        return new LeadCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getName() {
+        return name;
+    }
+
+    public Optional<PrefixStringFilter> optionalName() {
+        return Optional.ofNullable(name);
+    }
+
+    public PrefixStringFilter name() {
+        if (name == null) {
+            setName(new PrefixStringFilter());
+        }
+        return name;
+    }
+
+    public void setName(PrefixStringFilter name) {
+        this.name = name;
+    }
+
+    public LongFilter getPhone() {
+        return phone;
+    }
+
+    public Optional<LongFilter> optionalPhone() {
+        return Optional.ofNullable(phone);
+    }
+
+    public LongFilter phone() {
+        if (phone == null) {
+            setPhone(new LongFilter());
+        }
+        return phone;
+    }
+
+    public void setPhone(LongFilter phone) {
+        this.phone = phone;
+    }
+
+    public InstantFilter getCreatedAt() {
+        return createdAt;
+    }
+
+    public Optional<InstantFilter> optionalCreatedAt() {
+        return Optional.ofNullable(createdAt);
+    }
+
+    public InstantFilter createdAt() {
+        if (createdAt == null) {
+            setCreatedAt(new InstantFilter());
+        }
+        return createdAt;
+    }
+
+    public void setCreatedAt(InstantFilter createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public StringFilter getCreatedBy() {
+        return createdBy;
+    }
+
+    public Optional<StringFilter> optionalCreatedBy() {
+        return Optional.ofNullable(createdBy);
+    }
+
+    public StringFilter createdBy() {
+        if (createdBy == null) {
+            setCreatedBy(new StringFilter());
+        }
+        return createdBy;
+    }
+
+    public void setCreatedBy(StringFilter createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public InstantFilter getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Optional<InstantFilter> optionalUpdatedAt() {
+        return Optional.ofNullable(updatedAt);
+    }
+
+    public InstantFilter updatedAt() {
+        if (updatedAt == null) {
+            setUpdatedAt(new InstantFilter());
+        }
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(InstantFilter updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public StringFilter getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public Optional<StringFilter> optionalUpdatedBy() {
+        return Optional.ofNullable(updatedBy);
+    }
+
+    public StringFilter updatedBy() {
+        if (updatedBy == null) {
+            setUpdatedBy(new StringFilter());
+        }
+        return updatedBy;
+    }
+
+    public void setUpdatedBy(StringFilter updatedBy) {
+        this.updatedBy = updatedBy;
+    }
+
+    public LongFilter getInterestId() {
+        return interestId;
+    }
+
+    public Optional<LongFilter> optionalInterestId() {
+        return Optional.ofNullable(interestId);
+    }
+
+    public LongFilter interestId() {
+        if (interestId == null) {
+            setInterestId(new LongFilter());
+        }
+        return interestId;
+    }
+
+    public void setInterestId(LongFilter interestId) {
+        this.interestId = interestId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final LeadCriteria that = (LeadCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(phone, that.phone) &&
+            Objects.equals(createdAt, that.createdAt) &&
+            Objects.equals(createdBy, that.createdBy) &&
+            Objects.equals(updatedAt, that.updatedAt) &&
+            Objects.equals(updatedBy, that.updatedBy) &&
+            Objects.equals(interestId, that.interestId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, phone, createdAt, createdBy, updatedAt, updatedBy, interestId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LeadCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalName().map(f -> "name=" + f + ", ").orElse("") +
+            optionalPhone().map(f -> "phone=" + f + ", ").orElse("") +
+            optionalCreatedAt().map(f -> "createdAt=" + f + ", ").orElse("") +
+            optionalCreatedBy().map(f -> "createdBy=" + f + ", ").orElse("") +
+            optionalUpdatedAt().map(f -> "updatedAt=" + f + ", ").orElse("") +
+            optionalUpdatedBy().map(f -> "updatedBy=" + f + ", ").orElse("") +
+            optionalInterestId().map(f -> "interestId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
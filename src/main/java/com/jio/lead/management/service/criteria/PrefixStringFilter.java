@@ -0,0 +1,63 @@
+package com.jio.lead.management.service.criteria;
+
+import java.util.Objects;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * {@link StringFilter} which can also match the beginning of the value.
+ * <p>
+ * Unlike {@code contains}, {@code startsWith} is case sensitive and can be answered from an index on the column.
+ */
+public class PrefixStringFilter extends StringFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private String startsWith;
+
+    public PrefixStringFilter() {}
+
+    public PrefixStringFilter(PrefixStringFilter filter) {
+        super(filter);
+        this.startsWith = filter.startsWith;
+    }
+
+    @Override
+    public PrefixStringFilter copy() {
+        return new PrefixStringFilter(this);
+    }
+
+    public String getStartsWith() {
+        return startsWith;
+    }
+
+    public PrefixStringFilter setStartsWith(String startsWith) {
+        this.startsWith = startsWith;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final PrefixStringFilter that = (PrefixStringFilter) o;
+        return Objects.equals(startsWith, that.startsWith);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), startsWith);
+    }
+
+    @Override
+    public String toString() {
+        String filter = super.toString();
+        return filter.substring(0, filter.length() - 1) + (getStartsWith() != null ? "startsWith=" + getStartsWith() + ", " : "") + "]";
+    }
+}
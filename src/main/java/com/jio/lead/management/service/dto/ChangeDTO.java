@@ -0,0 +1,86 @@
+package com.jio.lead.management.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO for a change of an entity in a change feed: its latest state, or a tombstone if it was deleted.
+ *
+ * @param <T> the DTO type of the entity.
+ */
+public class ChangeDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant changedAt;
+
+    private boolean deleted;
+
+    private T entity;
+
+    public ChangeDTO() {}
+
+    public ChangeDTO(Long id, Instant changedAt, boolean deleted, T entity) {
+        this.id = id;
+        this.changedAt = changedAt;
+        this.deleted = deleted;
+        this.entity = entity;
+    }
+
+    /**
+     * @return the id of the entity.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the instant of the last update, or of the deletion, of the entity.
+     */
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * @return whether the entity was deleted.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    /**
+     * @return the entity, {@code null} if it was deleted.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    public void setEntity(T entity) {
+        this.entity = entity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangeDTO{" +
+            "id=" + id +
+            ", changedAt='" + changedAt + "'" +
+            ", deleted=" + deleted +
+            ", entity=" + entity +
+            "}";
+    }
+}
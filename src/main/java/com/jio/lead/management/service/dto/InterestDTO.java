@@ -32,6 +32,8 @@ public class InterestDTO implements Serializable {
 
     private String updatedBy;
 
+    private Long version;
+
     private LeadDTO lead;
 
     public Long getId() {
@@ -114,6 +116,14 @@ public class InterestDTO implements Serializable {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LeadDTO getLead() {
         return lead;
     }
@@ -157,6 +167,7 @@ public class InterestDTO implements Serializable {
             ", createdBy='" + getCreatedBy() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", updatedBy='" + getUpdatedBy() + "'" +
+            ", version=" + getVersion() +
             ", lead=" + getLead() +
             "}";
     }
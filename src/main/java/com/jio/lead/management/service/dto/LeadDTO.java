@@ -1,9 +1,11 @@
 package com.jio.lead.management.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A DTO for the {@link com.jio.lead.management.domain.Lead} entity.
@@ -29,6 +31,11 @@ public class LeadDTO implements Serializable {
 
     private String updatedBy;
 
+    private Long version;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Set<InterestDTO> interests;
+
     public Long getId() {
         return id;
     }
@@ -85,6 +92,22 @@ public class LeadDTO implements Serializable {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Set<InterestDTO> getInterests() {
+        return interests;
+    }
+
+    public void setInterests(Set<InterestDTO> interests) {
+        this.interests = interests;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -117,6 +140,7 @@ public class LeadDTO implements Serializable {
             ", createdBy='" + getCreatedBy() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", updatedBy='" + getUpdatedBy() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
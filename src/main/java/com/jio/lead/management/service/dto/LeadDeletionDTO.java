@@ -0,0 +1,65 @@
+package com.jio.lead.management.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the outcome of a bulk deletion of leads with their interests.
+ */
+public class LeadDeletionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long leads;
+
+    private long interests;
+
+    public LeadDeletionDTO() {}
+
+    public LeadDeletionDTO(long leads, long interests) {
+        this.leads = leads;
+        this.interests = interests;
+    }
+
+    /**
+     * Add the outcome of another chunk of deletions to this one.
+     *
+     * @param other the outcome of the other chunk.
+     * @return this outcome.
+     */
+    public LeadDeletionDTO add(LeadDeletionDTO other) {
+        leads += other.leads;
+        interests += other.interests;
+        return this;
+    }
+
+    /**
+     * @return the number of deleted leads.
+     */
+    public long getLeads() {
+        return leads;
+    }
+
+    public void setLeads(long leads) {
+        this.leads = leads;
+    }
+
+    /**
+     * @return the number of deleted interests.
+     */
+    public long getInterests() {
+        return interests;
+    }
+
+    public void setInterests(long interests) {
+        this.interests = interests;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LeadDeletionDTO{" +
+            "leads=" + leads +
+            ", interests=" + interests +
+            "}";
+    }
+}
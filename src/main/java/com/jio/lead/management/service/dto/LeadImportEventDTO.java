@@ -0,0 +1,141 @@
+package com.jio.lead.management.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO for the events reported while leads are imported from a CSV file: a rejected row, the progress of the import,
+ * or its outcome once complete.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeadImportEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        REJECT,
+        PROGRESS,
+        COMPLETE,
+    }
+
+    private Type type;
+
+    private Long line;
+
+    private List<String> errors;
+
+    private Long rows;
+
+    private Long accepted;
+
+    private Long rejected;
+
+    private Long inserted;
+
+    private Long updated;
+
+    public static LeadImportEventDTO reject(long line, List<String> errors) {
+        LeadImportEventDTO event = new LeadImportEventDTO();
+        event.setType(Type.REJECT);
+        event.setLine(line);
+        event.setErrors(errors);
+        return event;
+    }
+
+    public static LeadImportEventDTO progress(long rows, long accepted, long rejected) {
+        LeadImportEventDTO event = new LeadImportEventDTO();
+        event.setType(Type.PROGRESS);
+        event.setRows(rows);
+        event.setAccepted(accepted);
+        event.setRejected(rejected);
+        return event;
+    }
+
+    public static LeadImportEventDTO complete(long rows, long accepted, long rejected, long inserted, long updated) {
+        LeadImportEventDTO event = progress(rows, accepted, rejected);
+        event.setType(Type.COMPLETE);
+        event.setInserted(inserted);
+        event.setUpdated(updated);
+        return event;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getLine() {
+        return line;
+    }
+
+    public void setLine(Long line) {
+        this.line = line;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public Long getRows() {
+        return rows;
+    }
+
+    public void setRows(Long rows) {
+        this.rows = rows;
+    }
+
+    public Long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(Long accepted) {
+        this.accepted = accepted;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(Long inserted) {
+        this.inserted = inserted;
+    }
+
+    public Long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(Long updated) {
+        this.updated = updated;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LeadImportEventDTO{" +
+            "type=" + type +
+            ", line=" + line +
+            ", errors=" + errors +
+            ", rows=" + rows +
+            ", accepted=" + accepted +
+            ", rejected=" + rejected +
+            ", inserted=" + inserted +
+            ", updated=" + updated +
+            "}";
+    }
+}
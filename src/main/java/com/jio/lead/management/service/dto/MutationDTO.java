@@ -0,0 +1,102 @@
+package com.jio.lead.management.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A DTO for a committed mutation of a lead or an interest, pushed to the subscribers of the mutation stream.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MutationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+    private String entityName;
+
+    private Type type;
+
+    private Long id;
+
+    private Serializable entity;
+
+    public MutationDTO() {}
+
+    public MutationDTO(String entityName, Type type, Long id, Serializable entity) {
+        this.entityName = entityName;
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    /**
+     * A saved entity is created at its first version, and updated at the next ones.
+     */
+    public static MutationDTO saved(String entityName, Long id, Long version, Serializable entity) {
+        return new MutationDTO(entityName, version != null && version == 0 ? Type.CREATED : Type.UPDATED, id, entity);
+    }
+
+    public static MutationDTO updated(String entityName, Long id) {
+        return new MutationDTO(entityName, Type.UPDATED, id, null);
+    }
+
+    public static MutationDTO deleted(String entityName, Long id) {
+        return new MutationDTO(entityName, Type.DELETED, id, null);
+    }
+
+    /**
+     * @return the name of the mutated entity, {@code lead} or {@code interest}.
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the id of the mutated entity.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the entity as written, {@code null} if it was deleted or updated in bulk.
+     */
+    public Serializable getEntity() {
+        return entity;
+    }
+
+    public void setEntity(Serializable entity) {
+        this.entity = entity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MutationDTO{" +
+            "entityName='" + entityName + "'" +
+            ", type=" + type +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,43 @@
+package com.jio.lead.management.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A DTO for the confirmation by the order system that the article of an order was purchased.
+ */
+public class PurchaseConfirmationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private String orderId;
+
+    @NotNull
+    private String articleId;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(String articleId) {
+        this.articleId = articleId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PurchaseConfirmationDTO{" +
+            "orderId='" + getOrderId() + "'" +
+            ", articleId='" + getArticleId() + "'" +
+            "}";
+    }
+}
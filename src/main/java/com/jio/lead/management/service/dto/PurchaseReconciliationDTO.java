@@ -0,0 +1,81 @@
+package com.jio.lead.management.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the outcome of the reconciliation of purchase confirmations with interests.
+ */
+public class PurchaseReconciliationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long matched;
+
+    private long unmatched;
+
+    private long purchased;
+
+    public PurchaseReconciliationDTO() {}
+
+    public PurchaseReconciliationDTO(long matched, long unmatched, long purchased) {
+        this.matched = matched;
+        this.unmatched = unmatched;
+        this.purchased = purchased;
+    }
+
+    /**
+     * Add the outcome of another chunk of confirmations to this one.
+     *
+     * @param other the outcome of the other chunk.
+     * @return this outcome.
+     */
+    public PurchaseReconciliationDTO add(PurchaseReconciliationDTO other) {
+        matched += other.matched;
+        unmatched += other.unmatched;
+        purchased += other.purchased;
+        return this;
+    }
+
+    /**
+     * @return the number of confirmations which match at least one interest.
+     */
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    /**
+     * @return the number of confirmations which match no interest.
+     */
+    public long getUnmatched() {
+        return unmatched;
+    }
+
+    public void setUnmatched(long unmatched) {
+        this.unmatched = unmatched;
+    }
+
+    /**
+     * @return the number of interests marked as purchased, those already purchased are not counted.
+     */
+    public long getPurchased() {
+        return purchased;
+    }
+
+    public void setPurchased(long purchased) {
+        this.purchased = purchased;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PurchaseReconciliationDTO{" +
+            "matched=" + matched +
+            ", unmatched=" + unmatched +
+            ", purchased=" + purchased +
+            "}";
+    }
+}
@@ -0,0 +1,52 @@
+package com.jio.lead.management.service.impl;
+
+import com.jio.lead.management.repository.TombstoneRepository;
+import com.jio.lead.management.service.dto.ChangeDTO;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Helpers for tracking the changes of leads and interests: the change feeds read them in {@code (updatedAt, id)} order,
+ * and the mutation stream pushes them as they are committed.
+ */
+final class ChangeTracking {
+
+    static final String LEAD = "lead";
+
+    static final String INTEREST = "interest";
+
+    private static final Comparator<ChangeDTO<?>> CHANGE_ORDER = Comparator.<ChangeDTO<?>, Instant>comparing(ChangeDTO::getChangedAt)
+        .thenComparing(ChangeDTO::getId);
+
+    private ChangeTracking() {}
+
+    /**
+     * Get the instant stamped as update or deletion instant by every write, whatever the client sent, so that the change
+     * feeds see every change. It is truncated to the precision of the database, so that the written entity and the one
+     * read back have the same instant.
+     *
+     * @return the current instant.
+     */
+    static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Merge the updated entities and the tombstones read after the same cursor, each in change order.
+     *
+     * @param updates the updated entities.
+     * @param tombstones the tombstones.
+     * @param size the maximum number of changes.
+     * @return the first changes, in change order.
+     */
+    static <T> List<ChangeDTO<T>> merge(List<ChangeDTO<T>> updates, List<TombstoneRepository.Tombstone> tombstones, int size) {
+        List<ChangeDTO<T>> changes = new ArrayList<>(updates.size() + tombstones.size());
+        changes.addAll(updates);
+        tombstones.forEach(tombstone -> changes.add(new ChangeDTO<>(tombstone.getEntityId(), tombstone.getDeletedAt(), true, null)));
+        changes.sort(CHANGE_ORDER);
+        return changes.size() > size ? new ArrayList<>(changes.subList(0, size)) : changes;
+    }
+}
@@ -1,16 +1,39 @@
 package com.jio.lead.management.service.impl;
 
+import com.jio.lead.management.config.Constants;
 import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.repository.InterestPurchaseRepository;
 import com.jio.lead.management.repository.InterestRepository;
+import com.jio.lead.management.repository.TombstoneRepository;
+import com.jio.lead.management.security.SecurityUtils;
+import com.jio.lead.management.service.InterestArchiveService;
 import com.jio.lead.management.service.InterestService;
+import com.jio.lead.management.service.VersionConflictException;
+import com.jio.lead.management.service.dto.ChangeDTO;
 import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.dto.MutationDTO;
+import com.jio.lead.management.service.dto.PurchaseConfirmationDTO;
+import com.jio.lead.management.service.dto.PurchaseReconciliationDTO;
 import com.jio.lead.management.service.mapper.InterestMapper;
+import com.jio.lead.management.service.outbox.OutboxService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -26,40 +49,191 @@ public class InterestServiceImpl implements InterestService {
 
     private final InterestMapper interestMapper;
 
-    public InterestServiceImpl(InterestRepository interestRepository, InterestMapper interestMapper) {
+    private final InterestPurchaseRepository interestPurchaseRepository;
+
+    private final InterestArchiveService interestArchiveService;
+
+    private final TombstoneRepository tombstoneRepository;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final OutboxService outboxService;
+
+    public InterestServiceImpl(
+        InterestRepository interestRepository,
+        InterestMapper interestMapper,
+        InterestPurchaseRepository interestPurchaseRepository,
+        InterestArchiveService interestArchiveService,
+        TombstoneRepository tombstoneRepository,
+        EntityManager entityManager,
+        ApplicationEventPublisher eventPublisher,
+        OutboxService outboxService
+    ) {
         this.interestRepository = interestRepository;
         this.interestMapper = interestMapper;
+        this.interestPurchaseRepository = interestPurchaseRepository;
+        this.interestArchiveService = interestArchiveService;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     @Override
     public InterestDTO save(InterestDTO interestDTO) {
         log.debug("Request to save Interest : {}", interestDTO);
-        Interest interest = interestMapper.toEntity(interestDTO);
+        boolean purchase = marksPurchased(interestDTO);
+        Interest interest = asNew(interestMapper.toEntity(interestDTO)).updatedAt(ChangeTracking.now());
         interest = interestRepository.save(interest);
-        return interestMapper.toDto(interest);
+        return recordPurchased(purchase, published(interestMapper.toDto(interest)));
+    }
+
+    @Override
+    public List<InterestDTO> saveAll(List<InterestDTO> interestDTOs) {
+        log.debug("Request to save {} Interests", interestDTOs.size());
+        List<Boolean> purchases = interestDTOs.stream().map(this::marksPurchased).toList();
+        Instant now = ChangeTracking.now();
+        List<Interest> interests = interestRepository.saveAll(
+            interestMapper.toEntity(interestDTOs).stream().map(interest -> asNew(interest).updatedAt(now)).toList()
+        );
+        interestRepository.flush();
+        List<InterestDTO> saved = interestMapper.toDto(interests).stream().map(this::published).toList();
+        outboxService.recordInterestsPurchased(IntStream.range(0, saved.size()).filter(purchases::get).mapToObj(saved::get).toList());
+        return saved;
+    }
+
+    @Override
+    public InterestDTO upsert(InterestDTO interestDTO) {
+        log.debug("Request to upsert Interest : {}", interestDTO);
+        boolean purchase = marksPurchasedOnUpsert(interestDTO);
+        Interest interest = interestRepository.upsertByLeadAndArticleId(interestMapper.toEntity(interestDTO).updatedAt(ChangeTracking.now()));
+        return recordPurchased(purchase, published(interestMapper.toDto(interest)));
     }
 
     @Override
-    public InterestDTO update(InterestDTO interestDTO) {
+    public List<InterestDTO> upsertAll(List<InterestDTO> interestDTOs) {
+        log.debug("Request to upsert {} Interests", interestDTOs.size());
+        Instant now = ChangeTracking.now();
+        return interestDTOs
+            .stream()
+            .map(interestDTO -> {
+                boolean purchase = marksPurchasedOnUpsert(interestDTO);
+                Interest interest = interestRepository.upsertByLeadAndArticleId(interestMapper.toEntity(interestDTO).updatedAt(now));
+                return recordPurchased(purchase, published(interestMapper.toDto(interest)));
+            })
+            .toList();
+    }
+
+    @Override
+    public PurchaseReconciliationDTO reconcilePurchases(List<PurchaseConfirmationDTO> confirmations) {
+        log.debug("Request to reconcile {} purchase confirmations", confirmations.size());
+        InterestPurchaseRepository.PurchaseResult result = interestPurchaseRepository.confirmPurchases(
+            confirmations.stream().map(PurchaseConfirmationDTO::getOrderId).toList(),
+            confirmations.stream().map(PurchaseConfirmationDTO::getArticleId).toList(),
+            SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM)
+        );
+        // The interests of a lead do not change, only the purchased interests themselves are stale in the cache
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        result
+            .getPurchasedIds()
+            .forEach(id -> {
+                cache.evict(Interest.class, id);
+                eventPublisher.publishEvent(MutationDTO.updated(ChangeTracking.INTEREST, id));
+            });
+        if (outboxService.isEnabled() && !result.getPurchasedIds().isEmpty()) {
+            outboxService.recordInterestsPurchased(interestMapper.toDto(interestRepository.findAllById(result.getPurchasedIds())));
+        }
+        return new PurchaseReconciliationDTO(
+            result.getMatched(),
+            confirmations.size() - result.getMatched(),
+            result.getPurchasedIds().size()
+        );
+    }
+
+    @Override
+    public Optional<InterestDTO> update(InterestDTO interestDTO) {
         log.debug("Request to update Interest : {}", interestDTO);
-        Interest interest = interestMapper.toEntity(interestDTO);
-        interest = interestRepository.save(interest);
-        return interestMapper.toDto(interest);
+        boolean purchase = marksPurchased(interestDTO);
+        Optional<Interest> interest = interestRepository.updateVersioned(interestMapper.toEntity(interestDTO).updatedAt(ChangeTracking.now()));
+        return checkVersion(interest, interestDTO)
+            .map(interestMapper::toDto)
+            .map(this::published)
+            .map(updated -> recordPurchased(purchase, updated));
     }
 
     @Override
     public Optional<InterestDTO> partialUpdate(InterestDTO interestDTO) {
         log.debug("Request to partially update Interest : {}", interestDTO);
+        boolean purchase = marksPurchased(interestDTO);
+        Optional<Interest> interest = interestRepository.partialUpdateVersioned(
+            interestMapper.toEntity(interestDTO).updatedAt(ChangeTracking.now())
+        );
+        return checkVersion(interest, interestDTO)
+            .map(interestMapper::toDto)
+            .map(this::published)
+            .map(updated -> recordPurchased(purchase, updated));
+    }
 
-        return interestRepository
-            .findById(interestDTO.getId())
-            .map(existingInterest -> {
-                interestMapper.partialUpdate(existingInterest, interestDTO);
+    /**
+     * Publish the mutation of a saved interest, pushed to the subscribers of the mutation stream once the transaction
+     * commits.
+     */
+    private InterestDTO published(InterestDTO interestDTO) {
+        eventPublisher.publishEvent(MutationDTO.saved(ChangeTracking.INTEREST, interestDTO.getId(), interestDTO.getVersion(), interestDTO));
+        return interestDTO;
+    }
 
-                return existingInterest;
-            })
-            .map(interestRepository::save)
-            .map(interestMapper::toDto);
+    /**
+     * Tell if saving an interest marks it as purchased, when the outbox is enabled. This is read before saving, so a
+     * concurrent purchase of the same interest may be recorded twice, as consumers of the outbox must allow for anyway.
+     */
+    private boolean marksPurchased(InterestDTO interestDTO) {
+        return marksPurchased(
+            interestDTO,
+            () -> interestDTO.getId() != null && interestRepository.existsByIdAndIsPurchasedTrue(interestDTO.getId())
+        );
+    }
+
+    private boolean marksPurchasedOnUpsert(InterestDTO interestDTO) {
+        return marksPurchased(
+            interestDTO,
+            () ->
+                interestDTO.getLead() != null &&
+                interestRepository.existsByLeadIdAndArticleIdAndIsPurchasedTrue(interestDTO.getLead().getId(), interestDTO.getArticleId())
+        );
+    }
+
+    private boolean marksPurchased(InterestDTO interestDTO, BooleanSupplier alreadyPurchased) {
+        return outboxService.isEnabled() && Boolean.TRUE.equals(interestDTO.getIsPurchased()) && !alreadyPurchased.getAsBoolean();
+    }
+
+    /**
+     * Drop the version a client sent with a new interest, so that it is inserted at version 0.
+     */
+    private static Interest asNew(Interest interest) {
+        return interest.getId() == null ? interest.version(null) : interest;
+    }
+
+    /**
+     * Record the purchase of a saved interest in the outbox, in the transaction saving it.
+     */
+    private InterestDTO recordPurchased(boolean purchase, InterestDTO interestDTO) {
+        if (purchase) {
+            outboxService.recordInterestsPurchased(List.of(interestDTO));
+        }
+        return interestDTO;
+    }
+
+    /**
+     * Tell a missing interest from a interest at another version, when a versioned update did not update any interest.
+     */
+    private Optional<Interest> checkVersion(Optional<Interest> updated, InterestDTO interestDTO) {
+        if (updated.isEmpty() && interestDTO.getVersion() != null && interestRepository.existsById(interestDTO.getId())) {
+            throw new VersionConflictException("interest", interestDTO.getId(), interestDTO.getVersion());
+        }
+        return updated;
     }
 
     @Override
@@ -71,14 +245,70 @@ public class InterestServiceImpl implements InterestService {
 
     @Override
     @Transactional(readOnly = true)
+    public Page<InterestDTO> findAllByLead(Long leadId, Pageable pageable) {
+        log.debug("Request to get all Interests of Lead : {}", leadId);
+        return interestRepository.findAllByLeadId(leadId, pageable).map(interestMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChangeDTO<InterestDTO>> findChanges(Instant changedAt, Long id, Instant before, int size) {
+        log.debug("Request to get the changes of Interests after {}, {}", changedAt, id);
+        List<Interest> interests = changedAt == null
+            ? interestRepository.findAllByUpdatedAtBefore(before, Limit.of(size))
+            : interestRepository.findAllByUpdatedAtAfter(changedAt, id, before, Limit.of(size));
+        return ChangeTracking.merge(
+            interests
+                .stream()
+                .map(interest -> new ChangeDTO<>(interest.getId(), interest.getUpdatedAt(), false, interestMapper.toDto(interest)))
+                .toList(),
+            tombstoneRepository.findAllAfter(ChangeTracking.INTEREST, changedAt, id, before, size),
+            size
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countEstimate() {
+        log.debug("Request to estimate the number of Interests");
+        return interestRepository.estimateCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<InterestDTO> consumer) {
+        log.debug("Request to export all Interests");
+        int fetchSize = Integer.parseInt(InterestRepository.EXPORT_FETCH_SIZE);
+        try (Stream<Interest> interests = interestRepository.streamAllByOrderById()) {
+            int count = 0;
+            for (Iterator<Interest> iterator = interests.iterator(); iterator.hasNext(); ) {
+                consumer.accept(interestMapper.toDto(iterator.next()));
+                // Keep the persistence context from growing with every row read
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<InterestDTO> findOne(Long id) {
+        // Not transactional, so that reading the archive holds no connection
         log.debug("Request to get Interest : {}", id);
-        return interestRepository.findById(id).map(interestMapper::toDto);
+        return interestRepository.findById(id).map(interestMapper::toDto).or(() -> interestArchiveService.findOne(id));
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Interest : {}", id);
-        interestRepository.deleteById(id);
+        // Only an interest which exists leaves a tombstone and a deletion event
+        interestRepository
+            .findById(id)
+            .ifPresent(interest -> {
+                interestRepository.delete(interest);
+                tombstoneRepository.saveAll(ChangeTracking.INTEREST, List.of(id), ChangeTracking.now());
+                eventPublisher.publishEvent(MutationDTO.deleted(ChangeTracking.INTEREST, id));
+            });
     }
 }
@@ -1,13 +1,28 @@
 package com.jio.lead.management.service.impl;
 
 import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.repository.InterestRepository;
 import com.jio.lead.management.repository.LeadRepository;
+import com.jio.lead.management.repository.TombstoneRepository;
 import com.jio.lead.management.service.LeadService;
+import com.jio.lead.management.service.VersionConflictException;
+import com.jio.lead.management.service.dto.ChangeDTO;
 import com.jio.lead.management.service.dto.LeadDTO;
+import com.jio.lead.management.service.dto.LeadDeletionDTO;
+import com.jio.lead.management.service.dto.MutationDTO;
 import com.jio.lead.management.service.mapper.LeadMapper;
+import com.jio.lead.management.service.outbox.OutboxService;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,40 +41,118 @@ public class LeadServiceImpl implements LeadService {
 
     private final LeadMapper leadMapper;
 
-    public LeadServiceImpl(LeadRepository leadRepository, LeadMapper leadMapper) {
+    private final InterestRepository interestRepository;
+
+    private final TombstoneRepository tombstoneRepository;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final OutboxService outboxService;
+
+    public LeadServiceImpl(
+        LeadRepository leadRepository,
+        LeadMapper leadMapper,
+        InterestRepository interestRepository,
+        TombstoneRepository tombstoneRepository,
+        EntityManager entityManager,
+        ApplicationEventPublisher eventPublisher,
+        OutboxService outboxService
+    ) {
         this.leadRepository = leadRepository;
         this.leadMapper = leadMapper;
+        this.interestRepository = interestRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     @Override
     public LeadDTO save(LeadDTO leadDTO) {
         log.debug("Request to save Lead : {}", leadDTO);
-        Lead lead = leadMapper.toEntity(leadDTO);
+        Lead lead = asNew(leadMapper.toEntity(leadDTO)).updatedAt(ChangeTracking.now());
         lead = leadRepository.save(lead);
-        return leadMapper.toDto(lead);
+        return recordCreated(List.of(published(leadMapper.toDto(lead)))).get(0);
+    }
+
+    @Override
+    public List<LeadDTO> saveAll(List<LeadDTO> leadDTOs) {
+        log.debug("Request to save {} Leads", leadDTOs.size());
+        Instant now = ChangeTracking.now();
+        List<Lead> leads = leadRepository.saveAll(leadMapper.toEntity(leadDTOs).stream().map(lead -> asNew(lead).updatedAt(now)).toList());
+        leadRepository.flush();
+        return recordCreated(leadMapper.toDto(leads).stream().map(this::published).toList());
+    }
+
+    @Override
+    public LeadDTO upsert(LeadDTO leadDTO) {
+        log.debug("Request to upsert Lead : {}", leadDTO);
+        Lead lead = leadRepository.upsertByPhone(leadMapper.toEntity(leadDTO).updatedAt(ChangeTracking.now()));
+        return recordCreated(List.of(published(leadMapper.toDto(lead)))).get(0);
     }
 
     @Override
-    public LeadDTO update(LeadDTO leadDTO) {
+    public List<LeadDTO> upsertAll(List<LeadDTO> leadDTOs) {
+        log.debug("Request to upsert {} Leads", leadDTOs.size());
+        Instant now = ChangeTracking.now();
+        return recordCreated(
+            leadDTOs
+                .stream()
+                .map(leadDTO -> leadMapper.toEntity(leadDTO).updatedAt(now))
+                .map(leadRepository::upsertByPhone)
+                .map(leadMapper::toDto)
+                .map(this::published)
+                .toList()
+        );
+    }
+
+    @Override
+    public Optional<LeadDTO> update(LeadDTO leadDTO) {
         log.debug("Request to update Lead : {}", leadDTO);
-        Lead lead = leadMapper.toEntity(leadDTO);
-        lead = leadRepository.save(lead);
-        return leadMapper.toDto(lead);
+        Optional<Lead> lead = leadRepository.updateVersioned(leadMapper.toEntity(leadDTO).updatedAt(ChangeTracking.now()));
+        return checkVersion(lead, leadDTO).map(leadMapper::toDto).map(this::published);
     }
 
     @Override
     public Optional<LeadDTO> partialUpdate(LeadDTO leadDTO) {
         log.debug("Request to partially update Lead : {}", leadDTO);
+        Optional<Lead> lead = leadRepository.partialUpdateVersioned(leadMapper.toEntity(leadDTO).updatedAt(ChangeTracking.now()));
+        return checkVersion(lead, leadDTO).map(leadMapper::toDto).map(this::published);
+    }
 
-        return leadRepository
-            .findById(leadDTO.getId())
-            .map(existingLead -> {
-                leadMapper.partialUpdate(existingLead, leadDTO);
+    /**
+     * Publish the mutation of a saved lead, pushed to the subscribers of the mutation stream once the transaction commits.
+     */
+    private LeadDTO published(LeadDTO leadDTO) {
+        eventPublisher.publishEvent(MutationDTO.saved(ChangeTracking.LEAD, leadDTO.getId(), leadDTO.getVersion(), leadDTO));
+        return leadDTO;
+    }
 
-                return existingLead;
-            })
-            .map(leadRepository::save)
-            .map(leadMapper::toDto);
+    /**
+     * Drop the version a client sent with a new lead, so that it is inserted at version 0 and its creation recorded.
+     */
+    private static Lead asNew(Lead lead) {
+        return lead.getId() == null ? lead.version(null) : lead;
+    }
+
+    /**
+     * Record the creation of the new leads among saved leads in the outbox, in the transaction saving them.
+     */
+    private List<LeadDTO> recordCreated(List<LeadDTO> leadDTOs) {
+        outboxService.recordLeadsCreated(leadDTOs.stream().filter(leadDTO -> Long.valueOf(0).equals(leadDTO.getVersion())).toList());
+        return leadDTOs;
+    }
+
+    /**
+     * Tell a missing lead from a lead at another version, when a versioned update did not update any lead.
+     */
+    private Optional<Lead> checkVersion(Optional<Lead> updated, LeadDTO leadDTO) {
+        if (updated.isEmpty() && leadDTO.getVersion() != null && leadRepository.existsById(leadDTO.getId())) {
+            throw new VersionConflictException("lead", leadDTO.getId(), leadDTO.getVersion());
+        }
+        return updated;
     }
 
     @Override
@@ -69,6 +162,44 @@ public class LeadServiceImpl implements LeadService {
         return leadRepository.findAll(pageable).map(leadMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChangeDTO<LeadDTO>> findChanges(Instant changedAt, Long id, Instant before, int size) {
+        log.debug("Request to get the changes of Leads after {}, {}", changedAt, id);
+        List<Lead> leads = changedAt == null
+            ? leadRepository.findAllByUpdatedAtBefore(before, Limit.of(size))
+            : leadRepository.findAllByUpdatedAtAfter(changedAt, id, before, Limit.of(size));
+        return ChangeTracking.merge(
+            leads.stream().map(lead -> new ChangeDTO<>(lead.getId(), lead.getUpdatedAt(), false, leadMapper.toDto(lead))).toList(),
+            tombstoneRepository.findAllAfter(ChangeTracking.LEAD, changedAt, id, before, size),
+            size
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countEstimate() {
+        log.debug("Request to estimate the number of Leads");
+        return leadRepository.estimateCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<LeadDTO> consumer) {
+        log.debug("Request to export all Leads");
+        int fetchSize = Integer.parseInt(LeadRepository.EXPORT_FETCH_SIZE);
+        try (Stream<Lead> leads = leadRepository.streamAllByOrderById()) {
+            int count = 0;
+            for (Iterator<Lead> iterator = leads.iterator(); iterator.hasNext(); ) {
+                consumer.accept(leadMapper.toDto(iterator.next()));
+                // Keep the persistence context from growing with every row read
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<LeadDTO> findOne(Long id) {
@@ -76,9 +207,55 @@ public class LeadServiceImpl implements LeadService {
         return leadRepository.findById(id).map(leadMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LeadDTO> findOneWithEagerRelationships(Long id) {
+        log.debug("Request to get Lead with interests : {}", id);
+        return leadRepository.findOneWithEagerRelationships(id).map(leadMapper::toDtoWithInterests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LeadDTO> findOneByPhone(Long phone) {
+        log.debug("Request to get Lead by phone : {}", phone);
+        return leadRepository.findOneByNaturalId(phone).map(leadMapper::toDto);
+    }
+
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Lead : {}", id);
-        leadRepository.deleteById(id);
+        // Only a lead which exists leaves a tombstone and a deletion event
+        leadRepository
+            .findById(id)
+            .ifPresent(lead -> {
+                leadRepository.delete(lead);
+                tombstoneRepository.saveAll(ChangeTracking.LEAD, List.of(id), ChangeTracking.now());
+                eventPublisher.publishEvent(MutationDTO.deleted(ChangeTracking.LEAD, id));
+            });
+    }
+
+    @Override
+    public LeadDeletionDTO deleteAll(List<Long> ids, Instant createdBefore, int limit) {
+        log.debug("Request to delete Leads : {} created before {}", ids, createdBefore);
+        List<Long> leadIds;
+        if (ids == null) {
+            leadIds = leadRepository.findIdsByCreatedAtBefore(createdBefore, Limit.of(limit));
+        } else if (createdBefore != null) {
+            leadIds = leadRepository.findIdsByIdInAndCreatedAtBefore(ids, createdBefore);
+        } else {
+            leadIds = leadRepository.findIdsByIdIn(ids);
+        }
+        if (leadIds.isEmpty()) {
+            return new LeadDeletionDTO();
+        }
+        Instant now = ChangeTracking.now();
+        List<Long> interestIds = tombstoneRepository.saveAllOfLeads(ChangeTracking.INTEREST, leadIds, now);
+        tombstoneRepository.saveAll(ChangeTracking.LEAD, leadIds, now);
+        interestIds.forEach(interestId -> eventPublisher.publishEvent(MutationDTO.deleted(ChangeTracking.INTEREST, interestId)));
+        leadIds.forEach(leadId -> eventPublisher.publishEvent(MutationDTO.deleted(ChangeTracking.LEAD, leadId)));
+        // The bulk statements invalidate the Lead, Lead.interests and Interest cache regions, not their entries one by one
+        int interests = interestRepository.deleteAllByLeadIdIn(leadIds);
+        int leads = leadRepository.deleteAllByIdIn(leadIds);
+        return new LeadDeletionDTO(leads, interests);
     }
 }
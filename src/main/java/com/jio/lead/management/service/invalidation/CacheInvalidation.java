@@ -0,0 +1,67 @@
+package com.jio.lead.management.service.invalidation;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The invalidation of an entry of a cache region, or of the whole region when there is no key.
+ * <p>
+ * The key is the id of the entity for the entity regions, the id of the owning entity for the collection regions, and the
+ * key itself for the other caches.
+ */
+public class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String region;
+
+    private String key;
+
+    public CacheInvalidation() {}
+
+    public CacheInvalidation(String region, String key) {
+        this.region = region;
+        this.key = key;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation other)) {
+            return false;
+        }
+        return Objects.equals(region, other.region) && Objects.equals(key, other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(region, key);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "region='" + region + "'" +
+            ", key='" + key + "'" +
+            "}";
+    }
+}
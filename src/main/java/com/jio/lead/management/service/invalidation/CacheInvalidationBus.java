@@ -0,0 +1,408 @@
+package com.jio.lead.management.service.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service broadcasting the invalidations of the cache regions of this node to the other nodes, which evict the same
+ * entries, so that they do not serve stale entries until these expire.
+ * <p>
+ * The invalidations published in a transaction are sent once it is committed, and dropped if it is rolled back; the
+ * others are sent at once. A single sender thread per node sends them in batches, without duplicates, through the
+ * {@link InvalidationTransport}. The invalidations received are applied without being broadcast again.
+ */
+@Service
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int QUEUE_CAPACITY = 100_000;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final InvalidationTransport transport;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.CacheInvalidation properties;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final BlockingQueue<CacheInvalidation> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final ThreadLocal<Boolean> evictingLocally = ThreadLocal.withInitial(() -> false);
+
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+
+    private final Counter sentCounter;
+
+    private final Counter receivedCounter;
+
+    private final Counter failedCounter;
+
+    private Thread sender;
+
+    private volatile boolean running;
+
+    @Autowired
+    public CacheInvalidationBus(
+        javax.cache.CacheManager cacheManager,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        ObjectProvider<InvalidationTransport> transportProvider,
+        DataSource dataSource,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(
+            cacheManager,
+            entityManagerFactory,
+            transportProvider.getIfAvailable(() -> defaultTransport(dataSource, applicationProperties.getCacheInvalidation())),
+            objectMapper,
+            applicationProperties,
+            meterRegistry
+        );
+    }
+
+    CacheInvalidationBus(
+        javax.cache.CacheManager cacheManager,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        InvalidationTransport transport,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getCacheInvalidation();
+        this.sentCounter = Counter.builder("cache.invalidation.sent")
+            .description("Cache invalidations sent to the other nodes")
+            .register(meterRegistry);
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+            .description("Cache invalidations received from the other nodes and applied")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("cache.invalidation.failed")
+            .description("Cache invalidations which could not be sent to the other nodes")
+            .register(meterRegistry);
+    }
+
+    private static InvalidationTransport defaultTransport(DataSource dataSource, ApplicationProperties.CacheInvalidation properties) {
+        return switch (properties.getTransport()) {
+            case POSTGRES -> new PostgresInvalidationTransport(dataSource, properties.getChannel());
+            case UDP -> new UdpInvalidationTransport(properties.getUdp().getPort(), properties.getUdp().getPeers());
+        };
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        log.info("Starting the cache invalidation bus, node {}", node);
+        try {
+            transport.open(this::receive);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the cache invalidation transport", e);
+        }
+        running = true;
+        sender = new Thread(this::sendPending, "cache-invalidation-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sender.interrupt();
+        try {
+            sender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transport.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Broadcast the invalidation of an entry of a cache region, or of the whole region, once the current transaction, if
+     * any, is committed. Nothing is broadcast while the bus is not running.
+     *
+     * @param region the name of the region.
+     * @param key the id of the entity, the id of the owning entity for a collection region, or the key; {@code null} for
+     * the whole region.
+     */
+    public void publish(String region, @Nullable Object key) {
+        if (!running || evictingLocally.get()) {
+            return;
+        }
+        CacheInvalidation invalidation = new CacheInvalidation(region, key != null ? key.toString() : null);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(List.of(invalidation));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<CacheInvalidation> invalidations = (Set<CacheInvalidation>) TransactionSynchronizationManager.getResource(this);
+        if (invalidations == null) {
+            Set<CacheInvalidation> transactionInvalidations = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, transactionInvalidations);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enqueue(transactionInvalidations);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                    }
+                }
+            );
+            invalidations = transactionInvalidations;
+        }
+        invalidations.add(invalidation);
+    }
+
+    /**
+     * Evict an entry of a cache region, or the whole region, on this node, and broadcast the invalidation.
+     *
+     * @param region the name of the region.
+     * @param key the id of the entity, the id of the owning entity for a collection region, or the key; {@code null} for
+     * the whole region.
+     * @throws IllegalArgumentException if there is no such region, or the id is invalid.
+     */
+    public void evict(String region, @Nullable String key) {
+        evictLocally(region, key);
+        publish(region, key);
+    }
+
+    /**
+     * Evict the entries of a region through the cache which owns it rather than directly, on this node.
+     *
+     * @param region the name of the region.
+     * @param evictor evicts an entry of the region on this node, or the whole region for a {@code null} key, without
+     * publishing the invalidation again.
+     */
+    public void registerEvictor(String region, Consumer<String> evictor) {
+        evictors.put(region, evictor);
+    }
+
+    private void evictLocally(String region, @Nullable String key) {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null) {
+            throw new IllegalArgumentException("No such cache region: " + region);
+        }
+        evictingLocally.set(true);
+        try {
+            Consumer<String> evictor = evictors.get(region);
+            if (evictor != null) {
+                evictor.accept(key);
+                return;
+            }
+            if (key == null) {
+                cache.clear();
+                return;
+            }
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class);
+            MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+            EntityPersister entityPersister = metamodel.findEntityDescriptor(region);
+            if (entityPersister != null) {
+                sessionFactory.getCache().evictEntityData(region, identifier(entityPersister, key));
+                return;
+            }
+            CollectionPersister collectionPersister = metamodel.findCollectionDescriptor(region);
+            if (collectionPersister != null) {
+                sessionFactory.getCache().evictCollectionData(region, identifier(collectionPersister.getOwnerEntityPersister(), key));
+                return;
+            }
+            cache.remove(key);
+        } finally {
+            evictingLocally.remove();
+        }
+    }
+
+    private static Object identifier(EntityPersister persister, String id) {
+        try {
+            return persister.getIdentifierMapping().getJavaType().fromString(id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid id of " + persister.getEntityName() + ": " + id, e);
+        }
+    }
+
+    private void enqueue(Collection<CacheInvalidation> invalidations) {
+        for (CacheInvalidation invalidation : invalidations) {
+            if (!pending.offer(invalidation)) {
+                failedCounter.increment();
+                log.warn("Too many cache invalidations pending, dropped {}", invalidation);
+            }
+        }
+    }
+
+    private void sendPending() {
+        while (running) {
+            try {
+                CacheInvalidation invalidation = pending.poll(1, TimeUnit.SECONDS);
+                if (invalidation != null) {
+                    Set<CacheInvalidation> batch = new LinkedHashSet<>();
+                    batch.add(invalidation);
+                    pending.drainTo(batch);
+                    send(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not send the cache invalidations: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Send the invalidations in as few messages as the size limit of the transport allows.
+     */
+    void send(Collection<CacheInvalidation> invalidations) {
+        int maxSize = transport.getMaxMessageSize() - size(new Message(node, List.of()));
+        List<CacheInvalidation> chunk = new ArrayList<>();
+        int chunkSize = 0;
+        for (CacheInvalidation invalidation : invalidations) {
+            int size = size(invalidation) + 1;
+            if (size > maxSize) {
+                // An invalidation too large for a message invalidates its whole region instead
+                invalidation = new CacheInvalidation(invalidation.getRegion(), null);
+                size = size(invalidation) + 1;
+            }
+            if (chunkSize + size > maxSize) {
+                sendMessage(chunk);
+                chunk = new ArrayList<>();
+                chunkSize = 0;
+            }
+            chunk.add(invalidation);
+            chunkSize += size;
+        }
+        if (!chunk.isEmpty()) {
+            sendMessage(chunk);
+        }
+    }
+
+    private void sendMessage(List<CacheInvalidation> invalidations) {
+        try {
+            transport.send(objectMapper.writeValueAsString(new Message(node, invalidations)));
+            sentCounter.increment(invalidations.size());
+        } catch (IOException e) {
+            failedCounter.increment(invalidations.size());
+            log.warn("Could not send {} cache invalidations: {}", invalidations.size(), e.getMessage());
+        }
+    }
+
+    private int size(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Apply the invalidations of a message from another node.
+     */
+    void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (IOException e) {
+            log.warn("Ignoring an invalid cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (node.equals(message.getNode())) {
+            return;
+        }
+        for (CacheInvalidation invalidation : message.getInvalidations()) {
+            try {
+                evictLocally(invalidation.getRegion(), invalidation.getKey());
+                receivedCounter.increment();
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring the cache invalidation {} from node {}: {}", invalidation, message.getNode(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the id of this node in the messages.
+     */
+    String getNode() {
+        return node;
+    }
+
+    static final class Message {
+
+        private String node;
+
+        private List<CacheInvalidation> invalidations = new ArrayList<>();
+
+        Message() {}
+
+        Message(String node, List<CacheInvalidation> invalidations) {
+            this.node = node;
+            this.invalidations = invalidations;
+        }
+
+        public String getNode() {
+            return node;
+        }
+
+        public void setNode(String node) {
+            this.node = node;
+        }
+
+        public List<CacheInvalidation> getInvalidations() {
+            return invalidations;
+        }
+
+        public void setInvalidations(List<CacheInvalidation> invalidations) {
+            this.invalidations = invalidations;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.jio.lead.management.service.invalidation;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Transport of the messages of the {@link CacheInvalidationBus} between the nodes.
+ * <p>
+ * Delivery is best effort: a lost message leaves the entries it invalidates in the caches of the other nodes until they
+ * expire. A message sent by a node may be received by the same node.
+ * <p>
+ * Defining a bean of this type replaces the transport configured by {@code application.cache-invalidation.transport}.
+ */
+public interface InvalidationTransport {
+    /**
+     * Start receiving messages.
+     *
+     * @param receiver the receiver of the messages, called from a thread of the transport.
+     * @throws IOException if the transport cannot be opened.
+     */
+    void open(Consumer<String> receiver) throws IOException;
+
+    /**
+     * Send a message to the other nodes.
+     *
+     * @param message the message, at most {@link #getMaxMessageSize()} bytes long in UTF-8.
+     * @throws IOException if the message cannot be sent.
+     */
+    void send(String message) throws IOException;
+
+    /**
+     * @return the maximum size of a message, in bytes.
+     */
+    int getMaxMessageSize();
+
+    /**
+     * Stop receiving messages and release the resources of the transport.
+     */
+    void close();
+}
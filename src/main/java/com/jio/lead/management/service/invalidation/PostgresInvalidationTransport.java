@@ -0,0 +1,123 @@
+package com.jio.lead.management.service.invalidation;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport sending the messages with PostgreSQL {@code NOTIFY}, to every node listening to the channel on the same
+ * database.
+ * <p>
+ * Each node holds a connection of the pool to listen to the channel, and opens it again when it is lost; the messages
+ * sent meanwhile are lost.
+ */
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * The maximum size of a notification payload, with the default PostgreSQL settings.
+     */
+    private static final int MAX_PAYLOAD_SIZE = 7999;
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long RECONNECT_DELAY_NANOS = 5_000_000_000L;
+
+    private final DataSource dataSource;
+
+    private final String channel;
+
+    private Thread listener;
+
+    private volatile boolean running;
+
+    public PostgresInvalidationTransport(DataSource dataSource, String channel) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+    }
+
+    @Override
+    public void open(Consumer<String> receiver) {
+        running = true;
+        listener = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void send(String message) throws IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, message);
+                statement.execute();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not notify channel " + channel, e);
+        }
+    }
+
+    @Override
+    public int getMaxMessageSize() {
+        return MAX_PAYLOAD_SIZE;
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(listener);
+        try {
+            listener.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen(Consumer<String> receiver) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receiver.accept(notification.getParameter());
+                        }
+                    }
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("unlisten " + channel);
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Lost the listening connection of channel {}, opening it again: {}", channel, e.getMessage());
+                LockSupport.parkNanos(RECONNECT_DELAY_NANOS);
+            }
+        }
+    }
+}
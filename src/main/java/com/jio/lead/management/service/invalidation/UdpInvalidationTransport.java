@@ -0,0 +1,111 @@
+package com.jio.lead.management.service.invalidation;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport sending the messages as UDP datagrams to a static list of peers, e.g. several nodes on the same host, each on
+ * its own port.
+ */
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationTransport.class);
+
+    /**
+     * Small enough for a datagram not to be fragmented much on the usual networks.
+     */
+    private static final int MAX_DATAGRAM_SIZE = 8192;
+
+    private final int port;
+
+    private final List<InetSocketAddress> peers;
+
+    private DatagramChannel channel;
+
+    private Thread listener;
+
+    /**
+     * @param port the port to receive from and send from, or 0 for an ephemeral port.
+     * @param peers the addresses of the other nodes, as {@code host:port}.
+     */
+    public UdpInvalidationTransport(int port, List<String> peers) {
+        this.port = port;
+        this.peers = peers.stream().map(UdpInvalidationTransport::parseAddress).toList();
+    }
+
+    @Override
+    public void open(Consumer<String> receiver) throws IOException {
+        channel = DatagramChannel.open(StandardProtocolFamily.INET).bind(new InetSocketAddress(port));
+        listener = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void send(String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            channel.send(ByteBuffer.wrap(bytes), peer);
+        }
+    }
+
+    @Override
+    public int getMaxMessageSize() {
+        return MAX_DATAGRAM_SIZE;
+    }
+
+    /**
+     * @return the port the transport receives from, once opened.
+     */
+    public int getLocalPort() throws IOException {
+        return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+            listener.join();
+        } catch (IOException e) {
+            log.warn("Could not close the cache invalidation channel: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen(Consumer<String> receiver) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                receiver.accept(StandardCharsets.UTF_8.decode(buffer).toString());
+            } catch (AsynchronousCloseException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not receive a cache invalidation message: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static InetSocketAddress parseAddress(String address) {
+        int separator = address.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid peer address, expected host:port: " + address);
+        }
+        return new InetSocketAddress(address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)));
+    }
+}
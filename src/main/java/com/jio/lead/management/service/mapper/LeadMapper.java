@@ -6,6 +6,26 @@ import org.mapstruct.*;
 
 /**
  * Mapper for the entity {@link Lead} and its DTO {@link LeadDTO}.
+ * <p>
+ * The interests are only mapped by {@link #toDtoWithInterests(Lead)}, so that mapping a lead never initializes its lazy
+ * collection by accident.
  */
-@Mapper(componentModel = "spring")
-public interface LeadMapper extends EntityMapper<LeadDTO, Lead> {}
+@Mapper(componentModel = "spring", uses = InterestMapper.class)
+public interface LeadMapper extends EntityMapper<LeadDTO, Lead> {
+    @Mapping(target = "interests", ignore = true)
+    LeadDTO toDto(Lead s);
+
+    @Mapping(target = "interests", ignore = true)
+    @Mapping(target = "removeInterest", ignore = true)
+    Lead toEntity(LeadDTO leadDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "interests", ignore = true)
+    @Mapping(target = "removeInterest", ignore = true)
+    void partialUpdate(@MappingTarget Lead entity, LeadDTO dto);
+
+    @Named("withInterests")
+    @Mapping(target = "interests", source = "interests")
+    LeadDTO toDtoWithInterests(Lead s);
+}
@@ -0,0 +1,88 @@
+package com.jio.lead.management.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.OutboxRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sink appending the events to a local file as newline-delimited JSON, or logging them when no file is configured, for
+ * development and tests.
+ * <p>
+ * The file is forced to disk before the events are deleted from the outbox.
+ */
+public class LocalOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalOutboxSink.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Outbox properties;
+
+    public LocalOutboxSink(ObjectMapper objectMapper, ApplicationProperties.Outbox properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public void deliver(List<OutboxRepository.OutboxEvent> events) {
+        if (properties.getFile() == null) {
+            events.forEach(event ->
+                log.info(
+                    "Outbox event {} {} of {} {} : {}",
+                    event.getId(),
+                    event.getEventType(),
+                    event.getAggregateType(),
+                    event.getAggregateId(),
+                    event.getPayload()
+                )
+            );
+            return;
+        }
+        Path file = Path.of(properties.getFile());
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (OutboxRepository.OutboxEvent event : events) {
+                lines.write(objectMapper.writeValueAsBytes(toJson(event)));
+                lines.write('\n');
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> toJson(OutboxRepository.OutboxEvent event) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", event.getId());
+        json.put("eventType", event.getEventType());
+        json.put("aggregateType", event.getAggregateType());
+        json.put("aggregateId", event.getAggregateId());
+        json.put("createdAt", event.getCreatedAt());
+        json.put("payload", objectMapper.readValue(event.getPayload(), JsonNode.class));
+        return json;
+    }
+}
@@ -0,0 +1,168 @@
+package com.jio.lead.management.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service relaying the events of the outbox to the {@link OutboxSink}.
+ * <p>
+ * A single relay thread per node claims the oldest events in batches, with {@code for update skip locked}, delivers each
+ * batch to the sink and deletes it, in one transaction per batch. Relays on several nodes therefore deliver different
+ * batches concurrently. A batch which cannot be delivered is rolled back and claimed again at the next poll, so events
+ * are delivered at least once.
+ */
+@Service
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+
+    private final OutboxSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final Counter publishedCounter;
+
+    private final Counter failedCounter;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Timer deliveryTimer;
+
+    private volatile Duration lag = Duration.ZERO;
+
+    private Thread relay;
+
+    private volatile boolean running;
+
+    public OutboxRelay(
+        OutboxRepository outboxRepository,
+        ObjectProvider<OutboxSink> sinkProvider,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.properties = applicationProperties.getOutbox();
+        this.sink = sinkProvider.getIfAvailable(() -> new LocalOutboxSink(objectMapper, properties));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        TimeGauge.builder("outbox.lag", this, TimeUnit.MILLISECONDS, outboxRelay -> outboxRelay.lag.toMillis())
+            .description("Age of the oldest event in the outbox, as of the last poll")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published")
+            .description("Events delivered to the outbox sink")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+            .description("Batches of events which could not be delivered to the outbox sink")
+            .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.batch.size")
+            .description("Number of events delivered together to the outbox sink")
+            .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("outbox.delivery")
+            .description("Time taken to deliver a batch of events to the outbox sink")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        log.info("Starting the outbox relay, batches of {} events", properties.getBatchSize());
+        running = true;
+        relay = new Thread(this::poll, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(relay);
+        try {
+            relay.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        long pollIntervalNanos = properties.getPollInterval().toNanos();
+        while (running) {
+            try {
+                relayAll();
+            } catch (RuntimeException e) {
+                log.warn("Could not relay the outbox, retrying in {} ms: {}", properties.getPollInterval().toMillis(), e.getMessage());
+            }
+            LockSupport.parkNanos(pollIntervalNanos);
+        }
+    }
+
+    /**
+     * Deliver the events of the outbox to the sink, one batch after the other, until none is left unclaimed.
+     *
+     * @return the number of delivered events.
+     * @throws RuntimeException if a batch could not be delivered, it is then kept in the outbox.
+     */
+    public long relayAll() {
+        int batchSize = properties.getBatchSize();
+        long delivered = 0;
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch(batchSize));
+                delivered += relayed;
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            throw e;
+        } finally {
+            Instant now = Instant.now();
+            lag = outboxRepository.findOldestCreatedAt().map(createdAt -> Duration.between(createdAt, now)).orElse(Duration.ZERO);
+        }
+        return delivered;
+    }
+
+    private int relayBatch(int batchSize) {
+        List<OutboxRepository.OutboxEvent> events = outboxRepository.claim(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        deliveryTimer.record(() -> sink.deliver(events));
+        outboxRepository.deleteAllByIdIn(events.stream().map(OutboxRepository.OutboxEvent::getId).toList());
+        publishedCounter.increment(events.size());
+        batchSizeSummary.record(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,95 @@
+package com.jio.lead.management.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.OutboxRepository;
+import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.dto.LeadDTO;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service recording events for downstream systems in the outbox, in the transaction of the change they record.
+ * <p>
+ * An event is therefore recorded if and only if its change commits, and is delivered by the {@link OutboxRelay} after
+ * it does. Nothing is recorded while the outbox is disabled.
+ */
+@Service
+public class OutboxService {
+
+    public static final String LEAD_CREATED = "lead-created";
+
+    public static final String INTEREST_PURCHASED = "interest-purchased";
+
+    public static final String LEAD = "lead";
+
+    public static final String INTEREST = "interest";
+
+    private final OutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Outbox properties;
+
+    public OutboxService(OutboxRepository outboxRepository, ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getOutbox();
+    }
+
+    /**
+     * @return {@code true} if events are recorded in the outbox.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Record the creation of leads.
+     *
+     * @param leadDTOs the created leads.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordLeadsCreated(List<LeadDTO> leadDTOs) {
+        record(LEAD_CREATED, LEAD, leadDTOs, LeadDTO::getId);
+    }
+
+    /**
+     * Record the purchase of interests.
+     *
+     * @param interestDTOs the interests marked as purchased.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInterestsPurchased(List<InterestDTO> interestDTOs) {
+        record(INTEREST_PURCHASED, INTEREST, interestDTOs, InterestDTO::getId);
+    }
+
+    private <T> void record(String eventType, String aggregateType, List<T> aggregates, Function<T, Long> aggregateId) {
+        if (!properties.isEnabled() || aggregates.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        outboxRepository.saveAll(
+            aggregates
+                .stream()
+                .map(aggregate ->
+                    new OutboxRepository.OutboxEvent(eventType, aggregateType, aggregateId.apply(aggregate), toJson(aggregate), now)
+                )
+                .toList()
+        );
+    }
+
+    private String toJson(Object aggregate) {
+        try {
+            return objectMapper.writeValueAsString(aggregate);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
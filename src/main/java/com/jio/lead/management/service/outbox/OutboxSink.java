@@ -0,0 +1,24 @@
+package com.jio.lead.management.service.outbox;
+
+import com.jio.lead.management.repository.OutboxRepository;
+import java.util.List;
+
+/**
+ * Destination of the events relayed from the outbox, e.g. a message broker.
+ * <p>
+ * Defining a bean of this type replaces the {@link LocalOutboxSink}.
+ */
+@FunctionalInterface
+public interface OutboxSink {
+    /**
+     * Deliver a batch of events, in id order.
+     * <p>
+     * Events are delivered at least once: a batch is delivered again, possibly by another node, when this method throws or
+     * the events could not be deleted afterwards. Events of different batches may be delivered out of order by different
+     * nodes.
+     *
+     * @param events the events.
+     * @throws RuntimeException if the events could not be delivered, they are then kept in the outbox.
+     */
+    void deliver(List<OutboxRepository.OutboxEvent> events);
+}
@@ -0,0 +1,196 @@
+package com.jio.lead.management.web.rest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import com.jio.lead.management.web.rest.vm.BulkItemResultVM;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Reads a JSON array of DTOs from a request body one element at a time, validates each of them and
+ * hands the valid ones to a writer in chunks, so that each chunk is persisted in one transaction.
+ * <p>
+ * When a chunk fails for another reason than the database being unavailable, its items are written again one by one,
+ * so that a single bad item, such as a duplicate, does not take the others with it and gets its own status.
+ *
+ * @param <T> the DTO type.
+ */
+final class BulkRequestProcessor<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkRequestProcessor.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final Class<T> type;
+
+    private final String entityName;
+
+    private final Function<T, Long> idExtractor;
+
+    BulkRequestProcessor(ObjectMapper objectMapper, Validator validator, Class<T> type, String entityName, Function<T, Long> idExtractor) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.type = type;
+        this.entityName = entityName;
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * Process the given stream.
+     *
+     * @param body the request body, a JSON array of DTOs.
+     * @param chunkSize the maximum number of DTOs handed to the writer at once.
+     * @param writer persists a chunk and returns the ids of the persisted DTOs, in order.
+     * @return one result per array element, in request order.
+     * @throws IOException if the body cannot be read.
+     */
+    List<BulkItemResultVM> process(InputStream body, int chunkSize, Function<List<T>, List<Long>> writer) throws IOException {
+        return process(body, chunkSize, HttpStatus.CREATED, writer);
+    }
+
+    /**
+     * Process the given stream.
+     *
+     * @param body the request body, a JSON array of DTOs.
+     * @param chunkSize the maximum number of DTOs handed to the writer at once.
+     * @param itemStatus the status of the results of the persisted DTOs.
+     * @param writer persists a chunk and returns the ids of the persisted DTOs, in order.
+     * @return one result per array element, in request order.
+     * @throws IOException if the body cannot be read.
+     */
+    List<BulkItemResultVM> process(InputStream body, int chunkSize, HttpStatus itemStatus, Function<List<T>, List<Long>> writer)
+        throws IOException {
+        List<BulkItemResultVM> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestAlertException("A bulk request must be a JSON array", entityName, "bulknotarray");
+            }
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode node = objectMapper.readTree(parser);
+                List<String> errors = new ArrayList<>();
+                T item = null;
+                try {
+                    item = objectMapper.treeToValue(node, type);
+                } catch (IOException e) {
+                    errors.add("error.unreadable");
+                }
+                if (item != null) {
+                    if (idExtractor.apply(item) != null) {
+                        errors.add("error.idexists");
+                    }
+                    Set<ConstraintViolation<T>> violations = validator.validate(item);
+                    violations.forEach(violation -> errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+                }
+
+                if (errors.isEmpty()) {
+                    chunk.add(item);
+                    chunkIndexes.add(index);
+                    if (chunk.size() >= chunkSize) {
+                        flush(chunk, chunkIndexes, itemStatus, writer, results);
+                    }
+                } else {
+                    results.add(new BulkItemResultVM(index, HttpStatus.BAD_REQUEST.value(), null, errors));
+                }
+                index++;
+            }
+        }
+        flush(chunk, chunkIndexes, itemStatus, writer, results);
+
+        results.sort(Comparator.comparingInt(BulkItemResultVM::getIndex));
+        return results;
+    }
+
+    private void flush(
+        List<T> chunk,
+        List<Integer> chunkIndexes,
+        HttpStatus itemStatus,
+        Function<List<T>, List<Long>> writer,
+        List<BulkItemResultVM> results
+    ) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = writer.apply(chunk);
+            for (int i = 0; i < chunkIndexes.size(); i++) {
+                results.add(new BulkItemResultVM(chunkIndexes.get(i), itemStatus.value(), ids.get(i), null));
+            }
+        } catch (DataAccessException | TransactionException e) {
+            if (isTransient(e)) {
+                log.warn("Bulk chunk of {} {} entities failed: {}", chunk.size(), entityName, e.getMessage());
+                chunkIndexes.forEach(index -> results.add(failure(index, e, "error.chunkfailed")));
+            } else if (chunk.size() == 1) {
+                results.add(failure(chunkIndexes.get(0), e, "error.itemfailed"));
+            } else {
+                log.warn("Bulk chunk of {} {} entities failed, writing them one by one: {}", chunk.size(), entityName, e.getMessage());
+                flushOneByOne(chunk, chunkIndexes, itemStatus, writer, results);
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private void flushOneByOne(
+        List<T> chunk,
+        List<Integer> chunkIndexes,
+        HttpStatus itemStatus,
+        Function<List<T>, List<Long>> writer,
+        List<BulkItemResultVM> results
+    ) {
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                Long id = writer.apply(List.of(chunk.get(i))).get(0);
+                results.add(new BulkItemResultVM(chunkIndexes.get(i), itemStatus.value(), id, null));
+            } catch (DataAccessException | TransactionException e) {
+                if (isTransient(e)) {
+                    // The database is unavailable, the remaining items would fail all the same
+                    log.warn("Bulk {} entities failed one by one: {}", entityName, e.getMessage());
+                    chunkIndexes.subList(i, chunkIndexes.size()).forEach(index -> results.add(failure(index, e, "error.chunkfailed")));
+                    return;
+                }
+                log.debug("Bulk {} entity {} failed: {}", entityName, chunkIndexes.get(i), e.getMessage());
+                results.add(failure(chunkIndexes.get(i), e, "error.itemfailed"));
+            }
+        }
+    }
+
+    private static BulkItemResultVM failure(int index, RuntimeException e, String error) {
+        int status = e instanceof DataIntegrityViolationException ? HttpStatus.CONFLICT.value() : HttpStatus.INTERNAL_SERVER_ERROR.value();
+        return new BulkItemResultVM(index, status, null, List.of(error));
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return (
+            e instanceof TransientDataAccessException ||
+            e instanceof RecoverableDataAccessException ||
+            e instanceof DataAccessResourceFailureException ||
+            e instanceof CannotCreateTransactionException
+        );
+    }
+}
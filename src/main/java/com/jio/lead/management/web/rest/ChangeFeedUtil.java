@@ -0,0 +1,119 @@
+package com.jio.lead.management.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.service.dto.ChangeDTO;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling the change feeds, which are read with keyset pagination on {@code (changedAt, id)}.
+ * <p>
+ * Unlike a keyset window, a change feed has no end: the {@code Link} header always points to the changes after the last
+ * one returned, or after the horizon when there are none yet, and the client polls it. Moving the cursor of a client
+ * without changes to the horizon keeps it within the retention of deletions, however long the entities go unchanged.
+ */
+final class ChangeFeedUtil {
+
+    private static final Sort CHANGE_SORT = Sort.by("changedAt", "id");
+
+    private ChangeFeedUtil() {}
+
+    /**
+     * Decode a change feed cursor.
+     *
+     * @param cursor the cursor sent by the client, empty to read the changes from the first one.
+     * @param properties the change feed properties.
+     * @param objectMapper the mapper used to read the cursor.
+     * @param entityName the entity name, used in error messages.
+     * @return the position to read the changes from.
+     * @throws ResponseStatusException {@code 410 (Gone)} if the cursor is older than the tombstones retention, as
+     * deletions after it may have been forgotten.
+     */
+    static KeysetScrollPosition decodeCursor(
+        String cursor,
+        ApplicationProperties.ChangeFeed properties,
+        ObjectMapper objectMapper,
+        String entityName
+    ) {
+        KeysetScrollPosition position = (KeysetScrollPosition) KeysetPaginationUtil.decodeCursor(
+            cursor,
+            CHANGE_SORT,
+            ChangeDTO.class,
+            objectMapper,
+            entityName
+        );
+        Instant changedAt = changedAt(position);
+        if (changedAt != null && changedAt.isBefore(Instant.now().minus(properties.getTombstoneRetention()))) {
+            throw new ResponseStatusException(HttpStatus.GONE, "The cursor is older than the retention of deletions");
+        }
+        return position;
+    }
+
+    /**
+     * @return the change instant of the position, or {@code null} for the first change.
+     */
+    static Instant changedAt(KeysetScrollPosition position) {
+        return (Instant) position.getKeys().get("changedAt");
+    }
+
+    /**
+     * @return the id of the position, or {@code null} for the first change.
+     */
+    static Long id(KeysetScrollPosition position) {
+        return (Long) position.getKeys().get("id");
+    }
+
+    /**
+     * Generate the {@code Link} header pointing to the changes after the given ones.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param position the position the changes were read from.
+     * @param changes the changes being returned.
+     * @param horizon the instant before which the changes were read.
+     * @param size the requested number of changes.
+     * @param objectMapper the mapper used to write the cursor.
+     * @return the headers.
+     */
+    static HttpHeaders generateChangeFeedHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        KeysetScrollPosition position,
+        List<? extends ChangeDTO<?>> changes,
+        Instant horizon,
+        int size,
+        ObjectMapper objectMapper
+    ) {
+        if (!changes.isEmpty()) {
+            ChangeDTO<?> last = changes.get(changes.size() - 1);
+            position = position(last.getChangedAt(), last.getId());
+        } else if (position.isInitial() || changedAt(position).isBefore(horizon)) {
+            // There is no change between the cursor and the horizon: the next ones are from the horizon on, ids being positive
+            position = position(horizon, 0L);
+        }
+        String cursor = position.isInitial() ? "" : KeysetPaginationUtil.encodeCursor(position, objectMapper);
+        String link = uriBuilder
+            .replaceQueryParam("page")
+            .replaceQueryParam(KeysetPaginationUtil.AFTER_PARAMETER, cursor)
+            .replaceQueryParam("size", size)
+            .toUriString();
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        return headers;
+    }
+
+    private static KeysetScrollPosition position(Instant changedAt, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("changedAt", changedAt);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
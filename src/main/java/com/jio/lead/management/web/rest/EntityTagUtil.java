@@ -0,0 +1,108 @@
+package com.jio.lead.management.web.rest;
+
+import com.jio.lead.management.service.SerializedDtoCache;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Utility class for the entity tags of versioned entities: the tag of an entity is its version, quoted.
+ * <p>
+ * The tag is strong for the DTO of the entity alone, which changes only with its version, and doubles as the version
+ * required by {@code If-Match}.
+ */
+final class EntityTagUtil {
+
+    private static final String ANY = "*";
+
+    private EntityTagUtil() {}
+
+    /**
+     * Get the entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the entity tag, or {@code null} if the version is unknown.
+     */
+    static String toEntityTag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Set the entity tag of a version on response headers.
+     *
+     * @param headers the headers.
+     * @param version the version of the entity, or {@code null} to leave the headers unchanged.
+     * @return the headers.
+     */
+    static HttpHeaders withEntityTag(HttpHeaders headers, Long version) {
+        if (version != null) {
+            headers.setETag(toEntityTag(version));
+        }
+        return headers;
+    }
+
+    /**
+     * Check whether an {@code If-None-Match} header matches an entity tag, with the weak comparison.
+     *
+     * @param ifNoneMatch the value of the header.
+     * @param entityTag the entity tag, or {@code null} if it is unknown.
+     * @return {@code true} if the header matches the tag, so that the resource is not modified.
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null || entityTag == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (ANY.equals(tag) || entityTag.equals(tag.startsWith("W/") ? tag.substring(2) : tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the response to a {@code GET} of a serialized DTO, with its entity tag.
+     *
+     * @param dto the serialized DTO, or empty if there is no such entity.
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, or {@code null} to always send the DTO.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the DTO in body, with status
+     * {@code 304 (Not Modified)} if the header matches its version, or with status {@code 404 (Not Found)}.
+     */
+    static ResponseEntity<byte[]> toResponse(Optional<SerializedDtoCache.SerializedDto> dto, String ifNoneMatch) {
+        if (dto.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        HttpHeaders headers = withEntityTag(new HttpHeaders(), dto.orElseThrow().getVersion());
+        if (matchesIfNoneMatch(ifNoneMatch, headers.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_JSON).body(dto.orElseThrow().getJson());
+    }
+
+    /**
+     * Get the version required by an {@code If-Match} header.
+     *
+     * @param ifMatch the value of the header.
+     * @return the version, or {@code null} if the header is missing or matches any version.
+     * @throws ResponseStatusException {@code 412 (Precondition Failed)} if the header does not hold a single strong tag of a
+     * version, which no version can match.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not a version
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The If-Match header does not match any version");
+    }
+}
@@ -0,0 +1,312 @@
+package com.jio.lead.management.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.IdempotentRequestRepository;
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Handler of the requests sent with an {@code Idempotency-Key} header.
+ * <p>
+ * The first response to a key is stored in the {@link #RESPONSES_CACHE} cache, and replayed to the retries sent with
+ * the same key without running the request again. A retry which arrives while the first request is in flight waits for
+ * its response. When {@code application.idempotency.database} is set, keys are also claimed in the
+ * {@code idempotent_request} table, so that this holds across nodes.
+ * <p>
+ * A key can only be used for one request: a retry whose body differs from the first request is rejected. Requests
+ * which fail are not stored, so they can be retried with the same key.
+ */
+@Component
+public class IdempotentRequestHandler {
+
+    public static final String RESPONSES_CACHE = "idempotentResponses";
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private static final TypeReference<LinkedHashMap<String, List<String>>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentRequestHandler.class);
+
+    private final Cache cache;
+
+    private final IdempotentRequestRepository idempotentRequestRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Idempotency properties;
+
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public IdempotentRequestHandler(
+        CacheManager cacheManager,
+        IdempotentRequestRepository idempotentRequestRepository,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(RESPONSES_CACHE));
+        this.idempotentRequestRepository = idempotentRequestRepository;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getIdempotency();
+    }
+
+    /**
+     * Run a request at most once per idempotency key.
+     *
+     * @param scope the scope of the key, usually the entity name, also used in error messages.
+     * @param key the value of the {@code Idempotency-Key} header, or {@code null} to simply run the request.
+     * @param request the body of the request, to check that a key is not used for another request.
+     * @param bodyType the type of the response body.
+     * @param action runs the request.
+     * @param <T> the type of the response body.
+     * @return the response of the request, or the stored response of the first request sent with the key.
+     * @throws URISyntaxException if the request fails with it.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType, RequestAction<T> action)
+        throws URISyntaxException {
+        if (key == null) {
+            return action.execute();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestAlertException("Invalid idempotency key", scope, "idempotencykeyinvalid");
+        }
+        String fingerprint = fingerprint(request);
+        String cacheKey = scope + ":" + key;
+        StoredResponse stored = cache.get(cacheKey, StoredResponse.class);
+        if (stored != null) {
+            return replay(stored, fingerprint, bodyType, scope);
+        }
+
+        CompletableFuture<StoredResponse> inFlight = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> first = inFlightRequests.putIfAbsent(cacheKey, inFlight);
+        if (first != null) {
+            return replay(await(first), fingerprint, bodyType, scope);
+        }
+        try {
+            // The first request may have completed between the cache lookup and the registration
+            stored = cache.get(cacheKey, StoredResponse.class);
+            if (stored == null && properties.isDatabase()) {
+                stored = claimOrAwait(scope, key, fingerprint);
+            }
+            if (stored != null) {
+                inFlight.complete(stored);
+                return replay(stored, fingerprint, bodyType, scope);
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.execute();
+            } catch (URISyntaxException | RuntimeException e) {
+                if (properties.isDatabase()) {
+                    idempotentRequestRepository.release(scope, key);
+                }
+                throw e;
+            }
+            stored = new StoredResponse(fingerprint, response.getStatusCode().value(), toMap(response.getHeaders()), writeJson(response.getBody()));
+            cache.put(cacheKey, stored);
+            if (properties.isDatabase()) {
+                idempotentRequestRepository.complete(scope, key, stored.getStatus(), writeJson(stored.getHeaders()), stored.getBody());
+            }
+            inFlight.complete(stored);
+            return response;
+        } catch (URISyntaxException | RuntimeException e) {
+            inFlight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.completeExceptionally(new IllegalStateException("The first request with the idempotency key did not complete"));
+            inFlightRequests.remove(cacheKey, inFlight);
+        }
+    }
+
+    /**
+     * Delete the responses stored in the database for longer than their time to live.
+     * <p>
+     * This is scheduled to get fired every hour, at half past.
+     */
+    @Scheduled(cron = "0 30 * * * ?")
+    @Transactional
+    public void removeExpiredRequests() {
+        if (!properties.isDatabase()) {
+            return;
+        }
+        int deleted = idempotentRequestRepository.deleteByCreatedAtBefore(Instant.now().minus(properties.getTimeToLive()));
+        log.debug("Deleted {} expired idempotent requests", deleted);
+    }
+
+    /**
+     * Claim the key in the database, or wait for the request of another node which claimed it to complete.
+     *
+     * @return the response of the other request, or {@code null} if the key is claimed.
+     */
+    private StoredResponse claimOrAwait(String scope, String key, String fingerprint) {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (!idempotentRequestRepository.claim(scope, key, fingerprint)) {
+            Optional<IdempotentRequestRepository.IdempotentRequest> claimed = idempotentRequestRepository.findOne(scope, key);
+            if (claimed.isPresent() && claimed.orElseThrow().getStatus() != null) {
+                IdempotentRequestRepository.IdempotentRequest request = claimed.orElseThrow();
+                return new StoredResponse(request.getFingerprint(), request.getStatus(), readHeaders(request.getHeaders()), request.getBody());
+            }
+            if (System.nanoTime() > deadline) {
+                throw inProgress();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+        }
+        return null;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> first) {
+        try {
+            return first.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (ExecutionException e) {
+            // The first request failed, so does this one
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType, String scope) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            throw new BadRequestAlertException("The idempotency key was used for another request", scope, "idempotencykeyreused");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        stored.getHeaders().forEach(headers::addAll);
+        headers.set(IDEMPOTENT_REPLAYED_HEADER, "true");
+        try {
+            T body = stored.getBody() == null ? null : objectMapper.readValue(stored.getBody(), bodyType);
+            return ResponseEntity.status(stored.getStatus()).headers(headers).body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read a stored response", e);
+        }
+    }
+
+    private static ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "A request with the same idempotency key is in progress");
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        }
+    }
+
+    private static LinkedHashMap<String, List<String>> toMap(HttpHeaders headers) {
+        LinkedHashMap<String, List<String>> map = new LinkedHashMap<>();
+        headers.forEach((name, values) -> map.put(name, new ArrayList<>(values)));
+        return map;
+    }
+
+    private LinkedHashMap<String, List<String>> readHeaders(String headers) {
+        try {
+            return objectMapper.readValue(headers, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored headers", e);
+        }
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return value == null ? null : objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store a response", e);
+        }
+    }
+
+    /**
+     * A request run at most once per idempotency key.
+     *
+     * @param <T> the type of the response body.
+     */
+    @FunctionalInterface
+    public interface RequestAction<T> {
+        ResponseEntity<T> execute() throws URISyntaxException;
+    }
+
+    /**
+     * The response of a request, as stored in the cache.
+     */
+    private static final class StoredResponse implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String fingerprint;
+
+        private final int status;
+
+        private final LinkedHashMap<String, List<String>> headers;
+
+        private final String body;
+
+        StoredResponse(String fingerprint, int status, LinkedHashMap<String, List<String>> headers, String body) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        String getBody() {
+            return body;
+        }
+    }
+}
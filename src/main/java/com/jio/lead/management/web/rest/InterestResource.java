@@ -1,24 +1,50 @@
 package com.jio.lead.management.web.rest;
 
-import com.jio.lead.management.repository.InterestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.service.InterestQueryService;
 import com.jio.lead.management.service.InterestService;
+import com.jio.lead.management.service.SerializedDtoCache;
+import com.jio.lead.management.service.TombstoneService;
+import com.jio.lead.management.service.capture.CaptureService;
+import com.jio.lead.management.service.criteria.InterestCriteria;
+import com.jio.lead.management.service.dto.ChangeDTO;
 import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.dto.PurchaseConfirmationDTO;
+import com.jio.lead.management.service.dto.PurchaseReconciliationDTO;
 import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import com.jio.lead.management.web.rest.vm.BulkItemResultVM;
+import com.jio.lead.management.web.rest.vm.CaptureReceiptVM;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,50 +61,216 @@ public class InterestResource {
 
     private static final String ENTITY_NAME = "interest";
 
+    private static final Map<String, Function<InterestDTO, Object>> EXPORT_COLUMNS = exportColumns();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final InterestService interestService;
 
-    private final InterestRepository interestRepository;
+    private final InterestQueryService interestQueryService;
+
+    private final CaptureService captureService;
+
+    private final IdempotentRequestHandler idempotentRequestHandler;
+
+    private final SerializedDtoCache serializedDtoCache;
+
+    private final TombstoneService tombstoneService;
+
+    private final ApplicationProperties applicationProperties;
 
-    public InterestResource(InterestService interestService, InterestRepository interestRepository) {
+    private final ObjectMapper objectMapper;
+
+    private final BulkRequestProcessor<InterestDTO> bulkRequestProcessor;
+
+    public InterestResource(
+        InterestService interestService,
+        InterestQueryService interestQueryService,
+        CaptureService captureService,
+        IdempotentRequestHandler idempotentRequestHandler,
+        SerializedDtoCache serializedDtoCache,
+        TombstoneService tombstoneService,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        Validator validator
+    ) {
         this.interestService = interestService;
-        this.interestRepository = interestRepository;
+        this.interestQueryService = interestQueryService;
+        this.captureService = captureService;
+        this.idempotentRequestHandler = idempotentRequestHandler;
+        this.serializedDtoCache = serializedDtoCache;
+        this.tombstoneService = tombstoneService;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+        this.bulkRequestProcessor = new BulkRequestProcessor<>(objectMapper, validator, InterestDTO.class, ENTITY_NAME, InterestDTO::getId);
     }
 
     /**
      * {@code POST  /interests} : Create a new interest.
+     * <p>
+     * When an {@code Idempotency-Key} header is sent, retries with the same key get the response of the first request,
+     * without creating another interest.
      *
      * @param interestDTO the interestDTO to create.
+     * @param idempotencyKey the optional idempotency key of the request.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new interestDTO, or with status {@code 400 (Bad Request)} if the interest has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<InterestDTO> createInterest(@Valid @RequestBody InterestDTO interestDTO) throws URISyntaxException {
+    public ResponseEntity<InterestDTO> createInterest(
+        @Valid @RequestBody InterestDTO interestDTO,
+        @RequestHeader(name = IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) throws URISyntaxException {
         log.debug("REST request to save Interest : {}", interestDTO);
         if (interestDTO.getId() != null) {
             throw new BadRequestAlertException("A new interest cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        interestDTO = interestService.save(interestDTO);
-        return ResponseEntity.created(new URI("/api/interests/" + interestDTO.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, interestDTO.getId().toString()))
+        return idempotentRequestHandler.execute(ENTITY_NAME, idempotencyKey, interestDTO, InterestDTO.class, () -> {
+            InterestDTO result = interestService.save(interestDTO);
+            return ResponseEntity.created(new URI("/api/interests/" + result.getId()))
+                .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                .body(result);
+        });
+    }
+
+    /**
+     * {@code POST  /interests/_bulk} : Create many interests at once.
+     * <p>
+     * The body is read as a stream, so the array can be arbitrarily large. Valid items are saved in chunks of
+     * {@code application.bulk.chunk-size}, one transaction per chunk.
+     *
+     * @param body the JSON array of interestDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in request order.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultVM>> createInterestsInBulk(InputStream body) throws IOException {
+        log.debug("REST request to save Interests in bulk");
+        List<BulkItemResultVM> results = bulkRequestProcessor.process(
+            body,
+            applicationProperties.getBulk().getChunkSize(),
+            chunk -> interestService.saveAll(chunk).stream().map(InterestDTO::getId).toList()
+        );
+        return ResponseEntity.ok().body(results);
+    }
+
+    /**
+     * {@code POST  /interests/_capture} : Capture a new interest, which is saved shortly after the response.
+     * <p>
+     * When {@code application.capture.enabled} is set, the interest is validated and written to the local capture journal,
+     * and the response only carries a tracking id. Otherwise it is saved before responding, as with {@code POST /interests}.
+     *
+     * @param interestDTO the interestDTO to capture.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the tracking id,
+     * or with status {@code 201 (Created)} and with body the new id if capture is disabled,
+     * or with status {@code 400 (Bad Request)} if the interest has already an ID,
+     * or with status {@code 429 (Too Many Requests)} if the capture buffer is full or the capture journal too slow.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_capture")
+    public ResponseEntity<CaptureReceiptVM> captureInterest(@Valid @RequestBody InterestDTO interestDTO) throws URISyntaxException {
+        log.debug("REST request to capture Interest : {}", interestDTO);
+        if (interestDTO.getId() != null) {
+            throw new BadRequestAlertException("A new interest cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        if (!captureService.isEnabled()) {
+            interestDTO = interestService.save(interestDTO);
+            return ResponseEntity.created(new URI("/api/interests/" + interestDTO.getId())).body(
+                new CaptureReceiptVM(null, interestDTO.getId())
+            );
+        }
+        UUID trackingId = captureService.captureInterest(interestDTO);
+        return ResponseEntity.accepted().body(new CaptureReceiptVM(trackingId, null));
+    }
+
+    /**
+     * {@code PUT  /interests/_upsert} : Create a interest, or update the interest of the same lead with the same article id.
+     * <p>
+     * The interest is written with a single statement, without being read first. Its fields replace those of the existing interest, except the creation audit fields. An interest without lead or article id
+     * is always created.
+     *
+     * @param interestDTO the interestDTO to upsert.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upserted interestDTO,
+     * or with status {@code 400 (Bad Request)} if the interestDTO is not valid or has an ID.
+     */
+    @PutMapping("/_upsert")
+    public ResponseEntity<InterestDTO> upsertInterest(@Valid @RequestBody InterestDTO interestDTO) {
+        log.debug("REST request to upsert Interest : {}", interestDTO);
+        if (interestDTO.getId() != null) {
+            throw new BadRequestAlertException("An upserted interest cannot have an ID", ENTITY_NAME, "idexists");
+        }
+        interestDTO = interestService.upsert(interestDTO);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, interestDTO.getId().toString()))
             .body(interestDTO);
     }
 
+    /**
+     * {@code PUT  /interests/_bulk} : Create or update many interests at once, as {@code PUT /interests/_upsert} does.
+     * <p>
+     * The body is read as a stream, so the array can be arbitrarily large. Valid items are upserted in chunks of
+     * {@code application.bulk.chunk-size}, one transaction per chunk and one statement per item.
+     *
+     * @param body the JSON array of interestDTOs to upsert.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in request order.
+     * @throws IOException if the body cannot be read.
+     */
+    @PutMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultVM>> upsertInterestsInBulk(InputStream body) throws IOException {
+        log.debug("REST request to upsert Interests in bulk");
+        List<BulkItemResultVM> results = bulkRequestProcessor.process(
+            body,
+            applicationProperties.getBulk().getChunkSize(),
+            HttpStatus.OK,
+            chunk -> interestService.upsertAll(chunk).stream().map(InterestDTO::getId).toList()
+        );
+        return ResponseEntity.ok().body(results);
+    }
+
+    /**
+     * {@code POST  /interests/_purchases} : Mark as purchased the interests confirmed by the order system.
+     * <p>
+     * Each confirmation marks as purchased the interests with its order id and article id. The confirmations are applied in
+     * chunks of {@code application.bulk.chunk-size}, one transaction and one statement per chunk.
+     *
+     * @param confirmations the purchase confirmations.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of matched and unmatched
+     * confirmations, and of purchased interests.
+     */
+    @PostMapping("/_purchases")
+    public ResponseEntity<PurchaseReconciliationDTO> reconcilePurchases(
+        @Valid @RequestBody List<@Valid PurchaseConfirmationDTO> confirmations
+    ) {
+        log.debug("REST request to reconcile {} purchase confirmations", confirmations.size());
+        int chunkSize = applicationProperties.getBulk().getChunkSize();
+        PurchaseReconciliationDTO reconciliation = new PurchaseReconciliationDTO();
+        for (int from = 0; from < confirmations.size(); from += chunkSize) {
+            List<PurchaseConfirmationDTO> chunk = confirmations.subList(from, Math.min(from + chunkSize, confirmations.size()));
+            reconciliation.add(interestService.reconcilePurchases(chunk));
+        }
+        return ResponseEntity.ok().body(reconciliation);
+    }
+
     /**
      * {@code PUT  /interests/:id} : Updates an existing interest.
+     * <p>
+     * The update is a single statement. When an {@code If-Match} header holds the {@code ETag} of the interest, or else
+     * when the interestDTO has a version, the interest is only updated if it is still at this version.
      *
      * @param id the id of the interestDTO to save.
+     * @param ifMatch the entity tag the interest must match, if any.
      * @param interestDTO the interestDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated interestDTO,
      * or with status {@code 400 (Bad Request)} if the interestDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the interest is no longer at the version,
      * or with status {@code 500 (Internal Server Error)} if the interestDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<InterestDTO> updateInterest(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody InterestDTO interestDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Interest : {}, {}", id, interestDTO);
@@ -89,30 +281,39 @@ public class InterestResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!interestRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        requireVersion(interestDTO, ifMatch);
 
-        interestDTO = interestService.update(interestDTO);
+        interestDTO = interestService
+            .update(interestDTO)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, interestDTO.getId().toString()))
+            .headers(
+                EntityTagUtil.withEntityTag(
+                    HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, interestDTO.getId().toString()),
+                    interestDTO.getVersion()
+                )
+            )
             .body(interestDTO);
     }
 
     /**
      * {@code PATCH  /interests/:id} : Partial updates given fields of an existing interest, field will ignore if it is null
+     * <p>
+     * The update is guarded by the {@code If-Match} header or the version as {@code PUT /interests/:id} is.
      *
      * @param id the id of the interestDTO to save.
+     * @param ifMatch the entity tag the interest must match, if any.
      * @param interestDTO the interestDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated interestDTO,
-     * or with status {@code 400 (Bad Request)} if the interestDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the interestDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the interestDTO is not valid or not found,
+     * or with status {@code 412 (Precondition Failed)} if the interest is no longer at the version,
      * or with status {@code 500 (Internal Server Error)} if the interestDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<InterestDTO> partialUpdateInterest(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody InterestDTO interestDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Interest partially : {}, {}", id, interestDTO);
@@ -123,43 +324,176 @@ public class InterestResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!interestRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<InterestDTO> result = interestService.partialUpdate(interestDTO);
+        requireVersion(interestDTO, ifMatch);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, interestDTO.getId().toString())
-        );
+        interestDTO = interestService
+            .partialUpdate(interestDTO)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(
+                EntityTagUtil.withEntityTag(
+                    HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, interestDTO.getId().toString()),
+                    interestDTO.getVersion()
+                )
+            )
+            .body(interestDTO);
     }
 
     /**
      * {@code GET  /interests} : get all the interests.
+     * <p>
+     * When the {@code after} parameter is present (empty for the first window), the interests are read with keyset pagination:
+     * the page number is ignored and the {@code Link} header holds the cursor of the next window, if any.
+     * <p>
+     * The {@code count} parameter avoids counting the whole table on every page: with {@code none} or {@code estimate} a
+     * slice is read instead of a page, and {@code X-Total-Count} is respectively omitted or estimated. The estimate is of
+     * the whole table, whatever the criteria.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
+     * @param after the cursor returned with the previous window, for keyset pagination.
+     * @param count how to compute the total count: {@code exact}, {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of interests in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<InterestDTO>> getAllInterests(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
-        log.debug("REST request to get a page of Interests");
-        Page<InterestDTO> page = interestService.findAll(pageable);
+    public ResponseEntity<List<InterestDTO>> getAllInterests(
+        InterestCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, defaultValue = SlicePaginationUtil.COUNT_EXACT) String count
+    ) {
+        if (after != null) {
+            log.debug("REST request to get a window of Interests by criteria: {}", criteria);
+            ScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                pageable.getSort(),
+                InterestDTO.class,
+                objectMapper,
+                ENTITY_NAME
+            );
+            Window<InterestDTO> window = interestQueryService.findByCriteria(
+                criteria,
+                position,
+                pageable.getSort(),
+                pageable.getPageSize()
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window,
+                pageable.getPageSize(),
+                objectMapper
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!SlicePaginationUtil.isExactCount(count, ENTITY_NAME)) {
+            log.debug("REST request to get a slice of Interests by criteria: {}", criteria);
+            Slice<InterestDTO> slice = interestQueryService.findSliceByCriteria(criteria, pageable);
+            Long totalCount = SlicePaginationUtil.COUNT_ESTIMATE.equals(count) ? interestService.countEstimate() : null;
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                totalCount
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        log.debug("REST request to get Interests by criteria: {}", criteria);
+        Page<InterestDTO> page = interestQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /interests/count} : count all the interests.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countInterests(InterestCriteria criteria) {
+        log.debug("REST request to count Interests by criteria: {}", criteria);
+        return ResponseEntity.ok().body(interestQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /interests/changes} : get the changes of interests after a cursor, for downstream systems to keep in sync.
+     * <p>
+     * Each change holds the latest state of a interest, or a tombstone if it was deleted, in {@code (changedAt, id)} order. The
+     * {@code Link} header always holds the cursor after the last change, or after the horizon when there are none, to poll
+     * for the next ones; an empty cursor reads the changes from the first one. Only the changes older than {@code application.change-feed.lag},
+     * and than the start of the oldest transaction still writing, are returned, so that no change is committed behind a cursor.
+     * Archived interests are not deleted as far as the change feed is concerned.
+     *
+     * @param after the cursor returned with the previous changes, empty for the first ones.
+     * @param pageable the pagination information, of which only the size is used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of changes in body,
+     * or with status {@code 410 (Gone)} if the cursor is older than {@code application.change-feed.tombstone-retention}.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<ChangeDTO<InterestDTO>>> getInterestChanges(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, defaultValue = "") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the changes of Interests after : {}", after);
+        ApplicationProperties.ChangeFeed properties = applicationProperties.getChangeFeed();
+        KeysetScrollPosition position = ChangeFeedUtil.decodeCursor(after, properties, objectMapper, ENTITY_NAME);
+        Instant horizon = tombstoneService.horizon();
+        List<ChangeDTO<InterestDTO>> changes = interestService.findChanges(
+            ChangeFeedUtil.changedAt(position),
+            ChangeFeedUtil.id(position),
+            horizon,
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = ChangeFeedUtil.generateChangeFeedHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            position,
+            changes,
+            horizon,
+            pageable.getPageSize(),
+            objectMapper
+        );
+        return ResponseEntity.ok().headers(headers).body(changes);
+    }
+
+    /**
+     * {@code GET  /interests/export} : export all the interests.
+     * <p>
+     * The interests are streamed from a database cursor as they are written, so the export holds no more than a fetch of
+     * rows in memory whatever their number.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @param gzip whether to compress the response on the fly.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the interests streamed in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInterests(
+        @RequestParam(name = "format", defaultValue = StreamingExportUtil.FORMAT_NDJSON) String format,
+        @RequestParam(name = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        log.debug("REST request to export Interests as {}", format);
+        return StreamingExportUtil.export("interests", format, gzip, objectMapper, EXPORT_COLUMNS, interestService::exportAll, ENTITY_NAME);
+    }
+
     /**
      * {@code GET  /interests/:id} : get the "id" interest.
+     * <p>
+     * The interest is answered from the {@link SerializedDtoCache}, or with {@code 304 (Not Modified)} when the
+     * {@code If-None-Match} header matches its entity tag.
      *
      * @param id the id of the interestDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the interestDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the versions of the interest the client holds, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the interestDTO, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<InterestDTO> getInterest(@PathVariable("id") Long id) {
+    public ResponseEntity<byte[]> getInterest(
+        @PathVariable("id") Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Interest : {}", id);
-        Optional<InterestDTO> interestDTO = interestService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(interestDTO);
+        return EntityTagUtil.toResponse(
+            serializedDtoCache.get(ENTITY_NAME, id, () -> interestService.findOne(id), InterestDTO::getVersion),
+            ifNoneMatch
+        );
     }
 
     /**
@@ -176,4 +510,30 @@ public class InterestResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Require the version of the {@code If-Match} header, if any, in place of the version of the interestDTO.
+     */
+    private static void requireVersion(InterestDTO interestDTO, String ifMatch) {
+        Long version = EntityTagUtil.parseIfMatch(ifMatch);
+        if (version != null) {
+            interestDTO.setVersion(version);
+        }
+    }
+
+    private static Map<String, Function<InterestDTO, Object>> exportColumns() {
+        Map<String, Function<InterestDTO, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", InterestDTO::getId);
+        columns.put("category", InterestDTO::getCategory);
+        columns.put("brand", InterestDTO::getBrand);
+        columns.put("articleId", InterestDTO::getArticleId);
+        columns.put("orderId", InterestDTO::getOrderId);
+        columns.put("isPurchased", InterestDTO::getIsPurchased);
+        columns.put("createdAt", InterestDTO::getCreatedAt);
+        columns.put("createdBy", InterestDTO::getCreatedBy);
+        columns.put("updatedAt", InterestDTO::getUpdatedAt);
+        columns.put("updatedBy", InterestDTO::getUpdatedBy);
+        columns.put("leadId", interestDTO -> interestDTO.getLead() == null ? null : interestDTO.getLead().getId());
+        return columns;
+    }
 }
@@ -0,0 +1,101 @@
+package com.jio.lead.management.web.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * The position of the last element of a window is sent to the client as an opaque cursor, which is a Base64 encoded JSON
+ * object of the sort key values of that element. The client passes it back in the {@code after} request parameter.
+ */
+final class KeysetPaginationUtil {
+
+    static final String AFTER_PARAMETER = "after";
+
+    private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {};
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode a cursor into a scroll position.
+     *
+     * @param cursor the cursor sent by the client, empty for the first window.
+     * @param sort the requested sort, every sort property must be present in the cursor.
+     * @param dtoType the DTO type, used to convert the key values back to their property types.
+     * @param objectMapper the mapper used to read the cursor.
+     * @param entityName the entity name, used in error messages.
+     * @return the position to scroll from.
+     */
+    static ScrollPosition decodeCursor(String cursor, Sort sort, Class<?> dtoType, ObjectMapper objectMapper, String entityName) {
+        if (cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            Map<String, Object> keys = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+            for (Sort.Order order : sort) {
+                if (!keys.containsKey(order.getProperty())) {
+                    throw new BadRequestAlertException("The cursor does not match the sort order", entityName, "cursorinvalid");
+                }
+            }
+            Map<String, Object> typedKeys = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> key : keys.entrySet()) {
+                Class<?> propertyType = BeanUtils.findPropertyType(key.getKey(), dtoType);
+                typedKeys.put(key.getKey(), objectMapper.convertValue(key.getValue(), propertyType));
+            }
+            return ScrollPosition.forward(typedKeys);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the {@code Link} header pointing to the window after the given one, if there is one.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param window the window being returned.
+     * @param size the requested window size.
+     * @param objectMapper the mapper used to write the cursor.
+     * @return the headers.
+     */
+    static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<?> window, int size, ObjectMapper objectMapper) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            String link = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(AFTER_PARAMETER, encodeCursor(position, objectMapper))
+                .replaceQueryParam("size", size)
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * Encode a scroll position into a cursor.
+     *
+     * @param position the position.
+     * @param objectMapper the mapper used to write the cursor.
+     * @return the cursor.
+     */
+    static String encodeCursor(KeysetScrollPosition position, ObjectMapper objectMapper) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(position.getKeys()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write the keyset cursor", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.jio.lead.management.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jio.lead.management.security.AuthoritiesConstants;
+import com.jio.lead.management.service.InvalidCsvException;
+import com.jio.lead.management.service.LeadImportService;
+import com.jio.lead.management.service.dto.LeadImportEventDTO;
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for importing {@link com.jio.lead.management.domain.Lead} entities from CSV files.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class LeadImportResource {
+
+    private static final Logger log = LoggerFactory.getLogger(LeadImportResource.class);
+
+    private static final String ENTITY_NAME = "lead";
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LeadImportService leadImportService;
+
+    private final ObjectMapper objectMapper;
+
+    public LeadImportResource(LeadImportService leadImportService, ObjectMapper objectMapper) {
+        this.leadImportService = leadImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@code POST  /admin/leads/import} : import leads from a CSV file.
+     * <p>
+     * The file must have a header naming a {@code name} and a {@code phone} column. It is streamed from the request
+     * body, and leads already imported with the same phone are updated. The response streams newline-delimited JSON
+     * events as the file is read: one per rejected row, one per chunk of rows for the progress of the import, and a
+     * last one with its outcome. Valid rows are only saved once the whole file is read.
+     *
+     * @param csv the CSV file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the import events streamed in body, or with status {@code 400 (Bad Request)} if the header is not valid.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping(value = "/leads/import", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<StreamingResponseBody> importLeads(InputStream csv) throws IOException {
+        log.debug("REST request to import Leads");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), BUFFER_SIZE);
+        LeadImportService.CsvHeader header;
+        try {
+            header = leadImportService.readHeader(reader);
+        } catch (InvalidCsvException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "csvinvalid");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (
+                SequenceWriter writer = objectMapper
+                    .writer()
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)
+            ) {
+                leadImportService.importLeads(reader, header, event -> {
+                    try {
+                        writer.write(event);
+                        if (event.getType() != LeadImportEventDTO.Type.REJECT) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -1,24 +1,55 @@
 package com.jio.lead.management.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.config.ApplicationProperties;
 import com.jio.lead.management.repository.LeadRepository;
+import com.jio.lead.management.security.AuthoritiesConstants;
+import com.jio.lead.management.service.InterestService;
+import com.jio.lead.management.service.LeadQueryService;
 import com.jio.lead.management.service.LeadService;
+import com.jio.lead.management.service.SerializedDtoCache;
+import com.jio.lead.management.service.TombstoneService;
+import com.jio.lead.management.service.capture.CaptureService;
+import com.jio.lead.management.service.criteria.LeadCriteria;
+import com.jio.lead.management.service.dto.ChangeDTO;
+import com.jio.lead.management.service.dto.InterestDTO;
 import com.jio.lead.management.service.dto.LeadDTO;
+import com.jio.lead.management.service.dto.LeadDeletionDTO;
 import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import com.jio.lead.management.web.rest.vm.BulkItemResultVM;
+import com.jio.lead.management.web.rest.vm.CaptureReceiptVM;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,50 +66,199 @@ public class LeadResource {
 
     private static final String ENTITY_NAME = "lead";
 
+    private static final String INCLUDE_INTERESTS = "interests";
+
+    private static final Map<String, Function<LeadDTO, Object>> EXPORT_COLUMNS = exportColumns();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final LeadService leadService;
 
+    private final InterestService interestService;
+
     private final LeadRepository leadRepository;
 
-    public LeadResource(LeadService leadService, LeadRepository leadRepository) {
+    private final LeadQueryService leadQueryService;
+
+    private final CaptureService captureService;
+
+    private final IdempotentRequestHandler idempotentRequestHandler;
+
+    private final SerializedDtoCache serializedDtoCache;
+
+    private final TombstoneService tombstoneService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final BulkRequestProcessor<LeadDTO> bulkRequestProcessor;
+
+    public LeadResource(
+        LeadService leadService,
+        InterestService interestService,
+        LeadRepository leadRepository,
+        LeadQueryService leadQueryService,
+        CaptureService captureService,
+        IdempotentRequestHandler idempotentRequestHandler,
+        SerializedDtoCache serializedDtoCache,
+        TombstoneService tombstoneService,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        Validator validator
+    ) {
         this.leadService = leadService;
+        this.interestService = interestService;
         this.leadRepository = leadRepository;
+        this.leadQueryService = leadQueryService;
+        this.captureService = captureService;
+        this.idempotentRequestHandler = idempotentRequestHandler;
+        this.serializedDtoCache = serializedDtoCache;
+        this.tombstoneService = tombstoneService;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+        this.bulkRequestProcessor = new BulkRequestProcessor<>(objectMapper, validator, LeadDTO.class, ENTITY_NAME, LeadDTO::getId);
     }
 
     /**
      * {@code POST  /leads} : Create a new lead.
+     * <p>
+     * When an {@code Idempotency-Key} header is sent, retries with the same key get the response of the first request,
+     * without creating another lead.
      *
      * @param leadDTO the leadDTO to create.
+     * @param idempotencyKey the optional idempotency key of the request.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new leadDTO, or with status {@code 400 (Bad Request)} if the lead has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<LeadDTO> createLead(@Valid @RequestBody LeadDTO leadDTO) throws URISyntaxException {
+    public ResponseEntity<LeadDTO> createLead(
+        @Valid @RequestBody LeadDTO leadDTO,
+        @RequestHeader(name = IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) throws URISyntaxException {
         log.debug("REST request to save Lead : {}", leadDTO);
         if (leadDTO.getId() != null) {
             throw new BadRequestAlertException("A new lead cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        leadDTO = leadService.save(leadDTO);
-        return ResponseEntity.created(new URI("/api/leads/" + leadDTO.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, leadDTO.getId().toString()))
+        return idempotentRequestHandler.execute(ENTITY_NAME, idempotencyKey, leadDTO, LeadDTO.class, () -> {
+            LeadDTO result = leadService.save(leadDTO);
+            return ResponseEntity.created(new URI("/api/leads/" + result.getId()))
+                .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                .body(result);
+        });
+    }
+
+    /**
+     * {@code POST  /leads/_bulk} : Create many leads at once.
+     * <p>
+     * The body is read as a stream, so the array can be arbitrarily large. Valid items are saved in chunks of
+     * {@code application.bulk.chunk-size}, one transaction per chunk.
+     *
+     * @param body the JSON array of leadDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in request order.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultVM>> createLeadsInBulk(InputStream body) throws IOException {
+        log.debug("REST request to save Leads in bulk");
+        List<BulkItemResultVM> results = bulkRequestProcessor.process(
+            body,
+            applicationProperties.getBulk().getChunkSize(),
+            chunk -> leadService.saveAll(chunk).stream().map(LeadDTO::getId).toList()
+        );
+        return ResponseEntity.ok().body(results);
+    }
+
+    /**
+     * {@code POST  /leads/_capture} : Capture a new lead, which is saved shortly after the response.
+     * <p>
+     * When {@code application.capture.enabled} is set, the lead is validated and written to the local capture journal, and
+     * the response only carries a tracking id. Otherwise it is saved before responding, as with {@code POST /leads}.
+     *
+     * @param leadDTO the leadDTO to capture.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the tracking id,
+     * or with status {@code 201 (Created)} and with body the new id if capture is disabled,
+     * or with status {@code 400 (Bad Request)} if the lead has already an ID,
+     * or with status {@code 429 (Too Many Requests)} if the capture buffer is full or the capture journal too slow.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_capture")
+    public ResponseEntity<CaptureReceiptVM> captureLead(@Valid @RequestBody LeadDTO leadDTO) throws URISyntaxException {
+        log.debug("REST request to capture Lead : {}", leadDTO);
+        if (leadDTO.getId() != null) {
+            throw new BadRequestAlertException("A new lead cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        if (!captureService.isEnabled()) {
+            leadDTO = leadService.save(leadDTO);
+            return ResponseEntity.created(new URI("/api/leads/" + leadDTO.getId())).body(new CaptureReceiptVM(null, leadDTO.getId()));
+        }
+        UUID trackingId = captureService.captureLead(leadDTO);
+        return ResponseEntity.accepted().body(new CaptureReceiptVM(trackingId, null));
+    }
+
+    /**
+     * {@code PUT  /leads/_upsert} : Create a lead, or update the lead with the same phone.
+     * <p>
+     * The lead is written with a single statement, without being read first. Its name and update audit fields replace those of the existing lead.
+     *
+     * @param leadDTO the leadDTO to upsert.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upserted leadDTO,
+     * or with status {@code 400 (Bad Request)} if the leadDTO is not valid or has an ID.
+     */
+    @PutMapping("/_upsert")
+    public ResponseEntity<LeadDTO> upsertLead(@Valid @RequestBody LeadDTO leadDTO) {
+        log.debug("REST request to upsert Lead : {}", leadDTO);
+        if (leadDTO.getId() != null) {
+            throw new BadRequestAlertException("An upserted lead cannot have an ID", ENTITY_NAME, "idexists");
+        }
+        leadDTO = leadService.upsert(leadDTO);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, leadDTO.getId().toString()))
             .body(leadDTO);
     }
 
+    /**
+     * {@code PUT  /leads/_bulk} : Create or update many leads at once, as {@code PUT /leads/_upsert} does.
+     * <p>
+     * The body is read as a stream, so the array can be arbitrarily large. Valid items are upserted in chunks of
+     * {@code application.bulk.chunk-size}, one transaction per chunk and one statement per item.
+     *
+     * @param body the JSON array of leadDTOs to upsert.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in request order.
+     * @throws IOException if the body cannot be read.
+     */
+    @PutMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultVM>> upsertLeadsInBulk(InputStream body) throws IOException {
+        log.debug("REST request to upsert Leads in bulk");
+        List<BulkItemResultVM> results = bulkRequestProcessor.process(
+            body,
+            applicationProperties.getBulk().getChunkSize(),
+            HttpStatus.OK,
+            chunk -> leadService.upsertAll(chunk).stream().map(LeadDTO::getId).toList()
+        );
+        return ResponseEntity.ok().body(results);
+    }
+
     /**
      * {@code PUT  /leads/:id} : Updates an existing lead.
+     * <p>
+     * The update is a single statement. When an {@code If-Match} header holds the {@code ETag} of the lead, or else
+     * when the leadDTO has a version, the lead is only updated if it is still at this version.
      *
      * @param id the id of the leadDTO to save.
+     * @param ifMatch the entity tag the lead must match, if any.
      * @param leadDTO the leadDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated leadDTO,
      * or with status {@code 400 (Bad Request)} if the leadDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the lead is no longer at the version,
      * or with status {@code 500 (Internal Server Error)} if the leadDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<LeadDTO> updateLead(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody LeadDTO leadDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Lead : {}, {}", id, leadDTO);
@@ -89,30 +269,39 @@ public class LeadResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!leadRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        requireVersion(leadDTO, ifMatch);
 
-        leadDTO = leadService.update(leadDTO);
+        leadDTO = leadService
+            .update(leadDTO)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, leadDTO.getId().toString()))
+            .headers(
+                EntityTagUtil.withEntityTag(
+                    HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, leadDTO.getId().toString()),
+                    leadDTO.getVersion()
+                )
+            )
             .body(leadDTO);
     }
 
     /**
      * {@code PATCH  /leads/:id} : Partial updates given fields of an existing lead, field will ignore if it is null
+     * <p>
+     * The update is guarded by the {@code If-Match} header or the version as {@code PUT /leads/:id} is.
      *
      * @param id the id of the leadDTO to save.
+     * @param ifMatch the entity tag the lead must match, if any.
      * @param leadDTO the leadDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated leadDTO,
-     * or with status {@code 400 (Bad Request)} if the leadDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the leadDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the leadDTO is not valid or not found,
+     * or with status {@code 412 (Precondition Failed)} if the lead is no longer at the version,
      * or with status {@code 500 (Internal Server Error)} if the leadDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<LeadDTO> partialUpdateLead(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody LeadDTO leadDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Lead partially : {}, {}", id, leadDTO);
@@ -123,43 +312,233 @@ public class LeadResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!leadRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<LeadDTO> result = leadService.partialUpdate(leadDTO);
+        requireVersion(leadDTO, ifMatch);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, leadDTO.getId().toString())
-        );
+        leadDTO = leadService
+            .partialUpdate(leadDTO)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(
+                EntityTagUtil.withEntityTag(
+                    HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, leadDTO.getId().toString()),
+                    leadDTO.getVersion()
+                )
+            )
+            .body(leadDTO);
     }
 
     /**
      * {@code GET  /leads} : get all the leads.
+     * <p>
+     * When the {@code after} parameter is present (empty for the first window), the leads are read with keyset pagination:
+     * the page number is ignored and the {@code Link} header holds the cursor of the next window, if any.
+     * <p>
+     * The {@code count} parameter avoids counting the whole table on every page: with {@code none} or {@code estimate} a
+     * slice is read instead of a page, and {@code X-Total-Count} is respectively omitted or estimated. The estimate is of
+     * the whole table, whatever the criteria.
+     * <p>
+     * With {@code include=interests} each lead embeds its interests, loaded with one extra query for the whole page.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
+     * @param after the cursor returned with the previous window, for keyset pagination.
+     * @param count how to compute the total count: {@code exact}, {@code estimate} or {@code none}.
+     * @param include {@code interests} to embed the interests of each lead.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of leads in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<LeadDTO>> getAllLeads(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
-        log.debug("REST request to get a page of Leads");
-        Page<LeadDTO> page = leadService.findAll(pageable);
+    public ResponseEntity<List<LeadDTO>> getAllLeads(
+        LeadCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, defaultValue = SlicePaginationUtil.COUNT_EXACT) String count,
+        @RequestParam(name = "include", required = false) String include
+    ) {
+        boolean withInterests = includesInterests(include);
+        if (after != null) {
+            if (withInterests) {
+                throw new BadRequestAlertException(
+                    "Interests cannot be included with keyset pagination",
+                    ENTITY_NAME,
+                    "includeunsupported"
+                );
+            }
+            log.debug("REST request to get a window of Leads by criteria: {}", criteria);
+            ScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                pageable.getSort(),
+                LeadDTO.class,
+                objectMapper,
+                ENTITY_NAME
+            );
+            Window<LeadDTO> window = leadQueryService.findByCriteria(criteria, position, pageable.getSort(), pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window,
+                pageable.getPageSize(),
+                objectMapper
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!SlicePaginationUtil.isExactCount(count, ENTITY_NAME)) {
+            log.debug("REST request to get a slice of Leads by criteria: {}", criteria);
+            Slice<LeadDTO> slice = withInterests
+                ? leadQueryService.findSliceByCriteriaWithEagerRelationships(criteria, pageable)
+                : leadQueryService.findSliceByCriteria(criteria, pageable);
+            Long totalCount = SlicePaginationUtil.COUNT_ESTIMATE.equals(count) ? leadService.countEstimate() : null;
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                totalCount
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        log.debug("REST request to get Leads by criteria: {}", criteria);
+        Page<LeadDTO> page = withInterests
+            ? leadQueryService.findByCriteriaWithEagerRelationships(criteria, pageable)
+            : leadQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /leads/count} : count all the leads.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countLeads(LeadCriteria criteria) {
+        log.debug("REST request to count Leads by criteria: {}", criteria);
+        return ResponseEntity.ok().body(leadQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /leads/changes} : get the changes of leads after a cursor, for downstream systems to keep in sync.
+     * <p>
+     * Each change holds the latest state of a lead, or a tombstone if it was deleted, in {@code (changedAt, id)} order. The
+     * {@code Link} header always holds the cursor after the last change, or after the horizon when there are none, to poll
+     * for the next ones; an empty cursor reads the changes from the first one. Only the changes older than {@code application.change-feed.lag},
+     * and than the start of the oldest transaction still writing, are returned, so that no change is committed behind a cursor.
+     *
+     * @param after the cursor returned with the previous changes, empty for the first ones.
+     * @param pageable the pagination information, of which only the size is used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of changes in body,
+     * or with status {@code 410 (Gone)} if the cursor is older than {@code application.change-feed.tombstone-retention}.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<ChangeDTO<LeadDTO>>> getLeadChanges(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, defaultValue = "") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the changes of Leads after : {}", after);
+        ApplicationProperties.ChangeFeed properties = applicationProperties.getChangeFeed();
+        KeysetScrollPosition position = ChangeFeedUtil.decodeCursor(after, properties, objectMapper, ENTITY_NAME);
+        Instant horizon = tombstoneService.horizon();
+        List<ChangeDTO<LeadDTO>> changes = leadService.findChanges(
+            ChangeFeedUtil.changedAt(position),
+            ChangeFeedUtil.id(position),
+            horizon,
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = ChangeFeedUtil.generateChangeFeedHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            position,
+            changes,
+            horizon,
+            pageable.getPageSize(),
+            objectMapper
+        );
+        return ResponseEntity.ok().headers(headers).body(changes);
+    }
+
+    /**
+     * {@code GET  /leads/export} : export all the leads.
+     * <p>
+     * The leads are streamed from a database cursor as they are written, so the export holds no more than a fetch of
+     * rows in memory whatever their number.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @param gzip whether to compress the response on the fly.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the leads streamed in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLeads(
+        @RequestParam(name = "format", defaultValue = StreamingExportUtil.FORMAT_NDJSON) String format,
+        @RequestParam(name = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        log.debug("REST request to export Leads as {}", format);
+        return StreamingExportUtil.export("leads", format, gzip, objectMapper, EXPORT_COLUMNS, leadService::exportAll, ENTITY_NAME);
+    }
+
     /**
      * {@code GET  /leads/:id} : get the "id" lead.
+     * <p>
+     * The lead alone is answered from the {@link SerializedDtoCache}, or with {@code 304 (Not Modified)} when the
+     * {@code If-None-Match} header matches its entity tag. With its interests, it is read and serialized every time, and
+     * sent without entity tag.
      *
      * @param id the id of the leadDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the leadDTO, or with status {@code 404 (Not Found)}.
+     * @param include {@code interests} to embed the interests of the lead.
+     * @param ifNoneMatch the entity tags of the versions of the lead the client holds, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the leadDTO, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<LeadDTO> getLead(@PathVariable("id") Long id) {
+    public ResponseEntity<byte[]> getLead(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "include", required = false) String include,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Lead : {}", id);
-        Optional<LeadDTO> leadDTO = leadService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(leadDTO);
+        if (includesInterests(include)) {
+            // The version of the lead does not change with its interests, so it cannot tag them
+            return serializedDtoCache
+                .serialize(leadService.findOneWithEagerRelationships(id), LeadDTO::getVersion)
+                .map(dto -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(dto.getJson()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        return EntityTagUtil.toResponse(
+            serializedDtoCache.get(ENTITY_NAME, id, () -> leadService.findOne(id), LeadDTO::getVersion),
+            ifNoneMatch
+        );
+    }
+
+    /**
+     * {@code GET  /leads/:id/interests} : get the interests of the "id" lead.
+     *
+     * @param id the id of the lead.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of interests in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/interests")
+    public ResponseEntity<List<InterestDTO>> getLeadInterests(
+        @PathVariable("id") Long id,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get a page of Interests of Lead : {}", id);
+        if (!leadRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Page<InterestDTO> page = interestService.findAllByLead(id, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /leads/by-phone/:phone} : get the lead with the given phone.
+     *
+     * @param phone the phone of the leadDTO to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the leadDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/by-phone/{phone}")
+    public ResponseEntity<LeadDTO> getLeadByPhone(@PathVariable("phone") Long phone) {
+        log.debug("REST request to get Lead by phone : {}", phone);
+        Optional<LeadDTO> leadDTO = leadService.findOneByPhone(phone);
+        return ResponseUtil.wrapOrNotFound(
+            leadDTO,
+            EntityTagUtil.withEntityTag(new HttpHeaders(), leadDTO.map(LeadDTO::getVersion).orElse(null))
+        );
     }
 
     /**
@@ -176,4 +555,74 @@ public class LeadResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /leads} : delete many leads at once, with their interests.
+     * <p>
+     * The leads are selected by id, by creation date, or both. They are deleted in chunks of
+     * {@code application.bulk.chunk-size}, one transaction per chunk and one statement per table.
+     *
+     * @param ids the ids of the leads to delete.
+     * @param createdBefore only delete the leads created before this instant.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of deleted leads and interests,
+     * or with status {@code 400 (Bad Request)} if neither ids nor a creation date are given.
+     */
+    @DeleteMapping("")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<LeadDeletionDTO> deleteLeads(
+        @RequestParam(name = "id", required = false) List<Long> ids,
+        @RequestParam(name = "createdBefore", required = false) Instant createdBefore
+    ) {
+        log.debug("REST request to delete Leads : {} created before {}", ids, createdBefore);
+        if (ids == null && createdBefore == null) {
+            throw new BadRequestAlertException("Ids or a creation date are required", ENTITY_NAME, "selectionrequired");
+        }
+        int chunkSize = applicationProperties.getBulk().getChunkSize();
+        LeadDeletionDTO deletion = new LeadDeletionDTO();
+        if (ids != null) {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                deletion.add(leadService.deleteAll(chunk, createdBefore, chunk.size()));
+            }
+        } else {
+            LeadDeletionDTO chunk;
+            do {
+                chunk = leadService.deleteAll(null, createdBefore, chunkSize);
+                deletion.add(chunk);
+            } while (chunk.getLeads() == chunkSize);
+        }
+        return ResponseEntity.ok().body(deletion);
+    }
+
+    /**
+     * Require the version of the {@code If-Match} header, if any, in place of the version of the leadDTO.
+     */
+    private static void requireVersion(LeadDTO leadDTO, String ifMatch) {
+        Long version = EntityTagUtil.parseIfMatch(ifMatch);
+        if (version != null) {
+            leadDTO.setVersion(version);
+        }
+    }
+
+    private static Map<String, Function<LeadDTO, Object>> exportColumns() {
+        Map<String, Function<LeadDTO, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", LeadDTO::getId);
+        columns.put("name", LeadDTO::getName);
+        columns.put("phone", LeadDTO::getPhone);
+        columns.put("createdAt", LeadDTO::getCreatedAt);
+        columns.put("createdBy", LeadDTO::getCreatedBy);
+        columns.put("updatedAt", LeadDTO::getUpdatedAt);
+        columns.put("updatedBy", LeadDTO::getUpdatedBy);
+        return columns;
+    }
+
+    private static boolean includesInterests(String include) {
+        if (include == null) {
+            return false;
+        }
+        if (!INCLUDE_INTERESTS.equals(include)) {
+            throw new BadRequestAlertException("Invalid include", ENTITY_NAME, "includeinvalid");
+        }
+        return true;
+    }
 }
@@ -0,0 +1,186 @@
+package com.jio.lead.management.web.rest;
+
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.service.dto.MutationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the committed mutations of leads and interests to the subscribers of the mutation stream, as Server-Sent Events.
+ * <p>
+ * The mutations published by the services are received once their transaction commits, and only put in the
+ * {@link MutationBuffer} of each subscriber: the committing thread never writes to a subscriber. A pool of
+ * {@code application.mutation-stream.sender-threads} drains the buffers, a single sender at a time per subscriber, so
+ * a subscriber slow to read its stream only holds up one sender while its buffer coalesces and drops its mutations.
+ * <p>
+ * Each mutation is sent as an event named after its entity. A subscriber which missed mutations is first sent an
+ * {@code overflow} event with their number, and should read the entities again. Subscribers are sent a heartbeat
+ * comment when idle, so that the connections closed by the clients are noticed.
+ */
+@Component
+public class MutationBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationBroadcaster.class);
+
+    static final String OVERFLOW_EVENT = "overflow";
+
+    private final ApplicationProperties.MutationStream properties;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService senders;
+
+    private final Counter publishedCounter;
+
+    private final Counter coalescedCounter;
+
+    private final Counter droppedCounter;
+
+    public MutationBroadcaster(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getMutationStream();
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), new CustomizableThreadFactory("mutation-sender-"));
+        Gauge.builder("mutation.stream.subscribers", subscribers, Set::size)
+            .description("Number of subscribers to the mutation stream")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("mutation.stream.published")
+            .description("Committed mutations pushed to the mutation stream")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("mutation.stream.coalesced")
+            .description("Mutations replaced by a later mutation of the same entity before being sent to a subscriber")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("mutation.stream.dropped")
+            .description("Mutations dropped because the buffer of a subscriber was full")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the mutations.
+     *
+     * @param entityNames the names of the entities whose mutations are sent, all of them if empty.
+     * @return the emitter of the events.
+     */
+    public SseEmitter subscribe(Set<String> entityNames) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(
+            emitter,
+            new MutationBuffer(properties.getBufferSize(), coalescedCounter, droppedCounter),
+            entityNames
+        );
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        // Send the response headers right away
+        if (subscriber.buffer.offerHeartbeat()) {
+            startSending(subscriber);
+        }
+        log.debug("Subscribed to the mutations of {}, {} subscribers", entityNames.isEmpty() ? "all entities" : entityNames, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Push a mutation to the subscribers, once its transaction commits.
+     *
+     * @param mutation the mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMutation(MutationDTO mutation) {
+        publishedCounter.increment();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(mutation) && subscriber.buffer.offer(mutation)) {
+                startSending(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Send a heartbeat to the idle subscribers.
+     * <p>
+     * This is scheduled to get fired every 15 seconds.
+     */
+    @Scheduled(fixedRate = 15, timeUnit = TimeUnit.SECONDS)
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.offerHeartbeat()) {
+                startSending(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void startSending(Subscriber subscriber) {
+        try {
+            senders.execute(() -> send(subscriber));
+        } catch (RejectedExecutionException e) {
+            log.debug("Not sending the mutations, the application is stopping");
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        MutationBuffer.Batch batch;
+        while ((batch = subscriber.buffer.take()) != null) {
+            try {
+                if (batch.isHeartbeatOnly()) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                if (batch.getDropped() > 0) {
+                    subscriber.emitter.send(
+                        SseEmitter.event().name(OVERFLOW_EVENT).data(Map.of("dropped", batch.getDropped()), MediaType.APPLICATION_JSON)
+                    );
+                }
+                for (MutationDTO mutation : batch.getMutations()) {
+                    subscriber.emitter.send(SseEmitter.event().name(mutation.getEntityName()).data(mutation, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone or the emitter completed: the buffer stays marked as drained, so nothing is sent anymore
+                log.debug("Could not send the mutations to a subscriber: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final MutationBuffer buffer;
+
+        private final Set<String> entityNames;
+
+        Subscriber(SseEmitter emitter, MutationBuffer buffer, Set<String> entityNames) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+            this.entityNames = entityNames;
+        }
+
+        boolean accepts(MutationDTO mutation) {
+            return entityNames.isEmpty() || entityNames.contains(mutation.getEntityName());
+        }
+    }
+}
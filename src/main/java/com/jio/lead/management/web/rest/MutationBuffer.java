@@ -0,0 +1,138 @@
+package com.jio.lead.management.web.rest;
+
+import com.jio.lead.management.service.dto.MutationDTO;
+import io.micrometer.core.instrument.Counter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A bounded buffer of the mutations waiting to be sent to one subscriber of the mutation stream.
+ * <p>
+ * A mutation replaces the waiting mutation of the same entity, if any, as the subscriber only needs the latest state of
+ * each entity, and goes after the mutations of the other entities. When the buffer is full the oldest mutation is
+ * dropped, and the number of dropped mutations is handed to the sender with the next batch so that the subscriber can
+ * be told it missed some.
+ * <p>
+ * The buffer also tracks whether a sender is draining it, so that a single sender at a time writes to the subscriber.
+ */
+final class MutationBuffer {
+
+    private final int capacity;
+
+    private final Counter coalescedCounter;
+
+    private final Counter droppedCounter;
+
+    private final LinkedHashMap<String, MutationDTO> mutations = new LinkedHashMap<>();
+
+    private long dropped;
+
+    private boolean heartbeat;
+
+    private boolean draining;
+
+    MutationBuffer(int capacity, Counter coalescedCounter, Counter droppedCounter) {
+        this.capacity = capacity;
+        this.coalescedCounter = coalescedCounter;
+        this.droppedCounter = droppedCounter;
+    }
+
+    /**
+     * Add a mutation, coalesced with the waiting mutation of the same entity.
+     *
+     * @param mutation the mutation.
+     * @return {@code true} if no sender is draining the buffer, the caller must then start one.
+     */
+    synchronized boolean offer(MutationDTO mutation) {
+        String key = mutation.getEntityName() + ':' + mutation.getId();
+        if (mutations.remove(key) != null) {
+            coalescedCounter.increment();
+        }
+        mutations.put(key, mutation);
+        if (mutations.size() > capacity) {
+            Iterator<MutationDTO> oldest = mutations.values().iterator();
+            oldest.next();
+            oldest.remove();
+            dropped++;
+            droppedCounter.increment();
+        }
+        return startDraining();
+    }
+
+    /**
+     * Ask for a heartbeat to be sent, unless mutations are sent anyway.
+     *
+     * @return {@code true} if no sender is draining the buffer, the caller must then start one.
+     */
+    synchronized boolean offerHeartbeat() {
+        heartbeat = true;
+        return startDraining();
+    }
+
+    /**
+     * Take everything waiting to be sent. When nothing is, the drain is over and the next offer starts another one.
+     *
+     * @return the batch to send, or {@code null} if there is none.
+     */
+    synchronized Batch take() {
+        if (mutations.isEmpty() && dropped == 0 && !heartbeat) {
+            draining = false;
+            return null;
+        }
+        Batch batch = new Batch(dropped, new ArrayList<>(mutations.values()), heartbeat);
+        mutations.clear();
+        dropped = 0;
+        heartbeat = false;
+        return batch;
+    }
+
+    synchronized int size() {
+        return mutations.size();
+    }
+
+    private boolean startDraining() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * The mutations to send at once to the subscriber.
+     */
+    static final class Batch {
+
+        private final long dropped;
+
+        private final List<MutationDTO> mutations;
+
+        private final boolean heartbeat;
+
+        Batch(long dropped, List<MutationDTO> mutations, boolean heartbeat) {
+            this.dropped = dropped;
+            this.mutations = mutations;
+            this.heartbeat = heartbeat;
+        }
+
+        /**
+         * @return the number of mutations dropped since the previous batch.
+         */
+        long getDropped() {
+            return dropped;
+        }
+
+        List<MutationDTO> getMutations() {
+            return mutations;
+        }
+
+        /**
+         * @return {@code true} if only a heartbeat is to be sent.
+         */
+        boolean isHeartbeatOnly() {
+            return heartbeat && dropped == 0 && mutations.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.jio.lead.management.web.rest;
+
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the mutations of {@link com.jio.lead.management.domain.Lead} and
+ * {@link com.jio.lead.management.domain.Interest}.
+ */
+@RestController
+@RequestMapping("/api/mutations")
+public class MutationResource {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationResource.class);
+
+    private static final String ENTITY_NAME = "mutation";
+
+    private static final Set<String> ENTITY_NAMES = Set.of("lead", "interest");
+
+    private final MutationBroadcaster mutationBroadcaster;
+
+    public MutationResource(MutationBroadcaster mutationBroadcaster) {
+        this.mutationBroadcaster = mutationBroadcaster;
+    }
+
+    /**
+     * {@code GET  /mutations} : stream the mutations of leads and interests as Server-Sent Events.
+     * <p>
+     * Each created, updated or deleted lead or interest is pushed once its transaction commits, as an event named after
+     * its entity. Mutations of the same entity not yet sent are coalesced; when a subscriber reads too slowly, the oldest
+     * mutations are dropped and an {@code overflow} event tells their number.
+     *
+     * @param entities the names of the entities whose mutations are streamed, {@code lead} and {@code interest} by default.
+     * @return the stream of mutations, or with status {@code 400 (Bad Request)} if an entity name is not valid.
+     */
+    @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMutations(@RequestParam(name = "entity", required = false) List<String> entities) {
+        log.debug("REST request to stream the mutations of : {}", entities);
+        if (entities != null && !ENTITY_NAMES.containsAll(entities)) {
+            throw new BadRequestAlertException("Invalid entity", ENTITY_NAME, "entityinvalid");
+        }
+        return mutationBroadcaster.subscribe(entities == null ? Set.of() : Set.copyOf(entities));
+    }
+}
@@ -0,0 +1,84 @@
+package com.jio.lead.management.web.rest;
+
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without counting the whole table.
+ * <p>
+ * The {@code count} request parameter selects how the {@code X-Total-Count} header is computed:
+ * {@code exact} runs a {@code count(*)} query (the default), {@code estimate} reads the planner statistics
+ * and {@code none} omits the header.
+ */
+final class SlicePaginationUtil {
+
+    static final String COUNT_PARAMETER = "count";
+
+    static final String COUNT_EXACT = "exact";
+
+    static final String COUNT_ESTIMATE = "estimate";
+
+    static final String COUNT_NONE = "none";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Check the value of the {@code count} request parameter.
+     *
+     * @param count the requested count mode.
+     * @param entityName the entity name, used in error messages.
+     * @return {@code true} if an exact count was requested.
+     */
+    static boolean isExactCount(String count, String entityName) {
+        return switch (count) {
+            case COUNT_EXACT -> true;
+            case COUNT_ESTIMATE, COUNT_NONE -> false;
+            default -> throw new BadRequestAlertException("Invalid count mode", entityName, "countinvalid");
+        };
+    }
+
+    /**
+     * Generate pagination headers for a {@link Slice}: the {@code Link} header has no {@code last} relation as the number
+     * of pages is unknown.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice being returned.
+     * @param totalCount the value of the {@code X-Total-Count} header, or {@code null} to omit it.
+     * @return the headers.
+     */
+    static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice, Long totalCount) {
+        HttpHeaders headers = new HttpHeaders();
+        if (totalCount != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(totalCount));
+        }
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(String.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber + 1, pageSize), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(String.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber - 1, pageSize), "prev"));
+        }
+        links.add(String.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, 0, pageSize), "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String preparePageUri(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize) {
+        return uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+    }
+}
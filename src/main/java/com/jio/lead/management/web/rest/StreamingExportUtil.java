@@ -0,0 +1,165 @@
+package com.jio.lead.management.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jio.lead.management.web.rest.errors.BadRequestAlertException;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Utility class for streaming exports as newline-delimited JSON or CSV.
+ * <p>
+ * Rows are written as they are read from the database, so memory stays constant and the first bytes reach the client
+ * before the query completes.
+ */
+final class StreamingExportUtil {
+
+    static final String FORMAT_NDJSON = "ndjson";
+
+    static final String FORMAT_CSV = "csv";
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StreamingExportUtil() {}
+
+    /**
+     * Build the streaming response of an export.
+     *
+     * @param baseName the base name of the exported file.
+     * @param format {@code ndjson} or {@code csv}.
+     * @param gzip whether to compress the response on the fly.
+     * @param objectMapper the mapper used to write JSON rows.
+     * @param csvColumns the CSV header names and how to read each column from a row, in order.
+     * @param exporter feeds every row to the consumer it is given.
+     * @param entityName the entity name, used in error messages.
+     * @param <T> the row type.
+     * @return the response.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> export(
+        String baseName,
+        String format,
+        boolean gzip,
+        ObjectMapper objectMapper,
+        Map<String, Function<T, Object>> csvColumns,
+        Consumer<Consumer<T>> exporter,
+        String entityName
+    ) {
+        boolean csv = switch (format) {
+            case FORMAT_CSV -> true;
+            case FORMAT_NDJSON -> false;
+            default -> throw new BadRequestAlertException("Invalid export format", entityName, "formatinvalid");
+        };
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            try (RowWriter<T> writer = csv ? new CsvRowWriter<>(out, csvColumns) : new NdjsonRowWriter<>(out, objectMapper)) {
+                exporter.accept(row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(baseName + "." + format).build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private interface RowWriter<T> extends Closeable {
+        void write(T row) throws IOException;
+    }
+
+    private static final class NdjsonRowWriter<T> implements RowWriter<T> {
+
+        private final SequenceWriter sequenceWriter;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.sequenceWriter = objectMapper
+                .writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            sequenceWriter.write(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            sequenceWriter.close();
+        }
+    }
+
+    private static final class CsvRowWriter<T> implements RowWriter<T> {
+
+        private final Writer writer;
+
+        private final Map<String, Function<T, Object>> columns;
+
+        CsvRowWriter(OutputStream out, Map<String, Function<T, Object>> columns) throws IOException {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.columns = columns;
+            writeLine(columns.keySet().stream().map(name -> (Object) name).toList());
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            writeLine(columns.values().stream().map(column -> column.apply(row)).toList());
+        }
+
+        private void writeLine(Iterable<Object> values) throws IOException {
+            boolean first = true;
+            for (Object value : values) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(escape(value));
+                first = false;
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.jio.lead.management.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.jio.lead.management.service.VersionConflictException;
+import com.jio.lead.management.service.capture.CaptureQueueFullException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Arrays;
@@ -47,6 +49,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final boolean CASUAL_CHAIN_ENABLED = false;
+    private static final String CAPTURE_RETRY_AFTER_SECONDS = "1";
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
@@ -212,8 +215,10 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private HttpStatus getMappedStatus(Throwable err) {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
+        if (err instanceof VersionConflictException) return HttpStatus.PRECONDITION_FAILED;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (err instanceof CaptureQueueFullException) return HttpStatus.TOO_MANY_REQUESTS;
         return null;
     }
 
@@ -223,6 +228,11 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (err instanceof CaptureQueueFullException) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, CAPTURE_RETRY_AFTER_SECONDS);
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
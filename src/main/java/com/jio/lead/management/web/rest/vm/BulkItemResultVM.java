@@ -0,0 +1,71 @@
+package com.jio.lead.management.web.rest.vm;
+
+import java.util.List;
+
+/**
+ * View Model object for the outcome of a single item of a bulk request.
+ */
+public class BulkItemResultVM {
+
+    private int index;
+
+    private int status;
+
+    private Long id;
+
+    private List<String> errors;
+
+    public BulkItemResultVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkItemResultVM(int index, int status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultVM{" +
+            "index=" + index +
+            ", status=" + status +
+            ", id=" + id +
+            ", errors=" + errors +
+            '}';
+    }
+}
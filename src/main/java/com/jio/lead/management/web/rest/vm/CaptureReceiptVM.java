@@ -0,0 +1,49 @@
+package com.jio.lead.management.web.rest.vm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * View Model object for the receipt of a captured lead: a tracking id while it waits to be saved, or its id once saved.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CaptureReceiptVM {
+
+    private UUID trackingId;
+
+    private Long id;
+
+    public CaptureReceiptVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CaptureReceiptVM(UUID trackingId, Long id) {
+        this.trackingId = trackingId;
+        this.id = id;
+    }
+
+    public UUID getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(UUID trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CaptureReceiptVM{" +
+            "trackingId=" + trackingId +
+            ", id=" + id +
+            '}';
+    }
+}
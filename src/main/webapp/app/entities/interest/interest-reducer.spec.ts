@@ -129,6 +129,23 @@ describe('Entities reducer tests', () => {
       });
     });
 
+    it('should count the fetched entities without total count', () => {
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { link: ';' } };
+      const links = parseHeaderForLinks(payload.headers.link);
+      expect(
+        reducer(undefined, {
+          type: getEntities.fulfilled.type,
+          payload,
+        }),
+      ).toEqual({
+        ...initialState,
+        links,
+        loading: false,
+        totalItems: 2,
+        entities: payload.data,
+      });
+    });
+
     it('should fetch a single entity', () => {
       const payload = { data: { 1: 'fake1' } };
       expect(
@@ -23,7 +23,7 @@ const apiUrl = 'api/interests';
 export const getEntities = createAsyncThunk(
   'interest/fetch_entity_list',
   async ({ page, size, sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}count=none&cacheBuster=${new Date().getTime()}`;
     return axios.get<IInterest[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -90,13 +90,15 @@ export const InterestSlice = createEntitySlice({
       .addMatcher(isFulfilled(getEntities), (state, action) => {
         const { data, headers } = action.payload;
         const links = parseHeaderForLinks(headers.link);
+        const entities = loadMoreDataWhenScrolled(state.entities, data, links);
 
         return {
           ...state,
           loading: false,
           links,
-          entities: loadMoreDataWhenScrolled(state.entities, data, links),
-          totalItems: parseInt(headers['x-total-count'], 10),
+          entities,
+          // the list scrolls through the links and asks for no count, so only the loaded interests are counted
+          totalItems: headers['x-total-count'] === undefined ? entities.length : parseInt(headers['x-total-count'], 10),
         };
       })
       .addMatcher(isFulfilled(createEntity, updateEntity, partialUpdateEntity), (state, action) => {
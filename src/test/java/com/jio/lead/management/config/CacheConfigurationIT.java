@@ -0,0 +1,60 @@
+package com.jio.lead.management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.domain.User;
+import javax.cache.CacheManager;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the cache regions created by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void createConfiguredRegionsWithTheirTiers() {
+        ResourcePools lead = resourcePools(Lead.class.getName());
+        assertThat(lead.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(lead.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1);
+        assertThat(lead.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(lead.getPoolForResource(ResourceType.Core.DISK)).isNull();
+
+        ResourcePools interest = resourcePools(Interest.class.getName());
+        assertThat(interest.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(2);
+        assertThat(interest.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+    }
+
+    @Test
+    void createOtherRegionsOnHeap() {
+        ResourcePools user = resourcePools(User.class.getName());
+        assertThat(user.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+    }
+
+    @Test
+    void storeValuesOffHeap() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(Lead.class.getName());
+        cache.put(1L, "lead");
+        assertThat(cache.get(1L)).isEqualTo("lead");
+        cache.remove(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourcePools resourcePools(String cacheName) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        CacheRuntimeConfiguration<Object, Object> runtimeConfiguration = configuration.unwrap(CacheRuntimeConfiguration.class);
+        return runtimeConfiguration.getResourcePools();
+    }
+}
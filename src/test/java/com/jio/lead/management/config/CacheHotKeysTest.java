@@ -0,0 +1,72 @@
+package com.jio.lead.management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CacheHotKeys}.
+ */
+class CacheHotKeysTest {
+
+    @Test
+    void countTheMostReadKeys() {
+        CacheHotKeys hotKeys = new CacheHotKeys(1, 10);
+        for (int i = 0; i < 5; i++) {
+            hotKeys.record("region", 1L);
+        }
+        hotKeys.record("region", 2L);
+        hotKeys.record("region", 2L);
+        hotKeys.record("region", 3L);
+        hotKeys.record("other", 3L);
+
+        assertThat(hotKeys.top("region", 2)).extracting(CacheHotKeys.HotKey::getKey).containsExactly("1", "2");
+        assertThat(hotKeys.top("region", 10)).extracting(CacheHotKeys.HotKey::getReads).containsExactly(5L, 2L, 1L);
+        assertThat(hotKeys.top("unknown", 10)).isEmpty();
+    }
+
+    @Test
+    void replaceTheLeastReadKeyWhenFull() {
+        CacheHotKeys hotKeys = new CacheHotKeys(1, 2);
+        for (int i = 0; i < 3; i++) {
+            hotKeys.record("region", "hot");
+        }
+        hotKeys.record("region", "cold");
+        hotKeys.record("region", "new");
+
+        assertThat(hotKeys.top("region", 10))
+            .satisfiesExactly(
+                hotKey -> assertThat(hotKey.getKey()).isEqualTo("hot"),
+                hotKey -> {
+                    assertThat(hotKey.getKey()).isEqualTo("new");
+                    assertThat(hotKey.getReads()).isEqualTo(2);
+                    assertThat(hotKey.getError()).isEqualTo(1);
+                }
+            );
+    }
+
+    @Test
+    void scaleTheSampledReads() {
+        CacheHotKeys hotKeys = new CacheHotKeys(0.5, 10);
+        for (int i = 0; i < 10_000; i++) {
+            hotKeys.record("region", "key");
+        }
+
+        assertThat(hotKeys.top("region", 1).get(0).getReads()).isBetween(9_000L, 11_000L);
+    }
+
+    @Test
+    void clearARegion() {
+        CacheHotKeys hotKeys = new CacheHotKeys(1, 10);
+        hotKeys.record("region", "key");
+        hotKeys.clear("region");
+
+        assertThat(hotKeys.top("region", 10)).isEmpty();
+    }
+
+    @Test
+    void rejectAnInvalidSamplingRate() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CacheHotKeys(0, 10));
+    }
+}
@@ -0,0 +1,115 @@
+package com.jio.lead.management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+/**
+ * Integration tests for {@link CacheRegionsEndpoint} and {@link CacheTierMetrics}.
+ */
+@IntegrationTest
+class CacheRegionsEndpointIT {
+
+    private static final String INTEREST_REGION = Interest.class.getName();
+
+    @Autowired
+    private CacheRegionsEndpoint endpoint;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheHotKeys cacheHotKeys;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void cleanup() {
+        cacheManager.getCache(INTEREST_REGION).clear();
+        cacheHotKeys.clear();
+    }
+
+    @Test
+    void listRegionsWithTheirTiers() {
+        cacheManager.getCache(INTEREST_REGION).put(1L, "interest");
+
+        assertThat(endpoint.regions()).containsKeys(INTEREST_REGION, Lead.class.getName(), UserRepository.USERS_BY_LOGIN_CACHE);
+        CacheRegionsEndpoint.RegionDescriptor region = endpoint.regions().get(INTEREST_REGION);
+        assertThat(region.getPuts()).isPositive();
+        assertThat(region.getTiers()).containsKeys("OnHeap", "Disk");
+        assertThat(region.getTiers().get("Disk").getEntries()).isEqualTo(1);
+        assertThat(region.getTiers().get("Disk").getOccupiedBytes()).isPositive();
+        assertThat(region.getHotKeys()).isNull();
+    }
+
+    @Test
+    void showTheHotKeysOfARegion() {
+        cacheHotKeys.record(INTEREST_REGION, 1L);
+        cacheHotKeys.record(INTEREST_REGION, 1L);
+        cacheHotKeys.record(INTEREST_REGION, 2L);
+
+        assertThat(endpoint.region(INTEREST_REGION).getHotKeys()).extracting(CacheHotKeys.HotKey::getKey).containsExactly("1", "2");
+        assertThat(endpoint.region("unknown")).isNull();
+    }
+
+    @Test
+    void evictARegion() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(INTEREST_REGION);
+        cache.put(1L, "interest");
+
+        endpoint.evict(INTEREST_REGION, null);
+
+        assertThat(cache.containsKey(1L)).isFalse();
+    }
+
+    @Test
+    void evictAllRegions() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(INTEREST_REGION);
+        cache.put(1L, "interest");
+
+        endpoint.evictAll();
+
+        assertThat(cache.containsKey(1L)).isFalse();
+    }
+
+    @Test
+    void evictAnEntityById() {
+        endpoint.evict(INTEREST_REGION, "1");
+        endpoint.evict(Lead.class.getName() + ".interests", "1");
+
+        assertThatExceptionOfType(InvalidEndpointRequestException.class).isThrownBy(() -> endpoint.evict(INTEREST_REGION, "one"));
+        assertThatExceptionOfType(InvalidEndpointRequestException.class).isThrownBy(() -> endpoint.evict("unknown", null));
+    }
+
+    @Test
+    void evictAnEntryByKey() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.put("cache-regions-user", "user");
+
+        endpoint.evict(UserRepository.USERS_BY_LOGIN_CACHE, "cache-regions-user");
+
+        assertThat(cache.containsKey("cache-regions-user")).isFalse();
+    }
+
+    @Test
+    void publishRegionMetrics() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(INTEREST_REGION);
+        cache.put(1L, "interest");
+        cache.get(1L);
+
+        assertThat(meterRegistry.get("cache.tier.entries").tag("cache", INTEREST_REGION).tag("tier", "Disk").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.tier.bytes").tag("cache", INTEREST_REGION).tag("tier", "Disk").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", INTEREST_REGION).tag("result", "hit").functionCounter().count()).isPositive();
+    }
+}
@@ -2,6 +2,8 @@ package com.jio.lead.management.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Instant;
+
 public class LeadAsserts {
 
     /**
@@ -51,10 +53,19 @@ public class LeadAsserts {
             .satisfies(e -> assertThat(e.getPhone()).as("check phone").isEqualTo(actual.getPhone()))
             .satisfies(e -> assertThat(e.getCreatedAt()).as("check createdAt").isEqualTo(actual.getCreatedAt()))
             .satisfies(e -> assertThat(e.getCreatedBy()).as("check createdBy").isEqualTo(actual.getCreatedBy()))
-            .satisfies(e -> assertThat(e.getUpdatedAt()).as("check updatedAt").isEqualTo(actual.getUpdatedAt()))
             .satisfies(e -> assertThat(e.getUpdatedBy()).as("check updatedBy").isEqualTo(actual.getUpdatedBy()));
     }
 
+    /**
+     * Asserts that the entity update instant was stamped by the server, whatever the client sent.
+     *
+     * @param since the instant the request started
+     * @param actual the actual entity
+     */
+    public static void assertLeadUpdatedSince(Instant since, Lead actual) {
+        assertThat(actual.getUpdatedAt()).as("check updatedAt").isNotNull().isAfterOrEqualTo(since);
+    }
+
     /**
      * Asserts that the entity has all the updatable relationships set.
      *
@@ -0,0 +1,135 @@
+package com.jio.lead.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.repository.InterestRepository;
+import com.jio.lead.management.service.dto.InterestDTO;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Integration tests for {@link InterestArchiveService}.
+ */
+@IntegrationTest
+class InterestArchiveServiceIT {
+
+    private static final Instant OLD_CREATED_AT = Instant.parse("2000-01-01T00:00:00Z");
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private InterestRepository interestRepository;
+
+    @Autowired
+    private InterestArchiveService interestArchiveService;
+
+    @Autowired
+    private InterestService interestService;
+
+    @TempDir
+    private Path directory;
+
+    private Interest recentInterest;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties.getInterestArchive().setEnabled(true);
+        applicationProperties.getInterestArchive().setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getInterestArchive().setEnabled(false);
+        applicationProperties.getInterestArchive().setDirectory("interest-archive");
+        if (recentInterest != null) {
+            interestRepository.deleteById(recentInterest.getId());
+        }
+    }
+
+    @Test
+    void archiveInterestsCreatedBefore() throws Exception {
+        Interest oldInterest = interestRepository.saveAndFlush(createInterest(OLD_CREATED_AT));
+        recentInterest = interestRepository.saveAndFlush(createInterest(Instant.now()));
+
+        assertThat(interestArchiveService.archive(OLD_CREATED_AT.plusSeconds(1))).isPositive();
+
+        assertThat(interestRepository.existsById(oldInterest.getId())).isFalse();
+        assertThat(interestRepository.existsById(recentInterest.getId())).isTrue();
+        assertThat(directory).isDirectoryContaining("glob:**.ndjson.gz");
+
+        // The archived interest is still found
+        assertThat(interestService.findOne(oldInterest.getId()))
+            .hasValueSatisfying(interest -> {
+                assertThat(interest.getArticleId()).isEqualTo(oldInterest.getArticleId());
+                assertThat(interest.getCreatedAt()).isEqualTo(OLD_CREATED_AT);
+            });
+        assertThat(interestService.findOne(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void findOneReadsTheFilesArchivedSinceTheLastLookup() throws Exception {
+        Interest firstInterest = interestRepository.saveAndFlush(createInterest(OLD_CREATED_AT));
+        interestArchiveService.archive(OLD_CREATED_AT.plusSeconds(1));
+        assertThat(interestService.findOne(firstInterest.getId())).isPresent();
+
+        Interest secondInterest = interestRepository.saveAndFlush(createInterest(OLD_CREATED_AT));
+        interestArchiveService.archive(OLD_CREATED_AT.plusSeconds(1));
+
+        assertThat(interestService.findOne(secondInterest.getId())).map(InterestDTO::getId).contains(secondInterest.getId());
+        assertThat(interestService.findOne(firstInterest.getId())).map(InterestDTO::getId).contains(firstInterest.getId());
+    }
+
+    @Test
+    void archiveExpiredInterestsOnlyOnTheNodeHoldingTheLock() throws Exception {
+        Interest oldInterest = interestRepository.saveAndFlush(createInterest(OLD_CREATED_AT));
+        DriverManagerDataSource otherNode = new DriverManagerDataSource(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        try (
+            Connection connection = otherNode.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet locked = statement.executeQuery("select pg_try_advisory_lock(hashtext('interest-archive'))")
+        ) {
+            assertThat(locked.next() && locked.getBoolean(1)).isTrue();
+
+            interestArchiveService.archiveExpiredInterests();
+        }
+
+        assertThat(interestRepository.existsById(oldInterest.getId())).isTrue();
+        interestRepository.deleteById(oldInterest.getId());
+    }
+
+    @Test
+    void findOneIgnoresTheArchiveWhenDisabled() throws Exception {
+        Interest oldInterest = interestRepository.saveAndFlush(createInterest(OLD_CREATED_AT));
+        interestArchiveService.archive(OLD_CREATED_AT.plusSeconds(1));
+
+        applicationProperties.getInterestArchive().setEnabled(false);
+
+        assertThat(interestService.findOne(oldInterest.getId())).map(InterestDTO::getId).isEmpty();
+    }
+
+    private static Interest createInterest(Instant createdAt) {
+        return new Interest().category("category").articleId(UUID.randomUUID().toString()).createdAt(createdAt);
+    }
+}
@@ -0,0 +1,116 @@
+package com.jio.lead.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import com.jio.lead.management.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final CountDownLatch loading = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void init() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void cleanup() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalesceTheLoadsOfTheSameKey() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, applicationProperties);
+        Future<String> leader = executor.submit(() -> singleFlight.load("users", "login", this::blockingLoad));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        releaseLater();
+        assertThat(singleFlight.load("users", "login", () -> "other")).isEqualTo("loaded");
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+        assertThat(count("loaded")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+
+        // Once landed, the key is loaded again
+        assertThat(singleFlight.load("users", "login", () -> "again")).isEqualTo("again");
+        assertThat(singleFlight.load("users", "other", () -> "other")).isEqualTo("other");
+    }
+
+    @Test
+    void loadAgainAfterTheTimeout() throws Exception {
+        applicationProperties.getSingleFlight().setTimeout(Duration.ofMillis(50));
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, applicationProperties);
+        executor.submit(() -> singleFlight.load("users", "login", this::blockingLoad));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(singleFlight.load("users", "login", () -> "own")).isEqualTo("own");
+        assertThat(count("timed-out")).isEqualTo(1);
+    }
+
+    @Test
+    void shareTheFailureOfTheLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, applicationProperties);
+        executor.submit(() ->
+            singleFlight.load("users", "login", () -> {
+                blockingLoad();
+                throw new IllegalStateException("failed");
+            })
+        );
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        releaseLater();
+        assertThatIllegalStateException().isThrownBy(() -> singleFlight.load("users", "login", () -> "other")).withMessage("failed");
+        assertThat(loads).hasValue(1);
+    }
+
+    private void releaseLater() {
+        // Released once the caller is waiting for the load in flight
+        executor.submit(() -> {
+            Thread.sleep(200);
+            release.countDown();
+            return null;
+        });
+    }
+
+    private String blockingLoad() {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "loaded";
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("single.flight.loads").tag("name", "users").tag("outcome", outcome).counter().count();
+    }
+}
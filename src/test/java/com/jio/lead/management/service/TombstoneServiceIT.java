@@ -0,0 +1,63 @@
+package com.jio.lead.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.TombstoneRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link TombstoneService}.
+ * <p>
+ * The tests are not transactional, so that the purge is only seen once committed.
+ */
+@IntegrationTest
+class TombstoneServiceIT {
+
+    private static final String ENTITY = "tombstoneServiceIT";
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private TombstoneService tombstoneService;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanup() {
+        // Connections are not in auto-commit mode
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update("delete from tombstone where entity = ?", ENTITY)
+        );
+    }
+
+    @Test
+    void removeExpiredTombstones() {
+        Instant expired = Instant.now().minus(applicationProperties.getChangeFeed().getTombstoneRetention()).minus(Duration.ofDays(1));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tombstoneRepository.saveAll(ENTITY, List.of(1L, 2L), expired);
+            tombstoneRepository.saveAll(ENTITY, List.of(3L), Instant.now());
+        });
+
+        tombstoneService.removeExpiredTombstones();
+
+        assertThat(jdbcTemplate.queryForList("select entity_id from tombstone where entity = ?", Long.class, ENTITY)).containsExactly(3L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.jio.lead.management.service.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CaptureJournalTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsAreReadInAppendOrderOnceForced() throws IOException {
+        CaptureJournal journal = new CaptureJournal(directory, SEGMENT_SIZE);
+        assertThat(journal.append((byte) 1, data("first"))).isEqualTo(1);
+        assertThat(journal.append((byte) 2, data("second"))).isEqualTo(2);
+        assertThat(journal.read(10)).isEmpty();
+
+        journal.force();
+        assertThat(journal.pending()).isEqualTo(2);
+        List<CaptureJournal.JournalRecord> records = journal.read(10);
+        assertThat(records).extracting(CaptureJournal.JournalRecord::getSequence).containsExactly(1L, 2L);
+        assertThat(records).extracting(CaptureJournal.JournalRecord::getType).containsExactly((byte) 1, (byte) 2);
+        assertThat(text(records.get(1))).isEqualTo("second");
+        assertThat(journal.read(10)).isEmpty();
+    }
+
+    @Test
+    void recordsAfterTheCheckpointAreReadAgainWhenReopened() throws IOException {
+        CaptureJournal journal = new CaptureJournal(directory, SEGMENT_SIZE);
+        for (int i = 1; i <= 3; i++) {
+            journal.append((byte) 1, data("record " + i));
+        }
+        journal.force();
+        journal.read(3);
+        journal.checkpoint(1);
+        journal.close();
+
+        CaptureJournal reopened = new CaptureJournal(directory, SEGMENT_SIZE);
+        assertThat(reopened.pending()).isEqualTo(2);
+        assertThat(reopened.read(10)).extracting(this::text).containsExactly("record 2", "record 3");
+        assertThat(reopened.append((byte) 1, data("record 4"))).isEqualTo(4);
+    }
+
+    @Test
+    void segmentsAreRolledAndDeletedOnceCheckpointed() throws IOException {
+        CaptureJournal journal = new CaptureJournal(directory, SEGMENT_SIZE);
+        for (int i = 1; i <= 20; i++) {
+            journal.append((byte) 1, data("a record long enough to fill a segment " + i));
+        }
+        journal.force();
+        assertThat(segmentCount()).isGreaterThan(1);
+
+        List<CaptureJournal.JournalRecord> records = journal.read(20);
+        assertThat(records).hasSize(20);
+        assertThat(text(records.get(19))).endsWith(" 20");
+        journal.checkpoint(20);
+        assertThat(segmentCount()).isEqualTo(1);
+        assertThat(journal.pending()).isZero();
+    }
+
+    @Test
+    void aTornRecordEndsTheJournal() throws IOException {
+        CaptureJournal journal = new CaptureJournal(directory, SEGMENT_SIZE);
+        journal.append((byte) 1, data("complete"));
+        journal.append((byte) 1, data("torn"));
+        journal.close();
+
+        // Corrupt the last byte of the second record, as a crash in the middle of its write would
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int recordSize = 2 * Integer.BYTES + Byte.BYTES;
+            long lastByte = recordSize + "complete".length() + recordSize + "torn".length() - 1;
+            channel.write(ByteBuffer.wrap(new byte[] { 'X' }), lastByte);
+        }
+
+        CaptureJournal reopened = new CaptureJournal(directory, SEGMENT_SIZE);
+        assertThat(reopened.read(10)).extracting(this::text).containsExactly("complete");
+        assertThat(reopened.append((byte) 1, data("next"))).isEqualTo(2);
+        reopened.force();
+        assertThat(reopened.read(10)).extracting(this::text).containsExactly("next");
+    }
+
+    @Test
+    void recordsLargerThanASegmentAreRejected() throws IOException {
+        CaptureJournal journal = new CaptureJournal(directory, SEGMENT_SIZE);
+        assertThatThrownBy(() -> journal.append((byte) 1, new byte[SEGMENT_SIZE])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> journal.append((byte) 1, new byte[0])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] data(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String text(CaptureJournal.JournalRecord record) {
+        return new String(record.getData(), StandardCharsets.UTF_8);
+    }
+
+    private long segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.jio.lead.management.service.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CaptureRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new CaptureRingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new CaptureRingBuffer<>(3).capacity()).isEqualTo(4);
+        assertThat(new CaptureRingBuffer<>(8192).capacity()).isEqualTo(8192);
+        assertThat(new CaptureRingBuffer<>(8193).capacity()).isEqualTo(16384);
+        assertThatThrownBy(() -> new CaptureRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void elementsArePolledInOfferOrder() {
+        CaptureRingBuffer<Integer> buffer = new CaptureRingBuffer<>(4);
+        assertThat(buffer.poll()).isNull();
+        for (int lap = 0; lap < 3; lap++) {
+            assertThat(buffer.offer(1)).isTrue();
+            assertThat(buffer.offer(2)).isTrue();
+            assertThat(buffer.size()).isEqualTo(2);
+            assertThat(buffer.poll()).isEqualTo(1);
+            assertThat(buffer.poll()).isEqualTo(2);
+            assertThat(buffer.poll()).isNull();
+            assertThat(buffer.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void offerFailsWhenFull() {
+        CaptureRingBuffer<Integer> buffer = new CaptureRingBuffer<>(2);
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isTrue();
+        assertThat(buffer.offer(3)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.offer(3)).isTrue();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentProducersAndConsumersLoseNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        CaptureRingBuffer<Integer> buffer = new CaptureRingBuffer<>(64);
+        Set<Integer> polled = ConcurrentHashMap.newKeySet();
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                futures.add(
+                    executor.submit(() -> {
+                        for (int i = first; i < first + perProducer; i++) {
+                            while (!buffer.offer(i)) {
+                                Thread.yield();
+                            }
+                        }
+                    })
+                );
+            }
+            for (int c = 0; c < 2; c++) {
+                futures.add(
+                    executor.submit(() -> {
+                        while (remaining.get() > 0) {
+                            Integer element = buffer.poll();
+                            if (element != null) {
+                                assertThat(polled.add(element)).isTrue();
+                                remaining.decrementAndGet();
+                            } else {
+                                Thread.yield();
+                            }
+                        }
+                    })
+                );
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(polled).hasSize(producers * perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,120 @@
+package com.jio.lead.management.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.assertj.core.api.Condition;
+import org.junit.jupiter.api.Test;
+
+class InterestCriteriaTest {
+
+    @Test
+    void newInterestCriteriaHasAllFiltersNullTest() {
+        var interestCriteria = new InterestCriteria();
+        assertThat(interestCriteria).is(criteriaFiltersAre(filter -> filter == null));
+    }
+
+    @Test
+    void interestCriteriaFluentMethodsCreatesFiltersTest() {
+        var interestCriteria = new InterestCriteria();
+        setAllFilters(interestCriteria);
+        assertThat(interestCriteria).is(criteriaFiltersAre(filter -> filter != null));
+    }
+
+    @Test
+    void interestCriteriaCopyCreatesNullFilterTest() {
+        var interestCriteria = new InterestCriteria();
+        var copy = interestCriteria.copy();
+        assertThat(interestCriteria).satisfies(
+            criteria ->
+                assertThat(criteria).is(
+                    copyFiltersAre(copy, (a, b) -> (a == null || a instanceof Boolean) ? a == b : (a != b && a.equals(b)))
+                ),
+            criteria -> assertThat(criteria).isEqualTo(copy),
+            criteria -> assertThat(criteria).hasSameHashCodeAs(copy)
+        );
+        assertThat(copy).satisfies(
+            criteria -> assertThat(criteria).is(criteriaFiltersAre(filter -> filter == null)),
+            criteria -> assertThat(criteria).isEqualTo(interestCriteria)
+        );
+    }
+
+    @Test
+    void interestCriteriaCopyDuplicatesEveryExistingFilterTest() {
+        var interestCriteria = new InterestCriteria();
+        setAllFilters(interestCriteria);
+        var copy = interestCriteria.copy();
+        assertThat(interestCriteria).satisfies(
+            criteria ->
+                assertThat(criteria).is(
+                    copyFiltersAre(copy, (a, b) -> (a == null || a instanceof Boolean) ? a == b : (a != b && a.equals(b)))
+                ),
+            criteria -> assertThat(criteria).isEqualTo(copy),
+            criteria -> assertThat(criteria).hasSameHashCodeAs(copy)
+        );
+        assertThat(copy).satisfies(
+            criteria -> assertThat(criteria).is(criteriaFiltersAre(filter -> filter != null)),
+            criteria -> assertThat(criteria).isEqualTo(interestCriteria)
+        );
+    }
+
+    @Test
+    void toStringVerifier() {
+        var interestCriteria = new InterestCriteria();
+        assertThat(interestCriteria).hasToString("InterestCriteria{}");
+    }
+
+    private static void setAllFilters(InterestCriteria interestCriteria) {
+        interestCriteria.id();
+        interestCriteria.category();
+        interestCriteria.brand();
+        interestCriteria.articleId();
+        interestCriteria.orderId();
+        interestCriteria.isPurchased();
+        interestCriteria.createdAt();
+        interestCriteria.createdBy();
+        interestCriteria.updatedAt();
+        interestCriteria.updatedBy();
+        interestCriteria.leadId();
+        interestCriteria.distinct();
+    }
+
+    private static Condition<InterestCriteria> criteriaFiltersAre(Function<Object, Boolean> condition) {
+        return new Condition<>(
+            criteria ->
+                condition.apply(criteria.getId()) &&
+                condition.apply(criteria.getCategory()) &&
+                condition.apply(criteria.getBrand()) &&
+                condition.apply(criteria.getArticleId()) &&
+                condition.apply(criteria.getOrderId()) &&
+                condition.apply(criteria.getIsPurchased()) &&
+                condition.apply(criteria.getCreatedAt()) &&
+                condition.apply(criteria.getCreatedBy()) &&
+                condition.apply(criteria.getUpdatedAt()) &&
+                condition.apply(criteria.getUpdatedBy()) &&
+                condition.apply(criteria.getLeadId()) &&
+                condition.apply(criteria.getDistinct()),
+            "every filter matches"
+        );
+    }
+
+    private static Condition<InterestCriteria> copyFiltersAre(InterestCriteria copy, BiFunction<Object, Object, Boolean> condition) {
+        return new Condition<>(
+            criteria ->
+                condition.apply(criteria.getId(), copy.getId()) &&
+                condition.apply(criteria.getCategory(), copy.getCategory()) &&
+                condition.apply(criteria.getBrand(), copy.getBrand()) &&
+                condition.apply(criteria.getArticleId(), copy.getArticleId()) &&
+                condition.apply(criteria.getOrderId(), copy.getOrderId()) &&
+                condition.apply(criteria.getIsPurchased(), copy.getIsPurchased()) &&
+                condition.apply(criteria.getCreatedAt(), copy.getCreatedAt()) &&
+                condition.apply(criteria.getCreatedBy(), copy.getCreatedBy()) &&
+                condition.apply(criteria.getUpdatedAt(), copy.getUpdatedAt()) &&
+                condition.apply(criteria.getUpdatedBy(), copy.getUpdatedBy()) &&
+                condition.apply(criteria.getLeadId(), copy.getLeadId()) &&
+                condition.apply(criteria.getDistinct(), copy.getDistinct()),
+            "every filter matches"
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package com.jio.lead.management.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.assertj.core.api.Condition;
+import org.junit.jupiter.api.Test;
+
+class LeadCriteriaTest {
+
+    @Test
+    void newLeadCriteriaHasAllFiltersNullTest() {
+        var leadCriteria = new LeadCriteria();
+        assertThat(leadCriteria).is(criteriaFiltersAre(filter -> filter == null));
+    }
+
+    @Test
+    void leadCriteriaFluentMethodsCreatesFiltersTest() {
+        var leadCriteria = new LeadCriteria();
+        setAllFilters(leadCriteria);
+        assertThat(leadCriteria).is(criteriaFiltersAre(filter -> filter != null));
+    }
+
+    @Test
+    void leadCriteriaCopyCreatesNullFilterTest() {
+        var leadCriteria = new LeadCriteria();
+        var copy = leadCriteria.copy();
+        assertThat(leadCriteria).satisfies(
+            criteria ->
+                assertThat(criteria).is(
+                    copyFiltersAre(copy, (a, b) -> (a == null || a instanceof Boolean) ? a == b : (a != b && a.equals(b)))
+                ),
+            criteria -> assertThat(criteria).isEqualTo(copy),
+            criteria -> assertThat(criteria).hasSameHashCodeAs(copy)
+        );
+        assertThat(copy).satisfies(
+            criteria -> assertThat(criteria).is(criteriaFiltersAre(filter -> filter == null)),
+            criteria -> assertThat(criteria).isEqualTo(leadCriteria)
+        );
+    }
+
+    @Test
+    void leadCriteriaCopyDuplicatesEveryExistingFilterTest() {
+        var leadCriteria = new LeadCriteria();
+        setAllFilters(leadCriteria);
+        var copy = leadCriteria.copy();
+        assertThat(leadCriteria).satisfies(
+            criteria ->
+                assertThat(criteria).is(
+                    copyFiltersAre(copy, (a, b) -> (a == null || a instanceof Boolean) ? a == b : (a != b && a.equals(b)))
+                ),
+            criteria -> assertThat(criteria).isEqualTo(copy),
+            criteria -> assertThat(criteria).hasSameHashCodeAs(copy)
+        );
+        assertThat(copy).satisfies(
+            criteria -> assertThat(criteria).is(criteriaFiltersAre(filter -> filter != null)),
+            criteria -> assertThat(criteria).isEqualTo(leadCriteria)
+        );
+    }
+
+    @Test
+    void leadCriteriaCopyDuplicatesNamePrefixTest() {
+        var leadCriteria = new LeadCriteria();
+        leadCriteria.name().setStartsWith("AAA");
+        var copy = leadCriteria.copy();
+        assertThat(copy.getName()).isNotSameAs(leadCriteria.getName()).isEqualTo(leadCriteria.getName());
+        assertThat(copy.getName().getStartsWith()).isEqualTo("AAA");
+        assertThat(copy).hasToString("LeadCriteria{name=PrefixStringFilter [startsWith=AAA, ], }");
+    }
+
+    @Test
+    void toStringVerifier() {
+        var leadCriteria = new LeadCriteria();
+        assertThat(leadCriteria).hasToString("LeadCriteria{}");
+    }
+
+    private static void setAllFilters(LeadCriteria leadCriteria) {
+        leadCriteria.id();
+        leadCriteria.name();
+        leadCriteria.phone();
+        leadCriteria.createdAt();
+        leadCriteria.createdBy();
+        leadCriteria.updatedAt();
+        leadCriteria.updatedBy();
+        leadCriteria.interestId();
+        leadCriteria.distinct();
+    }
+
+    private static Condition<LeadCriteria> criteriaFiltersAre(Function<Object, Boolean> condition) {
+        return new Condition<>(
+            criteria ->
+                condition.apply(criteria.getId()) &&
+                condition.apply(criteria.getName()) &&
+                condition.apply(criteria.getPhone()) &&
+                condition.apply(criteria.getCreatedAt()) &&
+                condition.apply(criteria.getCreatedBy()) &&
+                condition.apply(criteria.getUpdatedAt()) &&
+                condition.apply(criteria.getUpdatedBy()) &&
+                condition.apply(criteria.getInterestId()) &&
+                condition.apply(criteria.getDistinct()),
+            "every filter matches"
+        );
+    }
+
+    private static Condition<LeadCriteria> copyFiltersAre(LeadCriteria copy, BiFunction<Object, Object, Boolean> condition) {
+        return new Condition<>(
+            criteria ->
+                condition.apply(criteria.getId(), copy.getId()) &&
+                condition.apply(criteria.getName(), copy.getName()) &&
+                condition.apply(criteria.getPhone(), copy.getPhone()) &&
+                condition.apply(criteria.getCreatedAt(), copy.getCreatedAt()) &&
+                condition.apply(criteria.getCreatedBy(), copy.getCreatedBy()) &&
+                condition.apply(criteria.getUpdatedAt(), copy.getUpdatedAt()) &&
+                condition.apply(criteria.getUpdatedBy(), copy.getUpdatedBy()) &&
+                condition.apply(criteria.getInterestId(), copy.getInterestId()) &&
+                condition.apply(criteria.getDistinct(), copy.getDistinct()),
+            "every filter matches"
+        );
+    }
+}
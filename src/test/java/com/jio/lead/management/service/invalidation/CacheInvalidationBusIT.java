@@ -0,0 +1,223 @@
+package com.jio.lead.management.service.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.repository.UserRepository;
+import com.jio.lead.management.service.SerializedDtoCache;
+import com.jio.lead.management.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationBus} and its transports.
+ */
+@IntegrationTest
+class CacheInvalidationBusIT {
+
+    private static final String LOGIN = "cache-invalidation-user";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    private final List<InvalidationTransport> transports = new ArrayList<>();
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties.getCacheInvalidation().setEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getCacheInvalidation().setEnabled(false);
+        if (bus != null) {
+            bus.stop();
+        }
+        transports.forEach(InvalidationTransport::close);
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).remove(LOGIN);
+    }
+
+    @Test
+    void sendTheInvalidationsOfATransactionOnceCommitted() throws Exception {
+        UdpInvalidationTransport peer = open(new UdpInvalidationTransport(0, List.of()));
+        bus = createBus(new UdpInvalidationTransport(0, List.of("127.0.0.1:" + peer.getLocalPort())));
+        bus.start();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.publish("rolled-back", 1L);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.publish(UserRepository.USERS_BY_LOGIN_CACHE, LOGIN);
+            bus.publish(UserRepository.USERS_BY_LOGIN_CACHE, LOGIN);
+            assertThat(received).isEmpty();
+        });
+
+        String message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull().contains(LOGIN).doesNotContain("rolled-back");
+        CacheInvalidationBus.Message parsed = objectMapper.readValue(message, CacheInvalidationBus.Message.class);
+        assertThat(parsed.getNode()).isEqualTo(bus.getNode());
+        assertThat(parsed.getInvalidations()).containsExactly(new CacheInvalidation(UserRepository.USERS_BY_LOGIN_CACHE, LOGIN));
+    }
+
+    @Test
+    void applyTheInvalidationsOfOtherNodes() throws Exception {
+        bus = createBus(new UdpInvalidationTransport(0, List.of()));
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.put(LOGIN, "user");
+
+        bus.receive(message(bus.getNode(), UserRepository.USERS_BY_LOGIN_CACHE, LOGIN));
+        assertThat(cache.containsKey(LOGIN)).isTrue();
+
+        bus.receive(message("other-node", UserRepository.USERS_BY_LOGIN_CACHE, LOGIN));
+        assertThat(cache.containsKey(LOGIN)).isFalse();
+
+        // Unknown regions and invalid messages are ignored
+        bus.receive(message("other-node", "unknown", LOGIN));
+        bus.receive("not json");
+    }
+
+    @Test
+    void invalidateSerializedDtosThroughTheirCache() throws Exception {
+        bus = createBus(new UdpInvalidationTransport(0, List.of()));
+        SerializedDtoCache serializedDtoCache = new SerializedDtoCache(cacheManager, objectMapper, bus, singleFlight);
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(SerializedDtoCache.CACHE);
+
+        // The lead is mutated on another node while this one reads it
+        String invalidation = message("other-node", SerializedDtoCache.CACHE, "lead:-1");
+        Optional<SerializedDtoCache.SerializedDto> stale = serializedDtoCache.get(
+            "lead",
+            -1L,
+            () -> {
+                bus.receive(invalidation);
+                return Optional.of("stale");
+            },
+            dto -> 1L
+        );
+        assertThat(stale).isPresent();
+        assertThat(cache.get("lead:-1")).isNotInstanceOf(SerializedDtoCache.SerializedDto.class);
+
+        assertThat(serializedDtoCache.get("lead", -1L, () -> Optional.of("fresh"), dto -> 2L))
+            .map(SerializedDtoCache.SerializedDto::getVersion)
+            .contains(2L);
+        assertThat(cache.get("lead:-1")).isInstanceOf(SerializedDtoCache.SerializedDto.class);
+        cache.remove("lead:-1");
+    }
+
+    @Test
+    void splitBatchesToTheMaximumMessageSize() throws Exception {
+        List<String> messages = new ArrayList<>();
+        bus = createBus(
+            new InvalidationTransport() {
+                @Override
+                public void open(Consumer<String> receiver) {}
+
+                @Override
+                public void send(String message) {
+                    messages.add(message);
+                }
+
+                @Override
+                public int getMaxMessageSize() {
+                    return 512;
+                }
+
+                @Override
+                public void close() {}
+            }
+        );
+
+        bus.send(IntStream.range(0, 100).mapToObj(i -> new CacheInvalidation("region", String.valueOf(i))).toList());
+        bus.send(List.of(new CacheInvalidation("region", "k".repeat(1000))));
+
+        assertThat(messages)
+            .hasSizeGreaterThan(2)
+            .allSatisfy(message -> assertThat(message.getBytes(StandardCharsets.UTF_8)).hasSizeLessThanOrEqualTo(512));
+        CacheInvalidationBus.Message last = objectMapper.readValue(messages.get(messages.size() - 1), CacheInvalidationBus.Message.class);
+        assertThat(last.getInvalidations()).containsExactly(new CacheInvalidation("region", null));
+    }
+
+    @Test
+    void sendThroughPostgres() throws Exception {
+        // The listeners hold a connection each, more than the test pool has
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        PostgresInvalidationTransport sender = new PostgresInvalidationTransport(dataSource, "cache_invalidation_test");
+        sender.open(message -> {});
+        transports.add(sender);
+        open(new PostgresInvalidationTransport(dataSource, "cache_invalidation_test"));
+
+        // The listener starts listening asynchronously
+        String message = null;
+        for (int attempt = 0; attempt < 50 && message == null; attempt++) {
+            sender.send("invalidations");
+            message = received.poll(200, TimeUnit.MILLISECONDS);
+        }
+        assertThat(message).isEqualTo("invalidations");
+    }
+
+    private <T extends InvalidationTransport> T open(T transport) throws IOException {
+        transport.open(received::add);
+        transports.add(transport);
+        return transport;
+    }
+
+    private CacheInvalidationBus createBus(InvalidationTransport transport) {
+        return new CacheInvalidationBus(cacheManager, entityManagerFactory, transport, objectMapper, applicationProperties, meterRegistry);
+    }
+
+    private String message(String node, String region, String key) throws IOException {
+        return objectMapper.writeValueAsString(new CacheInvalidationBus.Message(node, List.of(new CacheInvalidation(region, key))));
+    }
+}
@@ -0,0 +1,176 @@
+package com.jio.lead.management.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.service.InterestService;
+import com.jio.lead.management.service.LeadService;
+import com.jio.lead.management.service.dto.InterestDTO;
+import com.jio.lead.management.service.dto.LeadDTO;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link OutboxRelay}, with the {@link LocalOutboxSink}.
+ */
+@IntegrationTest
+class OutboxRelayIT {
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private InterestService interestService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+
+    private Long leadId;
+
+    private Long interestId;
+
+    @BeforeEach
+    public void init() {
+        file = directory.resolve("outbox.ndjson");
+        applicationProperties.getOutbox().setEnabled(true);
+        applicationProperties.getOutbox().setFile(file.toString());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getOutbox().setEnabled(false);
+        applicationProperties.getOutbox().setFile(null);
+        // Connections are not in auto-commit mode
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (interestId != null) {
+                jdbcTemplate.update("delete from interest where id = ?", interestId);
+                jdbcTemplate.update("delete from outbox_event where aggregate_type = 'interest' and aggregate_id = ?", interestId);
+            }
+            if (leadId != null) {
+                jdbcTemplate.update("delete from lead where id = ?", leadId);
+                jdbcTemplate.update("delete from outbox_event where aggregate_type = 'lead' and aggregate_id = ?", leadId);
+            }
+        });
+    }
+
+    @Test
+    void relayLeadCreation() throws Exception {
+        LeadDTO leadDTO = leadService.save(createLead());
+        leadId = leadDTO.getId();
+        leadDTO.setName("BBBBBBBBBB");
+        leadService.partialUpdate(leadDTO);
+        assertThat(countEvents("lead", leadId)).isEqualTo(1);
+
+        assertThat(outboxRelay.relayAll()).isPositive();
+
+        assertThat(countEvents("lead", leadId)).isZero();
+        assertThat(Files.readAllLines(file))
+            .filteredOn(line -> line.contains("\"aggregateId\":" + leadId))
+            .singleElement()
+            .satisfies(line -> assertThat(line).contains("\"eventType\":\"lead-created\"").contains("\"name\":\"AAAAAAAAAA\""));
+    }
+
+    @Test
+    void relayInterestPurchaseOnce() throws Exception {
+        InterestDTO interestDTO = interestService.save(createInterest());
+        interestId = interestDTO.getId();
+        assertThat(countEvents("interest", interestId)).isZero();
+
+        InterestDTO purchase = new InterestDTO();
+        purchase.setId(interestId);
+        purchase.setIsPurchased(true);
+        interestService.partialUpdate(purchase);
+        interestService.partialUpdate(purchase);
+        assertThat(countEvents("interest", interestId)).isEqualTo(1);
+
+        outboxRelay.relayAll();
+
+        assertThat(countEvents("interest", interestId)).isZero();
+        assertThat(Files.readAllLines(file))
+            .filteredOn(line -> line.contains("\"aggregateId\":" + interestId))
+            .singleElement()
+            .satisfies(line -> assertThat(line).contains("\"eventType\":\"interest-purchased\"").contains("\"isPurchased\":true"));
+    }
+
+    @Test
+    void recordTheCreationOfALeadSentWithAVersion() {
+        LeadDTO leadDTO = createLead();
+        leadDTO.setVersion(3L);
+        leadDTO = leadService.save(leadDTO);
+        leadId = leadDTO.getId();
+
+        assertThat(leadDTO.getVersion()).isZero();
+        assertThat(countEvents("lead", leadId)).isEqualTo(1);
+    }
+
+    @Test
+    void keepEventsWhichCannotBeDelivered() {
+        leadId = leadService.save(createLead()).getId();
+        // A directory cannot be appended to
+        applicationProperties.getOutbox().setFile(directory.toString());
+
+        assertThatThrownBy(() -> outboxRelay.relayAll()).isInstanceOf(RuntimeException.class);
+
+        assertThat(countEvents("lead", leadId)).isEqualTo(1);
+    }
+
+    @Test
+    void recordNothingWhenDisabled() {
+        applicationProperties.getOutbox().setEnabled(false);
+
+        leadId = leadService.saveAll(List.of(createLead())).get(0).getId();
+
+        assertThat(countEvents("lead", leadId)).isZero();
+    }
+
+    private int countEvents(String aggregateType, Long aggregateId) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from outbox_event where aggregate_type = ? and aggregate_id = ?",
+            Integer.class,
+            aggregateType,
+            aggregateId
+        );
+    }
+
+    private static LeadDTO createLead() {
+        LeadDTO leadDTO = new LeadDTO();
+        leadDTO.setName("AAAAAAAAAA");
+        leadDTO.setPhone(ThreadLocalRandom.current().nextLong(9_000_000_000L, 10_000_000_000L));
+        return leadDTO;
+    }
+
+    private static InterestDTO createInterest() {
+        InterestDTO interestDTO = new InterestDTO();
+        interestDTO.setCategory("category");
+        interestDTO.setArticleId(UUID.randomUUID().toString());
+        interestDTO.setIsPurchased(false);
+        return interestDTO;
+    }
+}
@@ -0,0 +1,112 @@
+package com.jio.lead.management.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jio.lead.management.IntegrationTest;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link IdempotentRequestHandler}, with the keys claimed in the database.
+ * <p>
+ * The tests are not transactional, so that the rows of the {@code idempotent_request} table are only seen once committed.
+ */
+@IntegrationTest
+class IdempotentRequestHandlerIT {
+
+    private static final String SCOPE = "idempotentRequestHandlerIT";
+
+    @Autowired
+    private IdempotentRequestHandler idempotentRequestHandler;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    public void cleanup() {
+        // Connections are not in auto-commit mode
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update("delete from idempotent_request where scope = ?", SCOPE)
+        );
+    }
+
+    @Test
+    void replayTheCommittedResponseOnceTheCacheIsCleared() throws Exception {
+        String key = UUID.randomUUID().toString();
+        ResponseEntity<String> response = idempotentRequestHandler.execute(SCOPE, key, "request", String.class, this::create);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select status from idempotent_request where scope = ? and idempotency_key = ?",
+                Integer.class,
+                SCOPE,
+                key
+            )
+        ).isEqualTo(HttpStatus.CREATED.value());
+
+        // As on another node, which does not have the response in its cache
+        Objects.requireNonNull(cacheManager.getCache(IdempotentRequestHandler.RESPONSES_CACHE)).clear();
+        ResponseEntity<String> replayed = idempotentRequestHandler.execute(SCOPE, key, "request", String.class, this::create);
+
+        assertThat(executions).hasValue(1);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getHeaders().getFirst(IdempotentRequestHandler.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replayed.getHeaders().getFirst(HttpHeaders.LOCATION)).isEqualTo("/api/leads/1");
+        assertThat(replayed.getBody()).isEqualTo("created");
+    }
+
+    @Test
+    void removeExpiredRequests() {
+        String expiredKey = UUID.randomUUID().toString();
+        String key = UUID.randomUUID().toString();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            insertRequest(expiredKey, Instant.now().minus(30, ChronoUnit.DAYS));
+            insertRequest(key, Instant.now());
+        });
+
+        idempotentRequestHandler.removeExpiredRequests();
+
+        assertThat(
+            jdbcTemplate.queryForList("select idempotency_key from idempotent_request where scope = ?", String.class, SCOPE)
+        ).containsExactly(key);
+    }
+
+    private ResponseEntity<String> create() {
+        executions.incrementAndGet();
+        return ResponseEntity.created(URI.create("/api/leads/1")).body("created");
+    }
+
+    private void insertRequest(String key, Instant createdAt) {
+        jdbcTemplate.update(
+            "insert into idempotent_request (scope, idempotency_key, fingerprint, created_at) values (?, ?, ?, ?)",
+            SCOPE,
+            key,
+            "fingerprint",
+            Timestamp.from(createdAt)
+        );
+    }
+}
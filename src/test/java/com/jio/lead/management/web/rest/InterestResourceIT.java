@@ -3,29 +3,47 @@ package com.jio.lead.management.web.rest;
 import static com.jio.lead.management.domain.InterestAsserts.*;
 import static com.jio.lead.management.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.config.ApplicationProperties;
 import com.jio.lead.management.domain.Interest;
+import com.jio.lead.management.domain.Interest_;
+import com.jio.lead.management.domain.Lead;
 import com.jio.lead.management.repository.InterestRepository;
 import com.jio.lead.management.service.dto.InterestDTO;
 import com.jio.lead.management.service.mapper.InterestMapper;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -78,6 +96,9 @@ class InterestResourceIT {
     @Autowired
     private InterestMapper interestMapper;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private EntityManager em;
 
@@ -136,7 +157,7 @@ class InterestResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedInterest != null) {
-            interestRepository.delete(insertedInterest);
+            interestRepository.deleteById(insertedInterest.getId());
             insertedInterest = null;
         }
     }
@@ -147,6 +168,7 @@ class InterestResourceIT {
         long databaseSizeBeforeCreate = getRepositoryCount();
         // Create the Interest
         InterestDTO interestDTO = interestMapper.toDto(interest);
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         var returnedInterestDTO = om.readValue(
             restInterestMockMvc
                 .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(interestDTO)))
@@ -161,10 +183,97 @@ class InterestResourceIT {
         assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
         var returnedInterest = interestMapper.toEntity(returnedInterestDTO);
         assertInterestUpdatableFieldsEquals(returnedInterest, getPersistedInterest(returnedInterest));
+        assertInterestUpdatedSince(requestStart, getPersistedInterest(returnedInterest));
 
         insertedInterest = returnedInterest;
     }
 
+    @Test
+    @Transactional
+    void createInterestWithAVersion() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        InterestDTO interestDTO = interestMapper.toDto(interest);
+        interestDTO.setVersion(3L);
+
+        // A new interest starts at version 0, whatever the client sent
+        restInterestMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(interestDTO)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.version").value(0));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createInterestWithIdempotencyKey() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        String idempotencyKey = UUID.randomUUID().toString();
+        InterestDTO interestDTO = interestMapper.toDto(interest);
+        var returnedInterestDTO = om.readValue(
+            restInterestMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .header(IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(interestDTO))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            InterestDTO.class
+        );
+        insertedInterest = interestMapper.toEntity(returnedInterestDTO);
+
+        // A retry gets the same response, without creating another interest
+        restInterestMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(interestDTO))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotentRequestHandler.IDEMPOTENT_REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.id").value(returnedInterestDTO.getId().intValue()));
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void upsertInterest() throws Exception {
+        Lead lead = LeadResourceIT.createEntity(em);
+        em.persist(lead);
+        em.flush();
+        interest.setLead(lead);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        InterestDTO interestDTO = interestMapper.toDto(interest);
+        var returnedInterestDTO = om.readValue(
+            restInterestMockMvc
+                .perform(put(ENTITY_API_URL + "/_upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(interestDTO)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            InterestDTO.class
+        );
+        insertedInterest = interestMapper.toEntity(returnedInterestDTO);
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertThat(returnedInterestDTO.getLead().getId()).isEqualTo(lead.getId());
+
+        // Upserting an interest of the same lead with the same article id updates it
+        interestDTO.setBrand(UPDATED_BRAND);
+        interestDTO.setIsPurchased(UPDATED_IS_PURCHASED);
+        restInterestMockMvc
+            .perform(put(ENTITY_API_URL + "/_upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(interestDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(returnedInterestDTO.getId().intValue()))
+            .andExpect(jsonPath("$.brand").value(UPDATED_BRAND))
+            .andExpect(jsonPath("$.isPurchased").value(UPDATED_IS_PURCHASED));
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createInterestWithExistingId() throws Exception {
@@ -183,6 +292,71 @@ class InterestResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void captureInterest() throws Exception {
+        // Create the Interest, with an article id identifying it
+        String articleId = UUID.randomUUID().toString();
+        interest.setArticleId(articleId);
+        InterestDTO interestDTO = interestMapper.toDto(interest);
+        restInterestMockMvc
+            .perform(post(ENTITY_API_URL + "/_capture").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(interestDTO)))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.trackingId").isNotEmpty())
+            .andExpect(jsonPath("$.id").doesNotExist());
+
+        // The interest is replayed from the capture journal shortly after the response
+        Optional<Interest> captured = Optional.empty();
+        for (int attempt = 0; attempt < 500 && captured.isEmpty(); attempt++) {
+            Thread.sleep(20);
+            captured = interestRepository.findOne((root, query, builder) -> builder.equal(root.get(Interest_.articleId), articleId));
+        }
+        assertThat(captured).isPresent();
+        insertedInterest = captured.orElseThrow();
+        assertThat(insertedInterest.getCategory()).isEqualTo(DEFAULT_CATEGORY);
+    }
+
+    @Test
+    @Transactional
+    void createInterestsInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        InterestDTO validInterestDTO = interestMapper.toDto(interest);
+        InterestDTO invalidInterestDTO = interestMapper.toDto(createEntity(em));
+        invalidInterestDTO.setCategory(null);
+        InterestDTO existingInterestDTO = interestMapper.toDto(createEntity(em));
+        existingInterestDTO.setId(1L);
+
+        // Only the valid item is created, the others are rejected individually
+        restInterestMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(validInterestDTO, invalidInterestDTO, existingInterestDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[2].status").value(400));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createInterestsInBulkRequiresArray() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restInterestMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(interestMapper.toDto(interest)))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void checkCategoryIsRequired() throws Exception {
@@ -223,6 +397,108 @@ class InterestResourceIT {
             .andExpect(jsonPath("$.[*].updatedBy").value(hasItem(DEFAULT_UPDATED_BY)));
     }
 
+    @Test
+    @Transactional
+    void getAllInterestsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1&count=none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(interest.getId().intValue()))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=estimate"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"));
+
+        restInterestMockMvc.perform(get(ENTITY_API_URL + "?count=sometimes")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(interestRepository.saveAndFlush(createEntity(em)).getId());
+        }
+
+        // The first window holds the two most recent interests and links to the next one
+        String link = restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(ids.get(2).intValue()))
+            .andExpect(jsonPath("$.[1].id").value(ids.get(1).intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        // Following the link seeks past the last interest of the first window
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restInterestMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(ids.get(0).intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsWithInvalidCursor() throws Exception {
+        restInterestMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor&sort=id,desc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportInterestsAsCsv() throws Exception {
+        // Initialize the database, committed as the export reads it from another thread
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        MvcResult result = restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult();
+        restInterestMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,category,")))
+            .andExpect(content().string(containsString(interest.getId() + "," + DEFAULT_CATEGORY + ",")));
+    }
+
+    @Test
+    void exportInterestsAsGzippedNdjson() throws Exception {
+        // Initialize the database, committed as the export reads it from another thread
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        MvcResult result = restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=ndjson&gzip=true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult();
+        byte[] body = restInterestMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(ndjson.lines()).anyMatch(line -> line.contains("\"id\":" + interest.getId() + ","));
+    }
+
+    @Test
+    void exportInterestsWithInvalidFormat() throws Exception {
+        restInterestMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getInterest() throws Exception {
@@ -246,6 +522,190 @@ class InterestResourceIT {
             .andExpect(jsonPath("$.updatedBy").value(DEFAULT_UPDATED_BY));
     }
 
+    @Test
+    @Transactional
+    void getInterestNotModified() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        String entityTag = restInterestMockMvc
+            .perform(get(ENTITY_API_URL_ID, interest.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL_ID, interest.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/" + entityTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, entityTag));
+    }
+
+    @Test
+    @Transactional
+    void getInterestsByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        Long id = interest.getId();
+
+        defaultInterestFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultInterestFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultInterestFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsByCategoryIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        // Get all the interestList where category equals to
+        defaultInterestFiltering(
+            "id.equals=" + interest.getId() + "&category.equals=" + DEFAULT_CATEGORY,
+            "category.equals=" + UPDATED_CATEGORY
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsByBrandIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        // Get all the interestList where brand in
+        defaultInterestFiltering(
+            "id.equals=" + interest.getId() + "&brand.in=" + DEFAULT_BRAND + "," + UPDATED_BRAND,
+            "brand.in=" + UPDATED_BRAND
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsByIsPurchasedIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        // Get all the interestList where isPurchased equals to
+        defaultInterestFiltering(
+            "id.equals=" + interest.getId() + "&isPurchased.equals=" + DEFAULT_IS_PURCHASED,
+            "id.equals=" + interest.getId() + "&isPurchased.equals=" + UPDATED_IS_PURCHASED
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsByCreatedAtIsInRange() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        // Get all the interestList where createdAt is between two dates
+        defaultInterestFiltering(
+            "id.equals=" +
+            interest.getId() +
+            "&createdAt.greaterThanOrEqual=" +
+            DEFAULT_CREATED_AT +
+            "&createdAt.lessThan=" +
+            UPDATED_CREATED_AT,
+            "id.equals=" + interest.getId() + "&createdAt.greaterThan=" + DEFAULT_CREATED_AT
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsByLeadIsEqualToSomething() throws Exception {
+        Lead lead = LeadResourceIT.createEntity(em);
+        em.persist(lead);
+        em.flush();
+        interest.setLead(lead);
+        insertedInterest = interestRepository.saveAndFlush(interest);
+        Long leadId = lead.getId();
+        // Get all the interestList where lead equals to leadId
+        defaultInterestShouldBeFound("leadId.equals=" + leadId);
+
+        // Get all the interestList where lead equals to (leadId + 1)
+        defaultInterestShouldNotBeFound("leadId.equals=" + (leadId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllInterestsByCategoryWithoutCount() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+        interestRepository.saveAndFlush(createEntity(em));
+
+        // The second slice of the filtered interests holds the first one inserted
+        restInterestMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "?sort=id,desc&page=1&size=1&count=none&category.equals=" +
+                    DEFAULT_CATEGORY +
+                    "&id.greaterThanOrEqual=" +
+                    interest.getId()
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(interest.getId().intValue()))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"prev\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    private void defaultInterestFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultInterestShouldBeFound(shouldBeFound);
+        defaultInterestShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultInterestShouldBeFound(String filter) throws Exception {
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(interest.getId().intValue())))
+            .andExpect(jsonPath("$.[*].category").value(hasItem(DEFAULT_CATEGORY)))
+            .andExpect(jsonPath("$.[*].brand").value(hasItem(DEFAULT_BRAND)))
+            .andExpect(jsonPath("$.[*].articleId").value(hasItem(DEFAULT_ARTICLE_ID)))
+            .andExpect(jsonPath("$.[*].orderId").value(hasItem(DEFAULT_ORDER_ID)))
+            .andExpect(jsonPath("$.[*].isPurchased").value(hasItem(DEFAULT_IS_PURCHASED.booleanValue())))
+            .andExpect(jsonPath("$.[*].createdAt").value(hasItem(DEFAULT_CREATED_AT.toString())))
+            .andExpect(jsonPath("$.[*].createdBy").value(hasItem(DEFAULT_CREATED_BY)))
+            .andExpect(jsonPath("$.[*].updatedAt").value(hasItem(DEFAULT_UPDATED_AT.toString())))
+            .andExpect(jsonPath("$.[*].updatedBy").value(hasItem(DEFAULT_UPDATED_BY)));
+
+        // Check, that the count call also returns 1
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultInterestShouldNotBeFound(String filter) throws Exception {
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restInterestMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingInterest() throws Exception {
@@ -253,6 +713,50 @@ class InterestResourceIT {
         restInterestMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void reconcilePurchases() throws Exception {
+        // Initialize the database
+        String orderId = UUID.randomUUID().toString();
+        insertedInterest = interestRepository.saveAndFlush(interest.orderId(orderId).isPurchased(false));
+
+        String confirmations =
+            "[{\"orderId\":\"" +
+            orderId +
+            "\",\"articleId\":\"" +
+            DEFAULT_ARTICLE_ID +
+            "\"},{\"orderId\":\"" +
+            orderId +
+            "\",\"articleId\":\"" +
+            UPDATED_ARTICLE_ID +
+            "\"}]";
+        restInterestMockMvc
+            .perform(post(ENTITY_API_URL + "/_purchases").contentType(MediaType.APPLICATION_JSON).content(confirmations))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.matched").value(1))
+            .andExpect(jsonPath("$.unmatched").value(1))
+            .andExpect(jsonPath("$.purchased").value(1));
+
+        // The confirmations are applied with a bulk statement, which bypasses the persistence context
+        em.clear();
+        assertThat(getPersistedInterest(interest).getIsPurchased()).isTrue();
+
+        // Confirming a purchase again matches the interest without updating it
+        restInterestMockMvc
+            .perform(post(ENTITY_API_URL + "/_purchases").contentType(MediaType.APPLICATION_JSON).content(confirmations))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.matched").value(1))
+            .andExpect(jsonPath("$.purchased").value(0));
+    }
+
+    @Test
+    @Transactional
+    void reconcilePurchasesWithInvalidConfirmation() throws Exception {
+        restInterestMockMvc
+            .perform(post(ENTITY_API_URL + "/_purchases").contentType(MediaType.APPLICATION_JSON).content("[{\"orderId\":\"order\"}]"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putExistingInterest() throws Exception {
@@ -277,6 +781,7 @@ class InterestResourceIT {
             .updatedBy(UPDATED_UPDATED_BY);
         InterestDTO interestDTO = interestMapper.toDto(updatedInterest);
 
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         restInterestMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, interestDTO.getId())
@@ -288,6 +793,25 @@ class InterestResourceIT {
         // Validate the Interest in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertPersistedInterestToMatchAllProperties(updatedInterest);
+        assertInterestUpdatedSince(requestStart, getPersistedInterest(updatedInterest));
+    }
+
+    @Test
+    @Transactional
+    void putInterestWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+
+        InterestDTO interestDTO = interestMapper.toDto(createUpdatedEntity(em).id(interest.getId()));
+        restInterestMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, interestDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (interest.getVersion() + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(interestDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        assertThat(getPersistedInterest(interest).getCategory()).isEqualTo(DEFAULT_CATEGORY);
     }
 
     @Test
@@ -373,6 +897,7 @@ class InterestResourceIT {
             .updatedAt(UPDATED_UPDATED_AT)
             .updatedBy(UPDATED_UPDATED_BY);
 
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         restInterestMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedInterest.getId())
@@ -385,6 +910,31 @@ class InterestResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertInterestUpdatableFieldsEquals(createUpdateProxyForBean(partialUpdatedInterest, interest), getPersistedInterest(interest));
+        assertInterestUpdatedSince(requestStart, getPersistedInterest(interest));
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateInterestOnlyUpdatesPatchedColumns() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+        long version = interest.getVersion();
+
+        restInterestMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, interest.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + interest.getId() + ",\"isPurchased\":true}")
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+            .andExpect(jsonPath("$.isPurchased").value(true))
+            .andExpect(jsonPath("$.category").value(DEFAULT_CATEGORY));
+
+        Interest persistedInterest = getPersistedInterest(interest);
+        assertThat(persistedInterest.getIsPurchased()).isTrue();
+        assertThat(persistedInterest.getCategory()).isEqualTo(DEFAULT_CATEGORY);
+        assertThat(persistedInterest.getUpdatedAt()).isAfter(DEFAULT_UPDATED_AT);
     }
 
     @Test
@@ -410,6 +960,7 @@ class InterestResourceIT {
             .updatedAt(UPDATED_UPDATED_AT)
             .updatedBy(UPDATED_UPDATED_BY);
 
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         restInterestMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedInterest.getId())
@@ -422,6 +973,7 @@ class InterestResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertInterestUpdatableFieldsEquals(partialUpdatedInterest, getPersistedInterest(partialUpdatedInterest));
+        assertInterestUpdatedSince(requestStart, getPersistedInterest(partialUpdatedInterest));
     }
 
     @Test
@@ -503,6 +1055,39 @@ class InterestResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void getInterestChangesAfterPartialUpdate() throws Exception {
+        // Initialize the database
+        insertedInterest = interestRepository.saveAndFlush(interest);
+        Duration lag = applicationProperties.getChangeFeed().getLag();
+        applicationProperties.getChangeFeed().setLag(Duration.ZERO);
+        try {
+            String after = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(om.writeValueAsBytes(Map.of("changedAt", Instant.now().truncatedTo(ChronoUnit.MICROS), "id", 0L)));
+
+            restInterestMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, interest.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"id\":" + interest.getId() + ",\"isPurchased\":true}")
+                )
+                .andExpect(status().isOk());
+
+            restInterestMockMvc
+                .perform(get(ENTITY_API_URL + "/changes").param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(interest.getId()))
+                .andExpect(jsonPath("$[0].deleted").value(false))
+                .andExpect(jsonPath("$[0].entity.isPurchased").value(true));
+        } finally {
+            applicationProperties.getChangeFeed().setLag(lag);
+        }
+    }
+
     protected long getRepositoryCount() {
         return interestRepository.count();
     }
@@ -0,0 +1,146 @@
+package com.jio.lead.management.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.domain.Lead_;
+import com.jio.lead.management.repository.LeadRepository;
+import com.jio.lead.management.security.AuthoritiesConstants;
+import com.jio.lead.management.service.dto.LeadImportEventDTO;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link LeadImportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class LeadImportResourceIT {
+
+    private static final String IMPORT_API_URL = "/api/admin/leads/import";
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private MockMvc restLeadImportMockMvc;
+
+    private long firstPhone;
+
+    @BeforeEach
+    public void initTest() {
+        // The import is committed, so each run uses its own phones
+        firstPhone = ThreadLocalRandom.current().nextLong(1000000000L, 9999999000L);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        for (long phone = firstPhone; phone < firstPhone + 3; phone++) {
+            findLead(phone).ifPresent(leadRepository::delete);
+        }
+    }
+
+    @Test
+    void importLeads() throws Exception {
+        String csv =
+            "source,Phone,name\r\n" +
+            "fair," + firstPhone + ",First\r\n" +
+            "fair,123,Too short\r\n" +
+            "fair," + (firstPhone + 1) + ",\r\n" +
+            "web," + (firstPhone + 1) + ",\"Second, \"\"quoted\"\"\nacross lines\"\r\n" +
+            "\r\n" +
+            "web," + firstPhone + ",First again\r\n";
+
+        MvcResult result = restLeadImportMockMvc
+            .perform(post(IMPORT_API_URL).contentType(TEXT_CSV).content(csv))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult();
+        String ndjson = restLeadImportMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<LeadImportEventDTO> events = ndjson.lines().map(this::readEvent).toList();
+
+        // Rejected rows are reported with their line, the last event is the outcome of the import
+        assertThat(events)
+            .filteredOn(event -> event.getType() == LeadImportEventDTO.Type.REJECT)
+            .extracting(LeadImportEventDTO::getLine)
+            .containsExactly(3L, 4L);
+        LeadImportEventDTO complete = events.get(events.size() - 1);
+        assertThat(complete.getType()).isEqualTo(LeadImportEventDTO.Type.COMPLETE);
+        assertThat(complete.getRows()).isEqualTo(5);
+        assertThat(complete.getAccepted()).isEqualTo(3);
+        assertThat(complete.getRejected()).isEqualTo(2);
+        assertThat(complete.getInserted()).isEqualTo(2);
+        assertThat(complete.getUpdated()).isZero();
+
+        // The last row with a phone wins
+        assertThat(findLead(firstPhone)).map(Lead::getName).contains("First again");
+        assertThat(findLead(firstPhone + 1)).map(Lead::getName).contains("Second, \"quoted\"\nacross lines");
+    }
+
+    @Test
+    void importLeadsUpdatesLeadsWithTheSamePhone() throws Exception {
+        leadRepository.saveAndFlush(new Lead().name("Before").phone(firstPhone + 2));
+
+        MvcResult result = restLeadImportMockMvc
+            .perform(post(IMPORT_API_URL).contentType(TEXT_CSV).content("name,phone\nAfter," + (firstPhone + 2) + "\n"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult();
+        restLeadImportMockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(findLead(firstPhone + 2)).map(Lead::getName).contains("After");
+    }
+
+    @Test
+    void importLeadsWithInvalidHeader() throws Exception {
+        restLeadImportMockMvc
+            .perform(post(IMPORT_API_URL).contentType(TEXT_CSV).content("name,mobile\nFirst," + firstPhone + "\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void importLeadsRequiresAdmin() throws Exception {
+        restLeadImportMockMvc
+            .perform(post(IMPORT_API_URL).contentType(TEXT_CSV).content("name,phone\nFirst," + firstPhone + "\n"))
+            .andExpect(status().isForbidden());
+    }
+
+    private Optional<Lead> findLead(long phone) {
+        return leadRepository.findOne((root, query, builder) -> builder.equal(root.get(Lead_.phone), phone));
+    }
+
+    private LeadImportEventDTO readEvent(String line) {
+        try {
+            return om.readValue(line, LeadImportEventDTO.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,30 +3,63 @@ package com.jio.lead.management.web.rest;
 import static com.jio.lead.management.domain.LeadAsserts.*;
 import static com.jio.lead.management.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.config.ApplicationProperties;
+import com.jio.lead.management.domain.Interest;
 import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.domain.Lead_;
 import com.jio.lead.management.repository.LeadRepository;
+import com.jio.lead.management.security.AuthoritiesConstants;
 import com.jio.lead.management.service.dto.LeadDTO;
 import com.jio.lead.management.service.mapper.LeadMapper;
+import com.jio.lead.management.web.rest.vm.BulkItemResultVM;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Integration tests for the {@link LeadResource} REST controller.
@@ -69,9 +102,15 @@ class LeadResourceIT {
     @Autowired
     private LeadMapper leadMapper;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private MockMvc restLeadMockMvc;
 
@@ -121,7 +160,7 @@ class LeadResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedLead != null) {
-            leadRepository.delete(insertedLead);
+            leadRepository.deleteById(insertedLead.getId());
             insertedLead = null;
         }
     }
@@ -132,6 +171,7 @@ class LeadResourceIT {
         long databaseSizeBeforeCreate = getRepositoryCount();
         // Create the Lead
         LeadDTO leadDTO = leadMapper.toDto(lead);
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         var returnedLeadDTO = om.readValue(
             restLeadMockMvc
                 .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
@@ -146,10 +186,97 @@ class LeadResourceIT {
         assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
         var returnedLead = leadMapper.toEntity(returnedLeadDTO);
         assertLeadUpdatableFieldsEquals(returnedLead, getPersistedLead(returnedLead));
+        assertLeadUpdatedSince(requestStart, getPersistedLead(returnedLead));
 
         insertedLead = returnedLead;
     }
 
+    @Test
+    @Transactional
+    void createLeadWithIdempotencyKey() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        String idempotencyKey = UUID.randomUUID().toString();
+        LeadDTO leadDTO = leadMapper.toDto(lead);
+        var returnedLeadDTO = om.readValue(
+            restLeadMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .header(IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(leadDTO))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotentRequestHandler.IDEMPOTENT_REPLAYED_HEADER))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            LeadDTO.class
+        );
+        insertedLead = leadMapper.toEntity(returnedLeadDTO);
+
+        // A retry gets the same response, without creating another lead
+        restLeadMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(leadDTO))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotentRequestHandler.IDEMPOTENT_REPLAYED_HEADER, "true"))
+            .andExpect(header().string(HttpHeaders.LOCATION, "/api/leads/" + returnedLeadDTO.getId()))
+            .andExpect(jsonPath("$.id").value(returnedLeadDTO.getId().intValue()));
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+
+        // The key cannot be used for another lead
+        leadDTO.setName(UPDATED_NAME);
+        restLeadMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(leadDTO))
+            )
+            .andExpect(status().isBadRequest());
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void createLeadWithIdempotencyKeyConcurrently() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        byte[] content = om.writeValueAsBytes(leadMapper.toDto(lead));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(
+                    executor.submit(() ->
+                        restLeadMockMvc
+                            .perform(
+                                post(ENTITY_API_URL)
+                                    .with(user("user"))
+                                    .header(IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(content)
+                            )
+                            .andReturn()
+                    )
+                );
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<MvcResult> result : results) {
+                assertThat(result.get().getResponse().getStatus()).isEqualTo(201);
+                ids.add(om.readValue(result.get().getResponse().getContentAsString(), LeadDTO.class).getId());
+            }
+
+            // Duplicates waited for the first request instead of racing it
+            assertThat(ids).hasSize(1);
+            insertedLead = leadRepository.findById(ids.iterator().next()).orElseThrow();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     @Transactional
     void createLeadWithExistingId() throws Exception {
@@ -168,6 +295,192 @@ class LeadResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createLeadsInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        LeadDTO validLeadDTO = leadMapper.toDto(lead);
+        LeadDTO invalidLeadDTO = leadMapper.toDto(createEntity(em));
+        invalidLeadDTO.setName(null);
+        LeadDTO existingLeadDTO = leadMapper.toDto(createEntity(em));
+        existingLeadDTO.setId(1L);
+
+        // Only the valid item is created, the others are rejected individually
+        restLeadMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(validLeadDTO, invalidLeadDTO, existingLeadDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[2].status").value(400));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void createLeadsInBulkWithADuplicatePhone() throws Exception {
+        // Not transactional: phones which no other test uses
+        long phone = 2 * (2_000_000_000L + random.nextInt(2_000_000_000));
+        LeadDTO leadDTO = leadMapper.toDto(lead.phone(phone));
+        LeadDTO duplicateLeadDTO = leadMapper.toDto(createEntity(em).phone(phone));
+        LeadDTO otherLeadDTO = leadMapper.toDto(createUpdatedEntity(em).phone(phone + 1));
+
+        // The chunk fails on the duplicate, which alone is rejected once the items are written one by one
+        BulkItemResultVM[] results = om.readValue(
+            restLeadMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(leadDTO, duplicateLeadDTO, otherLeadDTO)))
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            BulkItemResultVM[].class
+        );
+        try {
+            assertThat(results).extracting(BulkItemResultVM::getStatus).containsExactly(201, 409, 201);
+            assertThat(results[1].getErrors()).containsExactly("error.itemfailed");
+            assertThat(leadRepository.findById(results[0].getId())).map(Lead::getPhone).contains(phone);
+            assertThat(leadRepository.findById(results[2].getId())).map(Lead::getPhone).contains(phone + 1);
+        } finally {
+            Arrays.stream(results).map(BulkItemResultVM::getId).filter(Objects::nonNull).forEach(leadRepository::deleteById);
+        }
+    }
+
+    @Test
+    @Transactional
+    void upsertLead() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        LeadDTO leadDTO = leadMapper.toDto(lead);
+        var returnedLeadDTO = om.readValue(
+            restLeadMockMvc
+                .perform(put(ENTITY_API_URL + "/_upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            LeadDTO.class
+        );
+        insertedLead = leadMapper.toEntity(returnedLeadDTO);
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertLeadUpdatableFieldsEquals(insertedLead, getPersistedLead(insertedLead));
+
+        // Upserting a lead with the same phone updates it
+        leadDTO.setName(UPDATED_NAME);
+        restLeadMockMvc
+            .perform(put(ENTITY_API_URL + "/_upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(returnedLeadDTO.getId().intValue()))
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, returnedLeadDTO.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
+    @Test
+    @Transactional
+    void upsertLeadWithExistingId() throws Exception {
+        lead.setId(1L);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restLeadMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/_upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadMapper.toDto(lead)))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void upsertLeadsInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        LeadDTO leadDTO = leadMapper.toDto(lead);
+        LeadDTO samePhoneLeadDTO = leadMapper.toDto(createEntity(em));
+        samePhoneLeadDTO.setName(UPDATED_NAME);
+
+        // Both items are written, the second one updating the lead created by the first one
+        MvcResult result = restLeadMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/_bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(leadDTO, samePhoneLeadDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].status").value(200))
+            .andReturn();
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        Long id = om.readTree(result.getResponse().getContentAsString()).get(0).get("id").asLong();
+        assertThat(om.readTree(result.getResponse().getContentAsString()).get(1).get("id").asLong()).isEqualTo(id);
+        insertedLead = leadRepository.findById(id).orElseThrow();
+        assertThat(insertedLead.getName()).isEqualTo(UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void createLeadsInBulkRequiresArray() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restLeadMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadMapper.toDto(lead)))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void captureLead() throws Exception {
+        // Create the Lead
+        LeadDTO leadDTO = leadMapper.toDto(lead);
+        restLeadMockMvc
+            .perform(post(ENTITY_API_URL + "/_capture").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.trackingId").isNotEmpty())
+            .andExpect(jsonPath("$.id").doesNotExist());
+
+        // The lead is replayed from the capture journal shortly after the response
+        Optional<Lead> captured = Optional.empty();
+        for (int attempt = 0; attempt < 500 && captured.isEmpty(); attempt++) {
+            Thread.sleep(20);
+            captured = leadRepository.findOne((root, query, builder) -> builder.equal(root.get(Lead_.phone), DEFAULT_PHONE));
+        }
+        assertThat(captured).isPresent();
+        insertedLead = captured.orElseThrow();
+        assertThat(insertedLead.getName()).isEqualTo(DEFAULT_NAME);
+    }
+
+    @Test
+    @Transactional
+    void captureLeadWithExistingId() throws Exception {
+        // Create the Lead with an existing ID
+        lead.setId(1L);
+        LeadDTO leadDTO = leadMapper.toDto(lead);
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restLeadMockMvc
+            .perform(post(ENTITY_API_URL + "/_capture").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void checkNameIsRequired() throws Exception {
@@ -222,6 +535,108 @@ class LeadResourceIT {
             .andExpect(jsonPath("$.[*].updatedBy").value(hasItem(DEFAULT_UPDATED_BY)));
     }
 
+    @Test
+    @Transactional
+    void getAllLeadsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1&count=none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(lead.getId().intValue()))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=estimate"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"));
+
+        restLeadMockMvc.perform(get(ENTITY_API_URL + "?count=sometimes")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllLeadsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(leadRepository.saveAndFlush(createEntity(em).phone(2000000000L + i)).getId());
+        }
+
+        // The first window holds the two most recent leads and links to the next one
+        String link = restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(ids.get(2).intValue()))
+            .andExpect(jsonPath("$.[1].id").value(ids.get(1).intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        // Following the link seeks past the last lead of the first window
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restLeadMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(ids.get(0).intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllLeadsWithInvalidCursor() throws Exception {
+        restLeadMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor&sort=id,desc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportLeadsAsCsv() throws Exception {
+        // Initialize the database, committed as the export reads it from another thread
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        MvcResult result = restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult();
+        restLeadMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,name,")))
+            .andExpect(content().string(containsString(lead.getId() + "," + DEFAULT_NAME + ",")));
+    }
+
+    @Test
+    void exportLeadsAsGzippedNdjson() throws Exception {
+        // Initialize the database, committed as the export reads it from another thread
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        MvcResult result = restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=ndjson&gzip=true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult();
+        byte[] body = restLeadMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(ndjson.lines()).anyMatch(line -> line.contains("\"id\":" + lead.getId() + ","));
+    }
+
+    @Test
+    void exportLeadsWithInvalidFormat() throws Exception {
+        restLeadMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getLead() throws Exception {
@@ -242,6 +657,178 @@ class LeadResourceIT {
             .andExpect(jsonPath("$.updatedBy").value(DEFAULT_UPDATED_BY));
     }
 
+    @Test
+    @Transactional
+    void getLeadNotModified() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        String entityTag = restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, lead.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, lead.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + entityTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, entityTag))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getLeadAfterUpdate() throws Exception {
+        // Initialize the database, committed for the update to invalidate the cached lead
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        String entityTag = restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, lead.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        LeadDTO leadDTO = leadMapper.toDto(createUpdatedEntity(em).id(lead.getId()));
+        restLeadMockMvc
+            .perform(put(ENTITY_API_URL_ID, leadDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
+            .andExpect(status().isOk());
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, lead.getId()).header(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(entityTag)))
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
+    @Test
+    @Transactional
+    void getLeadByPhone() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        // Get the lead by its phone
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "/by-phone/{phone}", DEFAULT_PHONE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.id").value(lead.getId().intValue()))
+            .andExpect(jsonPath("$.phone").value(DEFAULT_PHONE.intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingLeadByPhone() throws Exception {
+        // Get the lead by a phone nobody has
+        restLeadMockMvc.perform(get(ENTITY_API_URL + "/by-phone/{phone}", 9999999999L)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getLeadsByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        Long id = lead.getId();
+
+        defaultLeadFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultLeadFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultLeadFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllLeadsByNameStartsWithSomething() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        // Get all the leadList where name starts with
+        defaultLeadFiltering(
+            "id.equals=" + lead.getId() + "&name.startsWith=" + DEFAULT_NAME.substring(0, 3),
+            "name.startsWith=" + UPDATED_NAME.substring(0, 3)
+        );
+
+        // The prefix is matched literally and case sensitively
+        defaultLeadShouldNotBeFound("name.startsWith=" + DEFAULT_NAME.substring(0, 3).toLowerCase());
+        defaultLeadShouldNotBeFound("name.startsWith=%25");
+    }
+
+    @Test
+    @Transactional
+    void getAllLeadsByPhoneIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        // Get all the leadList where phone equals to
+        defaultLeadFiltering("phone.equals=" + DEFAULT_PHONE, "phone.equals=" + UPDATED_PHONE);
+    }
+
+    @Test
+    @Transactional
+    void getAllLeadsByInterestIsEqualToSomething() throws Exception {
+        insertedLead = leadRepository.saveAndFlush(lead);
+        Interest interest = InterestResourceIT.createEntity(em).lead(lead);
+        em.persist(interest);
+        em.flush();
+        Long interestId = interest.getId();
+        // Get all the leadList where interest equals to interestId
+        defaultLeadShouldBeFound("interestId.equals=" + interestId);
+
+        // Get all the leadList where interest equals to (interestId + 1)
+        defaultLeadShouldNotBeFound("interestId.equals=" + (interestId + 1));
+    }
+
+    private void defaultLeadFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultLeadShouldBeFound(shouldBeFound);
+        defaultLeadShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultLeadShouldBeFound(String filter) throws Exception {
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(lead.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].phone").value(hasItem(DEFAULT_PHONE.intValue())))
+            .andExpect(jsonPath("$.[*].createdAt").value(hasItem(DEFAULT_CREATED_AT.toString())))
+            .andExpect(jsonPath("$.[*].createdBy").value(hasItem(DEFAULT_CREATED_BY)))
+            .andExpect(jsonPath("$.[*].updatedAt").value(hasItem(DEFAULT_UPDATED_AT.toString())))
+            .andExpect(jsonPath("$.[*].updatedBy").value(hasItem(DEFAULT_UPDATED_BY)));
+
+        // Check, that the count call also returns 1
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultLeadShouldNotBeFound(String filter) throws Exception {
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingLead() throws Exception {
@@ -249,6 +836,85 @@ class LeadResourceIT {
         restLeadMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getAllLeadsWithInterests() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+        Interest interest = InterestResourceIT.createEntity(em).lead(lead);
+        em.persist(interest);
+        em.flush();
+        em.clear();
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1&include=interests"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(lead.getId().intValue()))
+            .andExpect(jsonPath("$.[0].interests.[*].id").value(hasItem(interest.getId().intValue())));
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?include=interests", lead.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.interests.[*].id").value(hasItem(interest.getId().intValue())));
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, lead.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.interests").doesNotExist());
+
+        restLeadMockMvc.perform(get(ENTITY_API_URL + "?include=everything")).andExpect(status().isBadRequest());
+        restLeadMockMvc.perform(get(ENTITY_API_URL + "?after=&include=interests")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllLeadsWithInterestsUsesConstantNumberOfQueries() throws Exception {
+        // Initialize the database
+        for (int i = 0; i < 3; i++) {
+            Lead other = createEntity(em).phone(2000000000L + i);
+            em.persist(other);
+            em.persist(InterestResourceIT.createEntity(em).articleId("article-1").lead(other));
+            em.persist(InterestResourceIT.createEntity(em).articleId("article-2").lead(other));
+        }
+        em.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long singleLead = countStatements(statistics, ENTITY_API_URL + "?sort=id,desc&size=1&count=none&include=interests");
+            long threeLeads = countStatements(statistics, ENTITY_API_URL + "?sort=id,desc&size=3&count=none&include=interests");
+            assertThat(threeLeads).isEqualTo(singleLead);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private long countStatements(Statistics statistics, String url) throws Exception {
+        em.clear();
+        statistics.clear();
+        restLeadMockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @Transactional
+    void getLeadInterests() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+        Interest interest = InterestResourceIT.createEntity(em).lead(lead);
+        em.persist(interest);
+        em.flush();
+
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/interests?sort=id,desc", lead.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(interest.getId().intValue()));
+
+        restLeadMockMvc.perform(get(ENTITY_API_URL_ID + "/interests", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putExistingLead() throws Exception {
@@ -270,6 +936,7 @@ class LeadResourceIT {
             .updatedBy(UPDATED_UPDATED_BY);
         LeadDTO leadDTO = leadMapper.toDto(updatedLead);
 
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         restLeadMockMvc
             .perform(put(ENTITY_API_URL_ID, leadDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
             .andExpect(status().isOk());
@@ -277,6 +944,65 @@ class LeadResourceIT {
         // Validate the Lead in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertPersistedLeadToMatchAllProperties(updatedLead);
+        assertLeadUpdatedSince(requestStart, getPersistedLead(updatedLead));
+    }
+
+    @Test
+    @Transactional
+    void putLeadWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        String entityTag = restLeadMockMvc
+            .perform(get(ENTITY_API_URL_ID, lead.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        LeadDTO leadDTO = leadMapper.toDto(createUpdatedEntity(em).id(lead.getId()));
+        restLeadMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, leadDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, entityTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(leadDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(entityTag)))
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+
+        // The lead is no longer at the version of the entity tag
+        leadDTO.setName(DEFAULT_NAME);
+        restLeadMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, leadDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, entityTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(leadDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        assertThat(getPersistedLead(lead).getName()).isEqualTo(UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void patchLeadWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedLead = leadRepository.saveAndFlush(lead);
+
+        LeadDTO leadDTO = new LeadDTO();
+        leadDTO.setId(lead.getId());
+        leadDTO.setName(UPDATED_NAME);
+        leadDTO.setVersion(lead.getVersion() + 1);
+
+        restLeadMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, leadDTO.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(leadDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        assertThat(getPersistedLead(lead).getName()).isEqualTo(DEFAULT_NAME);
     }
 
     @Test
@@ -356,6 +1082,7 @@ class LeadResourceIT {
             .createdBy(UPDATED_CREATED_BY)
             .updatedBy(UPDATED_UPDATED_BY);
 
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         restLeadMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedLead.getId())
@@ -368,6 +1095,7 @@ class LeadResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertLeadUpdatableFieldsEquals(createUpdateProxyForBean(partialUpdatedLead, lead), getPersistedLead(lead));
+        assertLeadUpdatedSince(requestStart, getPersistedLead(lead));
     }
 
     @Test
@@ -390,6 +1118,7 @@ class LeadResourceIT {
             .updatedAt(UPDATED_UPDATED_AT)
             .updatedBy(UPDATED_UPDATED_BY);
 
+        Instant requestStart = Instant.now().truncatedTo(ChronoUnit.MICROS);
         restLeadMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedLead.getId())
@@ -402,6 +1131,7 @@ class LeadResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertLeadUpdatableFieldsEquals(partialUpdatedLead, getPersistedLead(partialUpdatedLead));
+        assertLeadUpdatedSince(requestStart, getPersistedLead(partialUpdatedLead));
     }
 
     @Test
@@ -481,6 +1211,157 @@ class LeadResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void deleteLeadsByIdWithInterests() throws Exception {
+        // Initialize the database
+        leadRepository.saveAndFlush(lead);
+        Interest interest = InterestResourceIT.createEntity(em).lead(lead);
+        em.persist(interest);
+        em.flush();
+
+        restLeadMockMvc
+            .perform(delete(ENTITY_API_URL).param("id", lead.getId().toString(), String.valueOf(Long.MAX_VALUE)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.leads").value(1))
+            .andExpect(jsonPath("$.interests").value(1));
+
+        // The leads and interests are deleted with bulk statements, which bypass the persistence context
+        em.clear();
+        assertThat(leadRepository.existsById(lead.getId())).isFalse();
+        assertThat(em.find(Interest.class, interest.getId())).isNull();
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void deleteMissingLeadsWithoutTombstones() throws Exception {
+        restLeadMockMvc.perform(delete(ENTITY_API_URL_ID, Long.MAX_VALUE - 1)).andExpect(status().isNoContent());
+        restLeadMockMvc
+            .perform(delete(ENTITY_API_URL).param("id", String.valueOf(Long.MAX_VALUE)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.leads").value(0));
+
+        assertThat(
+            em
+                .createNativeQuery("select count(*) from tombstone where entity = 'lead' and entity_id >= :id", Long.class)
+                .setParameter("id", Long.MAX_VALUE - 1)
+                .getSingleResult()
+        ).isEqualTo(0L);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void deleteLeadsCreatedBefore() throws Exception {
+        // Initialize the database
+        leadRepository.saveAndFlush(lead);
+        Lead recentLead = leadRepository.saveAndFlush(createUpdatedEntity(em));
+        em.persist(InterestResourceIT.createEntity(em).lead(lead));
+        em.flush();
+
+        restLeadMockMvc
+            .perform(delete(ENTITY_API_URL).param("createdBefore", DEFAULT_CREATED_AT.plusMillis(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.leads").value(greaterThanOrEqualTo(1)));
+
+        em.clear();
+        assertThat(leadRepository.existsById(lead.getId())).isFalse();
+        assertThat(leadRepository.existsById(recentLead.getId())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void deleteLeadsRequiresSelection() throws Exception {
+        restLeadMockMvc.perform(delete(ENTITY_API_URL)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void deleteLeadsRequiresAdmin() throws Exception {
+        restLeadMockMvc.perform(delete(ENTITY_API_URL).param("id", "1")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void getLeadChangesWithTombstones() throws Exception {
+        // Initialize the database
+        leadRepository.saveAndFlush(lead);
+        Duration lag = applicationProperties.getChangeFeed().getLag();
+        applicationProperties.getChangeFeed().setLag(Duration.ZERO);
+        try {
+            String after = changeCursor(Instant.now().truncatedTo(ChronoUnit.MICROS), 0L);
+
+            LeadDTO createdLead = om.readValue(
+                restLeadMockMvc
+                    .perform(
+                        post(ENTITY_API_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsBytes(leadMapper.toDto(createUpdatedEntity(em))))
+                    )
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                LeadDTO.class
+            );
+            restLeadMockMvc.perform(delete(ENTITY_API_URL_ID, lead.getId())).andExpect(status().isNoContent());
+
+            // Get the changes after the cursor, the created lead first and the deleted lead last
+            MvcResult result = restLeadMockMvc
+                .perform(get(ENTITY_API_URL + "/changes").param("after", after).param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(createdLead.getId()))
+                .andExpect(jsonPath("$[0].deleted").value(false))
+                .andExpect(jsonPath("$[0].changedAt").value(createdLead.getUpdatedAt().toString()))
+                .andExpect(jsonPath("$[0].entity.name").value(UPDATED_NAME))
+                .andExpect(jsonPath("$[1].id").value(lead.getId()))
+                .andExpect(jsonPath("$[1].deleted").value(true))
+                .andExpect(jsonPath("$[1].entity").isEmpty())
+                .andReturn();
+
+            // The next link has no changes yet, and moves to the horizon so that the cursor does not expire while nothing changes
+            String next = result.getResponse().getHeader(HttpHeaders.LINK);
+            assertThat(next).contains("rel=\"next\"");
+            Instant horizon = Instant.now();
+            String moved = restLeadMockMvc
+                .perform(get(linkUri(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LINK);
+            assertThat(linkCursorChangedAt(moved)).isAfterOrEqualTo(horizon);
+            restLeadMockMvc.perform(get(linkUri(moved))).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(0));
+        } finally {
+            applicationProperties.getChangeFeed().setLag(lag);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getLeadChangesWithExpiredCursor() throws Exception {
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL + "/changes").param("after", changeCursor(Instant.parse("2000-01-01T00:00:00Z"), 0L)))
+            .andExpect(status().isGone());
+    }
+
+    private String changeCursor(Instant changedAt, long id) throws Exception {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(om.writeValueAsBytes(Map.of("changedAt", changedAt, "id", id)));
+    }
+
+    private static String linkUri(String link) {
+        return link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+    }
+
+    private Instant linkCursorChangedAt(String link) throws Exception {
+        String cursor = UriComponentsBuilder.fromUriString(linkUri(link)).build().getQueryParams().getFirst("after");
+        return Instant.parse((String) om.readValue(Base64.getUrlDecoder().decode(cursor), Map.class).get("changedAt"));
+    }
+
     protected long getRepositoryCount() {
         return leadRepository.count();
     }
@@ -0,0 +1,102 @@
+package com.jio.lead.management.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.domain.Lead;
+import com.jio.lead.management.repository.LeadRepository;
+import com.jio.lead.management.service.dto.LeadDTO;
+import com.jio.lead.management.service.mapper.LeadMapper;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link LeadResource} REST controller with the second-level cache enabled.
+ * <p>
+ * The tests are not transactional, so that the cache regions are filled and invalidated by committed transactions.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class LeadResourceSecondLevelCacheIT {
+
+    private static final String ENTITY_API_URL = "/api/leads";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_PHONE = ENTITY_API_URL + "/by-phone/{phone}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadMapper leadMapper;
+
+    @Autowired
+    private MockMvc restLeadMockMvc;
+
+    private Lead insertedLead;
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedLead != null) {
+            leadRepository.deleteById(insertedLead.getId());
+            insertedLead = null;
+        }
+    }
+
+    @Test
+    void getLeadByPreviousPhoneAfterUpdate() throws Exception {
+        long previousPhone = randomPhone();
+        insertedLead = leadRepository.saveAndFlush(new Lead().name("AAAAAAAAAA").phone(previousPhone));
+
+        // Resolve the phone, to cache it in the natural id region
+        restLeadMockMvc.perform(get(ENTITY_API_URL_PHONE, previousPhone)).andExpect(status().isOk());
+
+        LeadDTO leadDTO = leadMapper.toDto(insertedLead);
+        leadDTO.setPhone(previousPhone + 1);
+        restLeadMockMvc
+            .perform(put(ENTITY_API_URL_ID, leadDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(leadDTO)))
+            .andExpect(status().isOk());
+
+        restLeadMockMvc.perform(get(ENTITY_API_URL_PHONE, previousPhone)).andExpect(status().isNotFound());
+        restLeadMockMvc
+            .perform(get(ENTITY_API_URL_PHONE, previousPhone + 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(insertedLead.getId().intValue()));
+    }
+
+    @Test
+    void getLeadByPreviousPhoneAfterPartialUpdate() throws Exception {
+        long previousPhone = randomPhone();
+        insertedLead = leadRepository.saveAndFlush(new Lead().name("AAAAAAAAAA").phone(previousPhone));
+
+        restLeadMockMvc.perform(get(ENTITY_API_URL_PHONE, previousPhone)).andExpect(status().isOk());
+
+        LeadDTO patch = new LeadDTO();
+        patch.setId(insertedLead.getId());
+        patch.setPhone(previousPhone + 1);
+        restLeadMockMvc
+            .perform(patch(ENTITY_API_URL_ID, patch.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(patch)))
+            .andExpect(status().isOk());
+
+        restLeadMockMvc.perform(get(ENTITY_API_URL_PHONE, previousPhone)).andExpect(status().isNotFound());
+        restLeadMockMvc.perform(get(ENTITY_API_URL_PHONE, previousPhone + 1)).andExpect(status().isOk());
+    }
+
+    private static long randomPhone() {
+        // Even, so that the next phone is free too
+        return 2 * ThreadLocalRandom.current().nextLong(1_000_000_000L, 4_000_000_000L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jio.lead.management.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.jio.lead.management.service.dto.MutationDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MutationBufferTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MutationBuffer buffer;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new MutationBuffer(2, meterRegistry.counter("coalesced"), meterRegistry.counter("dropped"));
+    }
+
+    @Test
+    void onlyTheFirstOfferStartsDraining() {
+        assertThat(buffer.offer(MutationDTO.updated("lead", 1L))).isTrue();
+        assertThat(buffer.offer(MutationDTO.updated("lead", 2L))).isFalse();
+        assertThat(buffer.offerHeartbeat()).isFalse();
+
+        assertThat(buffer.take().getMutations()).extracting(MutationDTO::getId).containsExactly(1L, 2L);
+        assertThat(buffer.take()).isNull();
+        assertThat(buffer.offer(MutationDTO.updated("lead", 3L))).isTrue();
+    }
+
+    @Test
+    void mutationsOfTheSameEntityAreCoalesced() {
+        buffer.offer(MutationDTO.saved("lead", 1L, 0L, null));
+        buffer.offer(MutationDTO.updated("interest", 1L));
+        buffer.offer(MutationDTO.deleted("lead", 1L));
+
+        MutationBuffer.Batch batch = buffer.take();
+        assertThat(batch.getMutations())
+            .extracting(MutationDTO::getEntityName, MutationDTO::getType)
+            .containsExactly(tuple("interest", MutationDTO.Type.UPDATED), tuple("lead", MutationDTO.Type.DELETED));
+        assertThat(batch.getDropped()).isZero();
+        assertThat(meterRegistry.counter("coalesced").count()).isEqualTo(1);
+    }
+
+    @Test
+    void oldestMutationsAreDroppedWhenFull() {
+        for (long id = 1; id <= 5; id++) {
+            buffer.offer(MutationDTO.updated("lead", id));
+        }
+
+        MutationBuffer.Batch batch = buffer.take();
+        assertThat(batch.getMutations()).extracting(MutationDTO::getId).containsExactly(4L, 5L);
+        assertThat(batch.getDropped()).isEqualTo(3);
+        assertThat(batch.isHeartbeatOnly()).isFalse();
+        assertThat(meterRegistry.counter("dropped").count()).isEqualTo(3);
+
+        // The dropped mutations are only reported once
+        buffer.offer(MutationDTO.updated("lead", 6L));
+        assertThat(buffer.take().getDropped()).isZero();
+    }
+
+    @Test
+    void heartbeatIsOnlySentWhenIdle() {
+        assertThat(buffer.offerHeartbeat()).isTrue();
+        assertThat(buffer.take().isHeartbeatOnly()).isTrue();
+        assertThat(buffer.take()).isNull();
+
+        buffer.offerHeartbeat();
+        buffer.offer(MutationDTO.updated("lead", 1L));
+        assertThat(buffer.take().isHeartbeatOnly()).isFalse();
+    }
+}
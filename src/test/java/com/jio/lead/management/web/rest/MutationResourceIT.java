@@ -0,0 +1,100 @@
+package com.jio.lead.management.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jio.lead.management.IntegrationTest;
+import com.jio.lead.management.service.LeadService;
+import com.jio.lead.management.service.dto.LeadDTO;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link MutationResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class MutationResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/mutations";
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restMutationMockMvc;
+
+    private Long leadId;
+
+    @AfterEach
+    public void cleanup() {
+        if (leadId != null) {
+            // Connections are not in auto-commit mode
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.update("delete from lead where id = ?", leadId);
+                jdbcTemplate.update("delete from tombstone where entity = 'lead' and entity_id = ?", leadId);
+            });
+            leadId = null;
+        }
+    }
+
+    @Test
+    void streamCommittedMutations() throws Exception {
+        MockHttpServletResponse response = restMutationMockMvc
+            .perform(get(ENTITY_API_URL).param("entity", "lead").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+
+        LeadDTO leadDTO = new LeadDTO();
+        leadDTO.setName("AAAAAAAAAA");
+        leadDTO.setPhone(ThreadLocalRandom.current().nextLong(9_000_000_000L, 10_000_000_000L));
+        leadId = leadService.save(leadDTO).getId();
+        awaitContent(response, "\"type\":\"CREATED\"");
+
+        leadService.delete(leadId);
+        awaitContent(response, "\"type\":\"DELETED\"");
+
+        assertThat(response.getContentAsString())
+            .contains("event:lead")
+            .contains("\"id\":" + leadId)
+            .contains("\"entity\":{")
+            .doesNotContain("event:" + MutationBroadcaster.OVERFLOW_EVENT);
+    }
+
+    @Test
+    void streamMutationsOfInvalidEntity() throws Exception {
+        restMutationMockMvc
+            .perform(get(ENTITY_API_URL).param("entity", "user").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String content) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!response.getContentAsString().contains(content)) {
+            assertThat(System.currentTimeMillis()).as("waiting for %s", content).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}